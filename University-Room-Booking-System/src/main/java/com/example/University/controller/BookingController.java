@@ -1,19 +1,52 @@
 package com.example.University.controller;
 
+import com.example.University.dto.BatchDecisionRequestDto;
+import com.example.University.dto.BatchDecisionResultDto;
 import com.example.University.dto.BookingRequestDTO;
 import com.example.University.dto.BookingResponseDTO;
+import com.example.University.dto.BookingHistoryPageDto;
 import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.dto.BookingHistorySearchRequestDto;
+import com.example.University.dto.BookingSeriesRequestDto;
+import com.example.University.dto.BookingSeriesResultDto;
+import com.example.University.dto.BulkBookingResultDto;
+import com.example.University.dto.ProjectionRebuildResultDto;
+import com.example.University.dto.SlotOptionDto;
+import com.example.University.dto.SlotSearchRequestDto;
+import com.example.University.entity.Role;
+import com.example.University.service.BatchDecisionService;
+import com.example.University.service.BookingHistoryExportService;
+import com.example.University.service.BookingHistorySearchService;
+import com.example.University.service.BookingSeriesService;
 import com.example.University.service.BookingService;
+import com.example.University.service.BulkBookingService;
+import com.example.University.service.IdempotentBookingService;
+import com.example.University.service.SlotFinderService;
+import com.example.University.service.eventstore.BookingProjectionRebuilder;
+import com.example.University.service.retention.HistoryArchiveReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/booking")
@@ -21,6 +54,16 @@ import java.util.List;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final SlotFinderService slotFinderService;
+    private final BulkBookingService bulkBookingService;
+    private final BookingSeriesService bookingSeriesService;
+    private final IdempotentBookingService idempotentBookingService;
+    private final BatchDecisionService batchDecisionService;
+    private final BookingHistorySearchService bookingHistorySearchService;
+    private final BookingHistoryExportService bookingHistoryExportService;
+    private final HistoryArchiveReader historyArchiveReader;
+    private final BookingProjectionRebuilder bookingProjectionRebuilder;
+    private final ObjectMapper objectMapper;
     // ✅ REMOVED: BookingCancellationService dependency (Person 5's responsibility)
 
     // GET availability of a room
@@ -38,19 +81,83 @@ public class BookingController {
         return ResponseEntity.ok(freeSlots);
     }
 
+    // GET availability of a room as NDJSON (Accept: application/x-ndjson), one free slot per line as it is found
+    @GetMapping(value = "/{id}/availability", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out -> bookingService.streamFreeSlots(id, start, end, slot -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(slot));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // GET earliest free windows of a given duration across the rooms of a building
+    @GetMapping("/next-available")
+    public ResponseEntity<List<SlotOptionDto>> getNextAvailable(@ModelAttribute SlotSearchRequestDto request) {
+        return ResponseEntity.ok(slotFinderService.findEarliestSlots(request));
+    }
+
     // POST create booking request
     @PostMapping
     @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY')")
     public ResponseEntity<BookingResponseDTO> createBooking(
             @RequestBody BookingRequestDTO request,
-            @RequestParam Long userId
+            @RequestParam Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Authentication authentication
     ) {
-        BookingResponseDTO booking = bookingService.createBooking(request, userId);
+        if (!isAuthenticated(authentication)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // A retry carrying the same key gets the original booking back instead of a duplicate
+        BookingResponseDTO booking = idempotencyKey == null
+                ? bookingService.createBooking(request, userId, authentication.getName(), roleNames(authentication))
+                : idempotentBookingService.createBooking(request, userId, authentication.getName(), idempotencyKey);
         // 201 Created with Location header
         return ResponseEntity.created(URI.create("/api/booking/" + booking.getId()))
                 .body(booking);
     }
 
+    // POST a whole timetable; each item is accepted or rejected with a reason
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY')")
+    public ResponseEntity<BulkBookingResultDto> createBookings(
+            @RequestBody List<BookingRequestDTO> requests,
+            @RequestParam Long userId,
+            Authentication authentication
+    ) {
+        if (!isAuthenticated(authentication)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(bulkBookingService.createBookings(requests, userId, authentication.getName()));
+    }
+
+    // POST a recurring series (weekly/biweekly until a date); holidays and exceptions are skipped and reported
+    @PostMapping("/series")
+    @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY')")
+    public ResponseEntity<BookingSeriesResultDto> createSeries(
+            @RequestBody BookingSeriesRequestDto request,
+            @RequestParam Long userId,
+            Authentication authentication
+    ) {
+        if (!isAuthenticated(authentication)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(bookingSeriesService.createSeries(request, userId, authentication.getName()));
+    }
+
     // ===== PERSON 4's ENDPOINTS: APPROVAL & HISTORY =====
 
     // PATCH approve booking (Admin only)
@@ -77,6 +184,19 @@ public class BookingController {
         return ResponseEntity.ok(rejectedBooking);
     }
 
+    // PATCH approve or reject many PENDING bookings at once (Admin only); each id gets its own outcome
+    @PatchMapping("/decisions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BatchDecisionResultDto> decideBookings(
+            @RequestBody BatchDecisionRequestDto request,
+            Authentication authentication
+    ) {
+        if (!isAuthenticated(authentication)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(batchDecisionService.decide(request, authentication.getName()));
+    }
+
     // GET booking history (Audit trail)
     @GetMapping("/{id}/history")
     @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY', 'ADMIN')")
@@ -87,6 +207,77 @@ public class BookingController {
         return ResponseEntity.ok(history);
     }
 
+    // GET archived history of a booking (Admin only), from the retention job's segment files
+    @GetMapping("/{id}/history/archived")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BookingHistoryResponseDTO>> getArchivedHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(historyArchiveReader.findByBookingId(id));
+    }
+
+    // GET history across bookings (Admin only), newest first; pass nextCursor back as cursor for the next page
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingHistoryPageDto> searchHistory(@ModelAttribute BookingHistorySearchRequestDto request) {
+        return ResponseEntity.ok(bookingHistorySearchService.search(request));
+    }
+
+    // GET every history row with from <= actionAt < to (Admin only) as a CSV or NDJSON download, streamed from
+    // a database cursor; gzip=true compresses it on the fly
+    @GetMapping("/history/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        BookingHistoryExportService.Format exportFormat;
+        try {
+            exportFormat = BookingHistoryExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!to.isAfter(from)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String extension = exportFormat == BookingHistoryExportService.Format.CSV ? ".csv" : ".ndjson";
+        MediaType contentType = exportFormat == BookingHistoryExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.APPLICATION_NDJSON;
+        if (gzip) {
+            extension += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+        }
+        String fileName = "booking-history-" + from.toLocalDate() + "-" + to.toLocalDate() + extension;
+
+        StreamingResponseBody body = out -> bookingHistoryExportService.export(from, to, exportFormat, gzip, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .contentType(contentType)
+                .body(body);
+    }
+
+    // POST regenerate the booking rows from the event log (Admin only), rooms replayed in parallel;
+    // fromStart=true ignores the snapshots and rewrites them
+    @PostMapping("/events/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProjectionRebuildResultDto> rebuildProjections(
+            @RequestParam(defaultValue = "4") int parallelism,
+            @RequestParam(defaultValue = "false") boolean fromStart
+    ) {
+        return ResponseEntity.ok(bookingProjectionRebuilder.rebuild(parallelism, fromStart));
+    }
+
+    // POST record bookings made before event sourcing was enabled as BASELINE events (Admin only)
+    @PostMapping("/events/baseline")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProjectionRebuildResultDto> appendBaselineEvents(
+            @RequestParam(defaultValue = "4") int parallelism
+    ) {
+        return ResponseEntity.ok(bookingProjectionRebuilder.appendBaseline(parallelism));
+    }
+
     // ===== PERSON 5's CANCELLATION ENDPOINTS (COMMENTED OUT UNTIL IMPLEMENTED) =====
     /*
     @DeleteMapping("/{id}")
@@ -117,4 +308,26 @@ public class BookingController {
         return ResponseEntity.ok(cancelledBooking);
     }
     */
-}
\ No newline at end of file
+
+    // The security chain permits anonymous requests, so endpoints acting for the caller check for a principal here
+    private boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+    }
+
+    // Roles granted to the caller, as carried by the principal's ROLE_* authorities
+    private Set<Role.RoleName> roleNames(Authentication authentication) {
+        Set<Role.RoleName> roles = EnumSet.noneOf(Role.RoleName.class);
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith("ROLE_")) {
+                for (Role.RoleName role : Role.RoleName.values()) {
+                    if (role.name().equals(name.substring(5))) {
+                        roles.add(role);
+                    }
+                }
+            }
+        }
+        return roles;
+    }
+}
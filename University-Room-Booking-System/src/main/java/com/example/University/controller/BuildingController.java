@@ -1,14 +1,21 @@
 package com.example.University.controller;
 
 import com.example.University.dto.BuildingDto;
+import com.example.University.dto.CampusAvailabilityDto;
+import com.example.University.dto.OccupancyGridDto;
 import com.example.University.entity.Building;
 import com.example.University.service.BuildingService;
+import com.example.University.service.CampusAvailabilityService;
+import com.example.University.service.OccupancyGridService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BuildingController {
     private final BuildingService buildingService;
+    private final OccupancyGridService occupancyGridService;
+    private final CampusAvailabilityService campusAvailabilityService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('FACULTY','ADMIN')")
@@ -29,6 +38,15 @@ public class BuildingController {
         return ResponseEntity.ok(buildingService.getAll());
     }
 
+    // GET free slots of every active room on campus, grouped by building
+    @GetMapping("/availability")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CampusAvailabilityDto> getCampusAvailability(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(campusAvailabilityService.getCampusAvailability(from, to));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('STUDENT','FACULTY','ADMIN')")
     public ResponseEntity<Building> getById(@PathVariable Long id){
@@ -36,6 +54,17 @@ public class BuildingController {
         return ResponseEntity.ok(buildObject);
     }
 
+    // GET rooms x days x slots occupancy grid for the front-desk screens
+    @GetMapping("/{id}/occupancy-grid")
+    @PreAuthorize("hasAnyRole('STUDENT','FACULTY','ADMIN')")
+    public ResponseEntity<OccupancyGridDto> getOccupancyGrid(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "60") int slotMinutes) {
+        return ResponseEntity.ok(occupancyGridService.getBuildingGrid(id, from, to, slotMinutes));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('FACULTY','ADMIN')")
     public ResponseEntity<Building> update(@PathVariable Long id, @RequestBody BuildingDto dto) {
@@ -1,6 +1,8 @@
 package com.example.University.controller;
 
 import com.example.University.dto.RoomDto;
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.dto.RoomSearchResponseDto;
 import com.example.University.entity.Room;
 import com.example.University.service.RoomService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +30,13 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getAll());
     }
 
+    // GET free rooms for a time window, filtered by capacity, type, building and features
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY', 'ADMIN')")
+    public ResponseEntity<RoomSearchResponseDto> searchAvailable(@ModelAttribute RoomSearchRequestDto request) {
+        return ResponseEntity.ok(roomService.searchAvailableRooms(request));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('STUDENT', 'FACULTY', 'ADMIN')")
     public ResponseEntity<Room> getById(@PathVariable Long id){
@@ -0,0 +1,19 @@
+package com.example.University.dto;
+
+import com.example.University.entity.Room.RoomType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableRoomDto {
+    private Long id;
+    private String name;
+    private String roomNumber;
+    private Integer capacity;
+    private Integer floorNumber;
+    private RoomType roomType;
+    private Long buildingId;
+}
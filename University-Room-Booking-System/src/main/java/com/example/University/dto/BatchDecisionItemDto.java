@@ -0,0 +1,16 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDecisionItemDto {
+    private Long bookingId;
+    private Boolean succeeded;
+    // Status after the batch, or the unchanged status when the decision was not applied
+    private String status;
+    private String reason;
+}
@@ -0,0 +1,23 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDecisionRequestDto {
+    private List<Long> bookingIds;
+    private Decision decision;
+    // Recorded on every history row written by the batch
+    private String reason;
+
+    public enum Decision {
+        APPROVE, REJECT
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDecisionResultDto {
+    private Integer succeededCount;
+    private Integer failedCount;
+    // One entry per distinct booking id, in request order
+    private List<BatchDecisionItemDto> items;
+}
@@ -0,0 +1,19 @@
+package com.example.University.dto;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+
+import java.time.LocalDateTime;
+
+public interface BookingHistoryArchiveProjection {
+    Long getId();
+    Long getBookingId();
+    BookingHistory.BookingHistoryAction getAction();
+    Long getActionById();
+    String getActionByName();
+    LocalDateTime getActionAt();
+    String getReason();
+    Booking.BookingStatus getOldStatus();
+    Booking.BookingStatus getNewStatus();
+    String getAdditionalNotes();
+}
@@ -0,0 +1,19 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryPageDto {
+    // Newest first
+    private List<BookingHistoryResponseDTO> items;
+    // Null on the last page
+    private String nextCursor;
+    // Null unless includeTotal was requested
+    private Long totalCount;
+}
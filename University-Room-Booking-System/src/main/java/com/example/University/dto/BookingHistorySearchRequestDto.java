@@ -0,0 +1,23 @@
+package com.example.University.dto;
+
+import com.example.University.entity.BookingHistory.BookingHistoryAction;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BookingHistorySearchRequestDto {
+    private Long bookingId;
+    private Long actionBy;
+    private BookingHistoryAction action;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    // nextCursor of the previous page; absent for the first page
+    private String cursor;
+    private Integer size;
+    // Runs the extra COUNT query only when asked for
+    private Boolean includeTotal;
+}
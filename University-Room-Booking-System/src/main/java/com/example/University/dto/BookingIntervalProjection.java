@@ -0,0 +1,10 @@
+package com.example.University.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingIntervalProjection {
+    Long getId();
+    Long getRoomId();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
@@ -0,0 +1,12 @@
+package com.example.University.dto;
+
+import com.example.University.entity.Booking;
+
+import java.time.LocalDateTime;
+
+public interface BookingRowStateProjection {
+    Long getId();
+    Booking.BookingStatus getStatus();
+    LocalDateTime getStartTime();
+    LocalDateTime getEndTime();
+}
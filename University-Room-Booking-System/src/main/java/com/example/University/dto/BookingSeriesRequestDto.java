@@ -0,0 +1,30 @@
+package com.example.University.dto;
+
+import com.example.University.entity.BookingSeries;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesRequestDto {
+    private Long roomId;
+    // Window of the first occurrence
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String purpose;
+    private BookingSeries.Frequency frequency;
+    // Last date an occurrence may start on (inclusive)
+    private LocalDate until;
+    // Dates to leave out, e.g. reading week
+    private List<LocalDate> exceptions;
+    // When true, conflicting occurrences are skipped instead of failing the whole series
+    private Boolean skipConflicts;
+}
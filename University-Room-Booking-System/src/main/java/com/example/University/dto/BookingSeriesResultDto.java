@@ -0,0 +1,18 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeriesResultDto {
+    private Long seriesId;
+    private Integer bookedCount;
+    private Integer skippedCount;
+    // Every expanded occurrence in date order, booked or not
+    private List<SeriesOccurrenceDto> occurrences;
+}
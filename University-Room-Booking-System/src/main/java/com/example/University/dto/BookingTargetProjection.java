@@ -0,0 +1,6 @@
+package com.example.University.dto;
+
+public interface BookingTargetProjection {
+    Boolean getRoomActive();
+    Long getCallerCount();
+}
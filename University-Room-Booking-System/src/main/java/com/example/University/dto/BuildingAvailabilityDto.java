@@ -0,0 +1,16 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BuildingAvailabilityDto {
+    private Long buildingId;
+    private String buildingName;
+    private List<RoomAvailabilityDto> rooms;
+}
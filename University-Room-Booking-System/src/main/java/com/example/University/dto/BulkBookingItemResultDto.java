@@ -0,0 +1,16 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingItemResultDto {
+    // Position of the item in the submitted list
+    private Integer index;
+    private Boolean accepted;
+    private Long bookingId;
+    private String reason;
+}
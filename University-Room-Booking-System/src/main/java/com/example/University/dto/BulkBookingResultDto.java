@@ -0,0 +1,17 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookingResultDto {
+    private Integer acceptedCount;
+    private Integer rejectedCount;
+    // One entry per submitted item, in submission order
+    private List<BulkBookingItemResultDto> items;
+}
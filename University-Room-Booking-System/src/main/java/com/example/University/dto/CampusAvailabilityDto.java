@@ -0,0 +1,17 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampusAvailabilityDto {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<BuildingAvailabilityDto> buildings;
+}
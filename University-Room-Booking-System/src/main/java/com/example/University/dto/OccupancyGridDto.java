@@ -0,0 +1,20 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyGridDto {
+    private Long buildingId;
+    private LocalDate from;
+    private LocalDate to;
+    private Integer slotMinutes;
+    private Integer slotsPerDay;
+    private List<RoomOccupancyRowDto> rows;
+}
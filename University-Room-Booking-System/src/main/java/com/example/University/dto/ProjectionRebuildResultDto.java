@@ -0,0 +1,16 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionRebuildResultDto {
+    private Integer rooms;
+    // Events replayed for a rebuild, events appended for a baseline
+    private Long events;
+    private Long bookingsUpdated;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.example.University.dto;
+
+import com.example.University.service.BookingService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomAvailabilityDto {
+    private Long roomId;
+    private String roomNumber;
+    private String name;
+    private List<BookingService.TimeSlot> freeSlots;
+}
@@ -0,0 +1,18 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomOccupancyRowDto {
+    private Long roomId;
+    private String roomNumber;
+    private String name;
+    // Run-length encoded slots across all days, alternating free/occupied and always starting with a free run
+    private List<Integer> runs;
+}
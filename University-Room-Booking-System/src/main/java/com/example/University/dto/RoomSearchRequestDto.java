@@ -0,0 +1,23 @@
+package com.example.University.dto;
+
+import com.example.University.entity.Room.RoomType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+public class RoomSearchRequestDto {
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime start;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime end;
+    private Integer minCapacity;
+    private RoomType roomType;
+    private Long buildingId;
+    private Set<Long> featureIds;
+    // Keyset cursor: only rooms with id > afterId are returned
+    private Long afterId;
+    private Integer size;
+}
@@ -0,0 +1,16 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomSearchResponseDto {
+    private List<AvailableRoomDto> rooms;
+    // Pass as afterId to fetch the next page; null when there are no more rooms
+    private Long nextAfterId;
+}
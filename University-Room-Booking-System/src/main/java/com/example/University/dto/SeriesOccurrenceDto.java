@@ -0,0 +1,21 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesOccurrenceDto {
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Outcome outcome;
+    private Long bookingId;
+
+    public enum Outcome {
+        BOOKED, HOLIDAY, EXCEPTION, CONFLICT
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.University.dto;
+
+import java.time.LocalDateTime;
+
+public interface SlotClaimSummaryProjection {
+    Long getBookingId();
+    LocalDateTime getFirstSlot();
+    LocalDateTime getLastSlot();
+    Long getClaimCount();
+}
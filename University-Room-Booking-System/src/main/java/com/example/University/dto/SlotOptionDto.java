@@ -0,0 +1,18 @@
+package com.example.University.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotOptionDto {
+    private Long roomId;
+    private String roomNumber;
+    private String roomName;
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
@@ -0,0 +1,21 @@
+package com.example.University.dto;
+
+import com.example.University.entity.Room.RoomType;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SlotSearchRequestDto {
+    private Long buildingId;
+    private RoomType roomType;
+    private Integer minCapacity;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+    private Integer durationMinutes;
+    // Number of earliest options to return, at most one per room
+    private Integer limit;
+}
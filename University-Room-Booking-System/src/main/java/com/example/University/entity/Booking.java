@@ -19,7 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_id_gen")
+    @SequenceGenerator(name = "booking_id_gen", sequenceName = "booking_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +42,11 @@ public class Booking {
     @Column(nullable = false)
     private String purpose;
 
+    // Set when the booking is one occurrence of a recurring series
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private BookingSeries series;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -76,8 +82,14 @@ public class Booking {
     private String cancellationReason;
 
     @Column(name = "is_deleted", nullable = false)
+    @Builder.Default
     private Boolean isDeleted = false;
 
+    // Optimistic lock: concurrent status transitions fail instead of overwriting each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public enum BookingStatus {
         PENDING, APPROVED, REJECTED, CANCELLED
     }
@@ -0,0 +1,93 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booking state transition in the event log. Events are never updated or deleted; each carries the
+ * booking's complete state after the transition, so replaying a room's stream in sequence order rebuilds its
+ * bookings without reading the booking table.
+ */
+@Entity
+@Immutable
+@Table(name = "booking_event")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    // Gapless position in the room's stream, starting at 1
+    @Column(name = "stream_sequence", nullable = false)
+    private Long streamSequence;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(nullable = false)
+    private String purpose;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status")
+    private Booking.BookingStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false)
+    private Booking.BookingStatus newStatus;
+
+    @Column(name = "cancelled_by")
+    private Long cancelledBy;
+
+    @Column(name = "cancelled_at")
+    private LocalDateTime cancelledAt;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public enum EventType {
+        CREATED,
+        APPROVED,
+        REJECTED,
+        CANCELLED,
+        STATUS_CHANGED,
+        // State of a booking that existed before its room's stream recorded it
+        BASELINE;
+
+        public static EventType of(Booking.BookingStatus oldStatus, Booking.BookingStatus newStatus) {
+            if (oldStatus == null) {
+                return CREATED;
+            }
+            return switch (newStatus) {
+                case APPROVED -> APPROVED;
+                case REJECTED -> REJECTED;
+                case CANCELLED -> CANCELLED;
+                default -> STATUS_CHANGED;
+            };
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Head of a room's event stream. Appends lock this row, so events of one room get consecutive sequence
+ * numbers in commit order.
+ */
+@Entity
+@Table(name = "booking_event_stream")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEventStream {
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+}
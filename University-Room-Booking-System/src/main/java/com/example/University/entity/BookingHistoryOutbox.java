@@ -0,0 +1,53 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking history record that was committed with its transition but not yet moved into
+ * {@link BookingHistory}. References are plain ids so the row can be written without loading anything.
+ */
+@Entity
+@Table(name = "booking_history_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingHistoryOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_history_outbox_id_gen")
+    @SequenceGenerator(name = "booking_history_outbox_id_gen", sequenceName = "booking_history_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false)
+    private BookingHistory.BookingHistoryAction action;
+
+    @Column(name = "action_by", nullable = false)
+    private Long actionById;
+
+    @Column(name = "action_at", nullable = false)
+    private LocalDateTime actionAt;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status")
+    private Booking.BookingStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status")
+    private Booking.BookingStatus newStatus;
+
+    @Column(name = "additional_notes")
+    private String additionalNotes;
+}
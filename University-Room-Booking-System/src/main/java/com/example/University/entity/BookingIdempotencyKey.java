@@ -0,0 +1,41 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A client-supplied Idempotency-Key already used by a user, with a hash of the request it came with and the
+ * booking it produced. The unique key makes concurrent retries of the same request collide in the database.
+ */
+@Entity
+@Table(name = "booking_idempotency_key")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingIdempotencyKey {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    // Hex SHA-256 of the booking request, to detect a key reused for a different request
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
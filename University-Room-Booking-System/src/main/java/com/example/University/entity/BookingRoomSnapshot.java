@@ -0,0 +1,40 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of every booking of a room as of one position in the room's event stream, stored as a compressed
+ * blob so loading it is a single row read.
+ */
+@Entity
+@Table(name = "booking_room_snapshot")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRoomSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "stream_sequence", nullable = false)
+    private Long streamSequence;
+
+    @Column(name = "booking_count", nullable = false)
+    private Integer bookingCount;
+
+    @Column(name = "state", nullable = false)
+    private byte[] state;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
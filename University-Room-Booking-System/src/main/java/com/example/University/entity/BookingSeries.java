@@ -0,0 +1,77 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A recurring booking: the rule it was expanded from, with one child {@link Booking} per occurrence.
+ */
+@Entity
+@Table(name = "booking_series")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSeries {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    private Room room;
+
+    // Time window of the first occurrence; later ones are shifted by whole weeks
+    @Column(name = "first_start", nullable = false)
+    private LocalDateTime firstStart;
+
+    @Column(name = "first_end", nullable = false)
+    private LocalDateTime firstEnd;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Frequency frequency;
+
+    @Column(name = "until_date", nullable = false)
+    private LocalDate untilDate;
+
+    @ElementCollection
+    @CollectionTable(name = "booking_series_exception", joinColumns = @JoinColumn(name = "series_id"))
+    @Column(name = "exception_date")
+    @Builder.Default
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    @Column(nullable = false)
+    private String purpose;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Frequency {
+        WEEKLY(1), BIWEEKLY(2);
+
+        private final int weeks;
+
+        Frequency(int weeks) {
+            this.weeks = weeks;
+        }
+
+        public int getWeeks() {
+            return weeks;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.University.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One fixed-length quantum of a room held by an active booking. The unique key on (room_id, slot_start)
+ * makes the database reject a second active booking for the same quantum.
+ */
+@Entity
+@Table(name = "booking_slot_claim")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSlotClaim {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_slot_claim_id_gen")
+    @SequenceGenerator(name = "booking_slot_claim_id_gen", sequenceName = "booking_slot_claim_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+}
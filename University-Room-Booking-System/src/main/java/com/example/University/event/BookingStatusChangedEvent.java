@@ -0,0 +1,46 @@
+package com.example.University.event;
+
+import com.example.University.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a booking is created or changes status, so in-memory
+ * availability structures can follow the booking table without re-querying it.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingStatusChangedEvent {
+    private final Long bookingId;
+    private final Long roomId;
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Booking.BookingStatus oldStatus;
+    private final Booking.BookingStatus newStatus;
+    /**
+     * True when a projection rebuild rewrote the row from the event log; the log already holds the transition.
+     */
+    private final boolean rebuilt;
+
+    public BookingStatusChangedEvent(Long bookingId, Long roomId, LocalDateTime startTime, LocalDateTime endTime,
+                                     Booking.BookingStatus oldStatus, Booking.BookingStatus newStatus) {
+        this(bookingId, roomId, startTime, endTime, oldStatus, newStatus, false);
+    }
+
+    public static BookingStatusChangedEvent of(Booking booking, Booking.BookingStatus oldStatus) {
+        return new BookingStatusChangedEvent(
+                booking.getId(),
+                booking.getRoom().getId(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                oldStatus,
+                booking.getStatus()
+        );
+    }
+
+    public boolean isActive() {
+        return newStatus == Booking.BookingStatus.PENDING || newStatus == Booking.BookingStatus.APPROVED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.University.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a holiday is created, updated or deleted so cached calendars can reload.
+ */
+@Getter
+@AllArgsConstructor
+public class HolidaysChangedEvent {
+    private final Long holidayId;
+}
@@ -0,0 +1,29 @@
+package com.example.University.repository;
+
+import com.example.University.entity.BookingEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    /**
+     * Next page of a room's stream after {@code afterSequence}, in sequence order.
+     */
+    @Query("""
+           SELECT e
+           FROM BookingEvent e
+           WHERE e.roomId = :roomId AND e.streamSequence > :afterSequence
+           ORDER BY e.streamSequence ASC
+           """)
+    List<BookingEvent> findRoomEvents(
+            @Param("roomId") Long roomId,
+            @Param("afterSequence") Long afterSequence,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,24 @@
+package com.example.University.repository;
+
+import com.example.University.entity.BookingEventStream;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingEventStreamRepository extends JpaRepository<BookingEventStream, Long> {
+
+    // SELECT ... FOR UPDATE: held until commit, so appends to one room are serialized
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingEventStream s WHERE s.roomId = :roomId")
+    Optional<BookingEventStream> lockByRoomId(@Param("roomId") Long roomId);
+
+    @Query("SELECT s.roomId FROM BookingEventStream s WHERE s.lastSequence > 0 ORDER BY s.roomId")
+    List<Long> findNonEmptyRoomIds();
+}
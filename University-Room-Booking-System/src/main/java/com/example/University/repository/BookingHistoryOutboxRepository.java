@@ -0,0 +1,20 @@
+package com.example.University.repository;
+
+import com.example.University.entity.BookingHistoryOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingHistoryOutboxRepository extends JpaRepository<BookingHistoryOutbox, Long> {
+
+    // SELECT ... FOR UPDATE: a second writer waits for this batch to commit instead of moving it twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM BookingHistoryOutbox o ORDER BY o.id ASC")
+    List<BookingHistoryOutbox> lockOldest(Pageable pageable);
+}
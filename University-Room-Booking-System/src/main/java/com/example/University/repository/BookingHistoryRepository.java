@@ -1,20 +1,28 @@
 package com.example.University.repository;
 
+import com.example.University.dto.BookingHistoryArchiveProjection;
 import com.example.University.entity.Booking;
 import com.example.University.entity.BookingHistory;
 import com.example.University.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
+public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long>,
+        JpaSpecificationExecutor<BookingHistory> {
 
     List<BookingHistory> findByBookingOrderByActionAtDesc(Booking booking);
 
@@ -32,6 +40,11 @@ public interface BookingHistoryRepository extends JpaRepository<BookingHistory,
     @Query("SELECT bh FROM BookingHistory bh WHERE bh.action = 'CANCELLED' ORDER BY bh.actionAt DESC")
     List<BookingHistory> findAllCancellations();
 
+    /**
+     * @deprecated offset paging with a COUNT per page; use {@link BookingHistorySpecifications} with a keyset
+     * cursor (see {@code BookingHistorySearchService}).
+     */
+    @Deprecated
     @Query("SELECT bh FROM BookingHistory bh WHERE " +
             "(:bookingId IS NULL OR bh.booking.id = :bookingId) AND " +
             "(:actionBy IS NULL OR bh.actionBy.id = :actionBy) AND " +
@@ -48,8 +61,64 @@ public interface BookingHistoryRepository extends JpaRepository<BookingHistory,
             Pageable pageable
     );
 
+    /**
+     * @deprecated derived delete that loads and removes every row one by one; retention goes through
+     * {@link #findExpiredForArchive} and {@link #deleteExpiredInIdRange} in chunks.
+     */
+    @Deprecated
     void deleteByActionAtBefore(LocalDateTime cutoffDate);
 
+    /**
+     * Next chunk of rows older than the cutoff, in id order after {@code afterId}, flattened for archiving.
+     */
+    @Query("""
+           SELECT bh.id AS id, bh.booking.id AS bookingId, bh.action AS action,
+                  u.id AS actionById, CONCAT(u.firstName, ' ', u.lastName) AS actionByName,
+                  bh.actionAt AS actionAt, bh.reason AS reason, bh.oldStatus AS oldStatus,
+                  bh.newStatus AS newStatus, bh.additionalNotes AS additionalNotes
+           FROM BookingHistory bh JOIN bh.actionBy u
+           WHERE bh.actionAt < :cutoff AND bh.id > :afterId
+           ORDER BY bh.id ASC
+           """)
+    List<BookingHistoryArchiveProjection> findExpiredForArchive(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Every row with from <= actionAt < to, oldest first, flattened with the actor's name for exports. The rows
+     * are read-only tuples, never managed entities, and arrive through a forward-only cursor in fetch-size
+     * batches; the caller must close the stream inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+           SELECT bh.id AS id, bh.booking.id AS bookingId, bh.action AS action,
+                  u.id AS actionById, CONCAT(u.firstName, ' ', u.lastName) AS actionByName,
+                  bh.actionAt AS actionAt, bh.reason AS reason, bh.oldStatus AS oldStatus,
+                  bh.newStatus AS newStatus, bh.additionalNotes AS additionalNotes
+           FROM BookingHistory bh JOIN bh.actionBy u
+           WHERE bh.actionAt >= :from AND bh.actionAt < :to
+           ORDER BY bh.actionAt ASC, bh.id ASC
+           """)
+    Stream<BookingHistoryArchiveProjection> streamForExport(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Bulk delete of one archived chunk; the cutoff guard keeps newer rows that fall inside the id range
+    @Modifying
+    @Query("DELETE FROM BookingHistory bh WHERE bh.id BETWEEN :firstId AND :lastId AND bh.actionAt < :cutoff")
+    int deleteExpiredInIdRange(
+            @Param("firstId") Long firstId,
+            @Param("lastId") Long lastId,
+            @Param("cutoff") LocalDateTime cutoff
+    );
+
     @Query("SELECT bh FROM BookingHistory bh WHERE bh.booking.id = :bookingId ORDER BY bh.actionAt DESC LIMIT 1")
     BookingHistory findLatestActionForBooking(@Param("bookingId") Long bookingId);
 }
\ No newline at end of file
@@ -1,12 +1,22 @@
 package com.example.University.repository;
 
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingRowStateProjection;
 import com.example.University.entity.Booking;
+import com.example.University.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
@@ -53,6 +63,48 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
            ORDER BY b.startTime ASC """)
     List<Booking> findActiveBookingsInRange( @Param("roomId") Long roomId, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime );
 
+    /**
+     * Forward-only cursor over the active intervals of a room in [startTime, endTime), ordered by start time.
+     * Rows are projections rather than managed entities, so the persistence context does not grow while the
+     * caller consumes it; must be closed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.room.id = :roomId
+             AND b.status IN ('APPROVED', 'PENDING')
+             AND b.startTime < :endTime
+             AND b.endTime > :startTime
+           ORDER BY b.startTime ASC
+           """)
+    Stream<BookingIntervalProjection> streamActiveIntervalsInRange(
+            @Param("roomId") Long roomId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime
+    );
+
+    /**
+     * First page of the active intervals of a room that end after {@code startTime} and start before
+     * {@code endTime}, ordered by start time. Callers that consume intervals in order page forward by passing the
+     * instant they have consumed up to as the next {@code startTime}.
+     */
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.room.id = :roomId
+             AND b.status IN ('APPROVED', 'PENDING')
+             AND b.startTime < :endTime
+             AND b.endTime > :startTime
+           ORDER BY b.startTime ASC, b.id ASC
+           """)
+    List<BookingIntervalProjection> findActiveIntervalsInRoom(
+            @Param("roomId") Long roomId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            Pageable pageable
+    );
+
     @Query("""
             SELECT b FROM Booking b 
             WHERE b.user.id = :userId 
@@ -64,4 +116,111 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             @Param("userId") Long userId,
             @Param("currentTime") LocalDateTime currentTime);
 
+    /**
+     * Lightweight [start, end) view of every active booking, used to warm the in-memory availability index.
+     */
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.status IN ('APPROVED', 'PENDING')
+           """)
+    List<BookingIntervalProjection> findAllActiveIntervals();
+
+    /**
+     * Active bookings of every room overlapping [start, end), for campus-wide availability.
+     */
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.status IN ('APPROVED', 'PENDING')
+             AND b.startTime < :end
+             AND b.endTime > :start
+           ORDER BY b.startTime ASC
+           """)
+    List<BookingIntervalProjection> findActiveIntervalsInRange(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Active bookings of every room in a building overlapping [start, end), in one round-trip.
+     */
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.room.building.id = :buildingId
+             AND b.status IN ('APPROVED', 'PENDING')
+             AND b.startTime < :end
+             AND b.endTime > :start
+           ORDER BY b.startTime ASC
+           """)
+    List<BookingIntervalProjection> findActiveIntervalsInBuilding(
+            @Param("buildingId") Long buildingId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("""
+           SELECT b.id AS id, b.room.id AS roomId, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.room.id IN :roomIds
+             AND b.status IN ('APPROVED', 'PENDING')
+             AND b.startTime < :end
+             AND b.endTime > :start
+           ORDER BY b.startTime ASC
+           """)
+    List<BookingIntervalProjection> findActiveIntervalsForRooms(
+            @Param("roomIds") Collection<Long> roomIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    /**
+     * Bookings with their rooms in one round-trip, for batch decisions.
+     */
+    @Query("SELECT b FROM Booking b JOIN FETCH b.room WHERE b.id IN :ids")
+    List<Booking> findAllWithRoomByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bookings of a room that its event stream has not recorded yet, for the baseline events.
+     */
+    @Query("""
+           SELECT b
+           FROM Booking b
+           WHERE b.room.id = :roomId
+             AND NOT EXISTS (SELECT e.id FROM BookingEvent e WHERE e.bookingId = b.id)
+           ORDER BY b.id ASC
+           """)
+    List<Booking> findUnrecordedInRoom(@Param("roomId") Long roomId);
+
+    /**
+     * Status and times of every booking row of the room, as the projection rebuild finds them before rewriting.
+     */
+    @Query("""
+           SELECT b.id AS id, b.status AS status, b.startTime AS startTime, b.endTime AS endTime
+           FROM Booking b
+           WHERE b.room.id = :roomId
+           """)
+    List<BookingRowStateProjection> findRowStatesInRoom(@Param("roomId") Long roomId);
+
+    /**
+     * Overwrites the event-derived columns of one booking row with its replayed state. The version is bumped so
+     * a writer holding the old row fails its optimistic check instead of undoing the rebuild.
+     */
+    @Modifying
+    @Query("""
+           UPDATE Booking b
+           SET b.status = :status, b.startTime = :startTime, b.endTime = :endTime, b.purpose = :purpose,
+               b.cancelledBy = :cancelledBy, b.cancelledAt = :cancelledAt, b.version = b.version + 1
+           WHERE b.id = :id
+           """)
+    int applyProjection(
+            @Param("id") Long id,
+            @Param("status") Booking.BookingStatus status,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            @Param("purpose") String purpose,
+            @Param("cancelledBy") User cancelledBy,
+            @Param("cancelledAt") LocalDateTime cancelledAt
+    );
 }
@@ -0,0 +1,20 @@
+package com.example.University.repository;
+
+import com.example.University.entity.BookingRoomSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BookingRoomSnapshotRepository extends JpaRepository<BookingRoomSnapshot, Long> {
+
+    Optional<BookingRoomSnapshot> findTopByRoomIdOrderByStreamSequenceDesc(Long roomId);
+
+    @Modifying
+    @Query("DELETE FROM BookingRoomSnapshot s WHERE s.roomId = :roomId AND s.streamSequence < :streamSequence")
+    int deleteOlderThan(@Param("roomId") Long roomId, @Param("streamSequence") Long streamSequence);
+}
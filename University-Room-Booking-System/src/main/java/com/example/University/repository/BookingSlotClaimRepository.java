@@ -0,0 +1,47 @@
+package com.example.University.repository;
+
+import com.example.University.dto.SlotClaimSummaryProjection;
+import com.example.University.entity.BookingSlotClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingSlotClaimRepository extends JpaRepository<BookingSlotClaim, Long> {
+
+    @Modifying
+    @Query("DELETE FROM BookingSlotClaim c WHERE c.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM BookingSlotClaim c WHERE c.bookingId IN :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Drops the claims of bookings that are gone or no longer active.
+     */
+    @Modifying
+    @Query("""
+           DELETE FROM BookingSlotClaim c
+           WHERE NOT EXISTS (
+               SELECT b.id FROM Booking b
+               WHERE b.id = c.bookingId AND b.status IN ('APPROVED', 'PENDING'))
+           """)
+    int deleteOrphaned();
+
+    /**
+     * First and last claimed quantum and the claim count of every booking holding claims.
+     */
+    @Query("""
+           SELECT c.bookingId AS bookingId, MIN(c.slotStart) AS firstSlot, MAX(c.slotStart) AS lastSlot,
+                  COUNT(c) AS claimCount
+           FROM BookingSlotClaim c
+           GROUP BY c.bookingId
+           """)
+    List<SlotClaimSummaryProjection> summarizeByBooking();
+}
@@ -1,13 +1,37 @@
 package com.example.University.repository;
 
+import com.example.University.dto.BookingTargetProjection;
 import com.example.University.entity.Room;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface RoomRepository extends JpaRepository<Room , Long> {
+public interface RoomRepository extends JpaRepository<Room , Long>, JpaSpecificationExecutor<Room> {
     List<Room> findByBuildingId(Long buildingId);
     boolean existsByRoomNumber(String roomNumber);
+
+    @Query("SELECT r FROM Room r JOIN FETCH r.building WHERE r.isActive = true ORDER BY r.building.id, r.id")
+    List<Room> findAllActiveWithBuilding();
+
+    /**
+     * Existence and active flag of the room plus whether the user exists under the given username, in one
+     * statement and without loading either entity. Empty when the room does not exist.
+     */
+    @Query("""
+           SELECT r.isActive AS roomActive,
+                  (SELECT COUNT(u) FROM User u WHERE u.id = :userId AND u.username = :username) AS callerCount
+           FROM Room r
+           WHERE r.id = :roomId
+           """)
+    Optional<BookingTargetProjection> findBookingTarget(@Param("roomId") Long roomId, @Param("userId") Long userId,
+                                                        @Param("username") String username);
+
+    @Query("SELECT r.id FROM Room r ORDER BY r.id")
+    List<Long> findAllIds();
 }
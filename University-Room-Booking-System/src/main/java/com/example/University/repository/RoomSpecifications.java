@@ -0,0 +1,66 @@
+package com.example.University.repository;
+
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.Room;
+import com.example.University.entity.RoomFeature;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Available-room search predicates. Only the filters that are set become predicates, so the planner sees a plain
+ * conjunction, and the feature check is left out entirely when no features are requested.
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    /**
+     * Active rooms matching the filters of {@code criteria} that have no active booking overlapping
+     * [start, end), after the {@code afterId} cursor when one is given. Resolved in a single anti-join.
+     */
+    public static Specification<Room> availableFor(RoomSearchRequestDto criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            if (criteria.getAfterId() != null) {
+                predicates.add(cb.greaterThan(root.get("id"), criteria.getAfterId()));
+            }
+            if (criteria.getMinCapacity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("capacity"), criteria.getMinCapacity()));
+            }
+            if (criteria.getRoomType() != null) {
+                predicates.add(cb.equal(root.get("roomType"), criteria.getRoomType()));
+            }
+            if (criteria.getBuildingId() != null) {
+                predicates.add(cb.equal(root.get("building").get("id"), criteria.getBuildingId()));
+            }
+            if (criteria.getFeatureIds() != null && !criteria.getFeatureIds().isEmpty()) {
+                // Every requested feature must be attached: count the room's matches against the request
+                Subquery<Long> matched = query.subquery(Long.class);
+                Root<Room> sameRoom = matched.correlate(root);
+                Join<Room, RoomFeature> feature = sameRoom.join("features");
+                matched.select(cb.count(feature)).where(feature.get("id").in(criteria.getFeatureIds()));
+                predicates.add(cb.equal(matched, (long) criteria.getFeatureIds().size()));
+            }
+
+            Subquery<Long> overlapping = query.subquery(Long.class);
+            Root<Booking> booking = overlapping.from(Booking.class);
+            overlapping.select(booking.get("id")).where(
+                    cb.equal(booking.get("room").get("id"), root.get("id")),
+                    booking.get("status").in(Booking.BookingStatus.APPROVED, Booking.BookingStatus.PENDING),
+                    cb.lessThan(booking.get("startTime"), criteria.getEnd()),
+                    cb.greaterThan(booking.get("endTime"), criteria.getStart()));
+            predicates.add(cb.not(cb.exists(overlapping)));
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -17,6 +17,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
 
+    boolean existsByIdAndUsername(Long id, String username);
+
     boolean existsByEmail(String email);
 
     @Query("SELECT u FROM User u JOIN FETCH u.roles WHERE u.username = :username")
@@ -0,0 +1,8 @@
+package com.example.University.service;
+
+import com.example.University.dto.BatchDecisionRequestDto;
+import com.example.University.dto.BatchDecisionResultDto;
+
+public interface BatchDecisionService {
+    BatchDecisionResultDto decide(BatchDecisionRequestDto request, String adminUsername);
+}
@@ -0,0 +1,16 @@
+package com.example.University.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface BookingHistoryExportService {
+
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Writes every history row with from <= actionAt < to, oldest first, and returns the number of rows written.
+     * The output stream is flushed (and the gzip trailer written) but not closed.
+     */
+    long export(LocalDateTime from, LocalDateTime to, Format format, boolean gzip, OutputStream out) throws IOException;
+}
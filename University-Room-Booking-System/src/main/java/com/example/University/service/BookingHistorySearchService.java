@@ -0,0 +1,8 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingHistoryPageDto;
+import com.example.University.dto.BookingHistorySearchRequestDto;
+
+public interface BookingHistorySearchService {
+    BookingHistoryPageDto search(BookingHistorySearchRequestDto request);
+}
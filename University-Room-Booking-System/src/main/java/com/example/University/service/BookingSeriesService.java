@@ -0,0 +1,8 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingSeriesRequestDto;
+import com.example.University.dto.BookingSeriesResultDto;
+
+public interface BookingSeriesService {
+    BookingSeriesResultDto createSeries(BookingSeriesRequestDto request, Long userId, String callerUsername);
+}
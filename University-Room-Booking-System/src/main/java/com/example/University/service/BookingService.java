@@ -3,26 +3,44 @@ package com.example.University.service;
 import com.example.University.dto.BookingRequestDTO;
 import com.example.University.dto.BookingResponseDTO;
 import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingTargetProjection;
 import com.example.University.entity.Booking;
 import com.example.University.entity.BookingHistory;
 import com.example.University.entity.Role;
 import com.example.University.entity.Room;
 import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
 import com.example.University.repository.*;
 import com.example.University.exception.ResourceNotFoundException;
 import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.approval.AutoApprovalOutcome;
+import com.example.University.service.availability.AvailabilityResultCache;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.PrimitiveTimeline;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import com.example.University.service.availability.SlotOccupancyMatrix;
+import com.example.University.service.concurrency.RetryOnConflict;
+import com.example.University.service.history.BookingHistoryWriter;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,27 +52,74 @@ public class BookingService {
     private final BookingHistoryRepository bookingHistoryRepository;
     private final HolidayRepository holidayRepository;
     private final HolidayService holidayService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final SlotOccupancyMatrix occupancyMatrix;
+    private final HolidayCalendar holidayCalendar;
+    private final AvailabilityResultCache availabilityCache;
+    private final RoomAdmissionLocks admissionLocks;
+    private final SlotClaimRegistry slotClaims;
+    private final BookingHistoryWriter historyWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<TimeSlot> getFreeSlots(Long roomId, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
-        // Step 1: get all bookings in range
-        List<Booking> bookings = bookingRepository.findActiveBookingsInRange(roomId, rangeStart, rangeEnd);
-        List<TimeSlot> freeSlots = new ArrayList<TimeSlot>();
-
-        // Step 2: walk through timeline
-        LocalDateTime current = rangeStart;
-        for (Booking booking : bookings) {
-            if (current.isBefore(booking.getStartTime())) {
-                freeSlots.add(new TimeSlot(current, booking.getStartTime()));
+        // Single-day polls are answered from the per-room/day cache and clipped to the requested window
+        if (availabilityCache.isCacheable(rangeStart, rangeEnd)) {
+            LocalDate day = rangeStart.toLocalDate();
+            PrimitiveTimeline daySlots = availabilityCache.get(roomId, day, () -> {
+                PrimitiveTimeline free = new PrimitiveTimeline(16);
+                sweepFreeSlots(roomId, day.atStartOfDay(), day.plusDays(1).atStartOfDay(), free::add);
+                return free;
+            });
+            return daySlots.clip(PrimitiveTimeline.toMicros(rangeStart), PrimitiveTimeline.toMicros(rangeEnd)).toTimeSlots();
+        }
+        List<TimeSlot> freeSlots = new ArrayList<>();
+        sweepFreeSlots(roomId, rangeStart, rangeEnd, new PrimitiveTimeline.TimeSlotSink(freeSlots::add));
+        return freeSlots;
+    }
+
+    private void sweepFreeSlots(Long roomId, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                PrimitiveTimeline.IntervalSink sink) {
+        PrimitiveTimeline.GapWalker walker = freeSlotWalker(rangeStart, rangeEnd, sink);
+        // Step 1: feed the busy intervals in start order (from the in-memory index when it is serving)
+        if (availabilityIndex.isServing()) {
+            availabilityIndex.forEachBusy(roomId, rangeStart, rangeEnd, walker);
+        } else {
+            for (Booking booking : bookingRepository.findActiveBookingsInRange(roomId, rangeStart, rangeEnd)) {
+                walker.accept(PrimitiveTimeline.toMicros(booking.getStartTime()), PrimitiveTimeline.toMicros(booking.getEndTime()));
             }
-            current = booking.getEndTime().isAfter(current) ? booking.getEndTime() : current;
         }
+        walker.finish();
+    }
 
-        // Step 3: add last gap until rangeEnd
-        if (current.isBefore(rangeEnd)) {
-            freeSlots.add(new TimeSlot(current, rangeEnd));
+    // Step 2: walk through the timeline on primitive longs; step 3: cut holidays out of every gap on its way to
+    // the sink, createBooking would reject those slots anyway
+    private PrimitiveTimeline.GapWalker freeSlotWalker(LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                       PrimitiveTimeline.IntervalSink sink) {
+        List<LocalDate> holidays = holidayCalendar.holidaysBetween(rangeStart.toLocalDate(), rangeEnd.toLocalDate());
+        if (!holidays.isEmpty()) {
+            sink = new PrimitiveTimeline.Subtraction(PrimitiveTimeline.ofDays(holidays), sink);
         }
+        return new PrimitiveTimeline.GapWalker(PrimitiveTimeline.toMicros(rangeStart), PrimitiveTimeline.toMicros(rangeEnd), sink);
+    }
 
-        return freeSlots;
+    /**
+     * Streaming variant of {@link #getFreeSlots}: busy intervals are read one at a time (from the index or a
+     * forward-only projection cursor) and every free slot is handed to {@code sink} as soon as it is known,
+     * so memory stays flat however long the range is.
+     */
+    @Transactional
+    public void streamFreeSlots(Long roomId, LocalDateTime rangeStart, LocalDateTime rangeEnd, Consumer<TimeSlot> sink) {
+        if (availabilityIndex.isServing()) {
+            sweepFreeSlots(roomId, rangeStart, rangeEnd, new PrimitiveTimeline.TimeSlotSink(sink));
+            return;
+        }
+        PrimitiveTimeline.GapWalker walker = freeSlotWalker(rangeStart, rangeEnd, new PrimitiveTimeline.TimeSlotSink(sink));
+        try (Stream<BookingIntervalProjection> bookings =
+                     bookingRepository.streamActiveIntervalsInRange(roomId, rangeStart, rangeEnd)) {
+            bookings.forEach(booking -> walker.accept(
+                    PrimitiveTimeline.toMicros(booking.getStartTime()), PrimitiveTimeline.toMicros(booking.getEndTime())));
+        }
+        walker.finish();
     }
 
     @Transactional
@@ -62,15 +127,54 @@ public class BookingService {
         // 1. Validate room
         Room room = roomRepository.findById(dto.getRoomId())
                 .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        if (!Boolean.TRUE.equals(room.getIsActive())) {
+            throw new IllegalArgumentException("Room is not active");
+        }
 
         // 2. Validate user
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
         // 3. Role validation -> must be STUDENT or FACULTY
-        boolean hasAccess = user.getRoles().stream()
-                .anyMatch(role -> role.getName() == Role.RoleName.STUDENT
-                        || role.getName() == Role.RoleName.FACULTY);
+        Set<Role.RoleName> roles = user.getRoles().stream().map(Role::getName).collect(Collectors.toSet());
+        return admitBooking(dto, room, user, roles);
+    }
+
+    /**
+     * Rejects a {@code userId} that is not the authenticated caller's own account.
+     */
+    public void checkCaller(Long userId, String callerUsername) {
+        if (!userRepository.existsByIdAndUsername(userId, callerUsername)) {
+            throw new UnauthorizedActionException("You can only create bookings for yourself");
+        }
+    }
+
+    /**
+     * Lean variant of {@link #createBooking(BookingRequestDTO, Long)} for authenticated requests: room and user
+     * are validated with a single projection query, the roles come from the caller's principal and the
+     * booking references both through proxies, so neither entity graph (nor the user's roles) is loaded.
+     * As in {@link #checkCaller}, {@code userId} must be the caller's own account.
+     */
+    @Transactional
+    public BookingResponseDTO createBooking(BookingRequestDTO dto, Long userId, String callerUsername,
+                                            Set<Role.RoleName> callerRoles) {
+        // 1-2. Validate room and user
+        BookingTargetProjection target = roomRepository.findBookingTarget(dto.getRoomId(), userId, callerUsername)
+                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        if (target.getCallerCount() == 0) {
+            throw new UnauthorizedActionException("You can only create bookings for yourself");
+        }
+        if (!Boolean.TRUE.equals(target.getRoomActive())) {
+            throw new IllegalArgumentException("Room is not active");
+        }
+
+        // 3. Role validation -> must be STUDENT or FACULTY
+        return admitBooking(dto, roomRepository.getReferenceById(dto.getRoomId()),
+                userRepository.getReferenceById(userId), callerRoles);
+    }
+
+    private BookingResponseDTO admitBooking(BookingRequestDTO dto, Room room, User user, Set<Role.RoleName> roles) {
+        boolean hasAccess = roles.contains(Role.RoleName.STUDENT) || roles.contains(Role.RoleName.FACULTY);
 
         if (!hasAccess) {
             throw new IllegalArgumentException("Only students or faculty can create bookings");
@@ -81,12 +185,19 @@ public class BookingService {
             throw new IllegalArgumentException("End time must be after start time");
         }
 
-        // 5. Overlap validation
-        boolean conflict = bookingRepository.existsActiveOverlap(
-                room.getId(), dto.getStartTime(), dto.getEndTime()
-        );
-        if (conflict) {
-            throw new IllegalArgumentException("Booking overlaps with an existing booking");
+        // 5. Overlap validation (bitset check first, exact range query when it cannot answer).
+        //    The room is locked until commit so a concurrent request cannot pass the same check.
+        //    In slot-claim mode the unique key on the claims decides instead, see step 6.
+        if (!slotClaims.isEnabled()) {
+            admissionLocks.lockUntilCompletion(room.getId());
+            SlotOccupancyMatrix.Answer occupancy = occupancyMatrix.check(
+                    room.getId(), dto.getStartTime(), dto.getEndTime(), null);
+            boolean conflict = occupancy == SlotOccupancyMatrix.Answer.OCCUPIED
+                    || (occupancy != SlotOccupancyMatrix.Answer.FREE
+                    && bookingRepository.existsActiveOverlap(room.getId(), dto.getStartTime(), dto.getEndTime()));
+            if (conflict) {
+                throw new IllegalArgumentException("Booking overlaps with an existing booking");
+            }
         }
         validateHolidayRestrictions(dto.getStartTime(), dto.getEndTime());
 
@@ -101,36 +212,32 @@ public class BookingService {
                 .build();
 
         booking = bookingRepository.save(booking);
+        slotClaims.claim(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, null));
 
         // 7. Log creation in history
         logBookingHistory(booking, user, BookingHistory.BookingHistoryAction.CREATED,
                 null, Booking.BookingStatus.PENDING);
 
-        Long cancelledById = null;
-        String cancelledByName = null;
-        if (booking.getCancelledBy() != null) {
-            cancelledById = booking.getCancelledBy().getId();
-            cancelledByName = booking.getCancelledBy().getFirstName();
-        }
-
-        // 8. Return DTO
+        // 8. Return DTO (a new booking has no canceller; ids are read without initializing the proxies)
         return new BookingResponseDTO(
                 booking.getId(),
-                booking.getRoom().getId(),
-                booking.getUser().getId(),
+                room.getId(),
+                user.getId(),
                 booking.getStartTime(),
                 booking.getEndTime(),
                 booking.getPurpose(),
                 booking.getStatus().name(),
-                booking.getCancelledAt(),
-                cancelledById,
-                cancelledByName
+                null,
+                null,
+                null
         );
     }
 
     // ===== PERSON 4's MAIN RESPONSIBILITY: APPROVAL LOGIC =====
 
     @Transactional
+    @RetryOnConflict("approve")
     public BookingResponseDTO approveBooking(Long bookingId, String adminUsername, String reason) {
         // 1. Find booking
         Booking booking = bookingRepository.findById(bookingId)
@@ -152,31 +259,15 @@ public class BookingService {
             throw new IllegalStateException("Can only approve PENDING bookings. Current status: " + booking.getStatus());
         }
 
-        // 5. RE-CHECK for overlaps (someone might have booked in the meantime)
-        boolean conflict = bookingRepository.existsActiveOverlap(
-                booking.getRoom().getId(),
-                booking.getStartTime(),
-                booking.getEndTime()
-        );
-        if (conflict) {
-            // Check if the conflict is with this same booking
-            List<Booking> conflictingBookings = bookingRepository.findActiveBookingsInRange(
-                    booking.getRoom().getId(),
-                    booking.getStartTime(),
-                    booking.getEndTime()
-            );
-            Booking finalBooking = booking;
-            boolean hasRealConflict = conflictingBookings.stream()
-                    .anyMatch(b -> !b.getId().equals(finalBooking.getId()));
-
-            if (hasRealConflict) {
-                throw new IllegalStateException("Cannot approve: booking now overlaps with another approved booking");
-            }
+        // 5. RE-CHECK for overlaps (someone might have booked in the meantime), serialized with admissions
+        if (overlapsForApproval(booking)) {
+            throw new IllegalStateException("Cannot approve: booking now overlaps with another approved booking");
         }
 
         // 6. Update status
         booking.setStatus(Booking.BookingStatus.APPROVED);
         booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, Booking.BookingStatus.PENDING));
 
         // 7. Log history
         logBookingHistory(booking, admin, BookingHistory.BookingHistoryAction.APPROVED,
@@ -186,6 +277,7 @@ public class BookingService {
     }
 
     @Transactional
+    @RetryOnConflict("reject")
     public BookingResponseDTO rejectBooking(Long bookingId, String adminUsername, String reason) {
         // 1. Find booking
         Booking booking = bookingRepository.findById(bookingId)
@@ -210,6 +302,8 @@ public class BookingService {
         // 5. Update status
         booking.setStatus(Booking.BookingStatus.REJECTED);
         booking = bookingRepository.save(booking);
+        slotClaims.release(booking.getId());
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, Booking.BookingStatus.PENDING));
 
         // 6. Log history
         logBookingHistory(booking, admin, BookingHistory.BookingHistoryAction.REJECTED,
@@ -218,6 +312,43 @@ public class BookingService {
         return mapToBookingResponseDTO(booking);
     }
 
+    /**
+     * Approves a PENDING booking on behalf of the system user when {@code rule} names a matching auto-approval
+     * rule (null when none matches). Anything other than {@link AutoApprovalOutcome#APPROVED} leaves the booking
+     * untouched for an admin.
+     */
+    @Transactional
+    @RetryOnConflict("auto-approve")
+    public AutoApprovalOutcome autoApproveBooking(Long bookingId, String systemUsername, Function<Booking, String> rule) {
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking == null || booking.getStatus() != Booking.BookingStatus.PENDING) {
+            return AutoApprovalOutcome.NOT_PENDING;
+        }
+        String ruleName = rule.apply(booking);
+        if (ruleName == null) {
+            return AutoApprovalOutcome.NO_MATCH;
+        }
+        User system = userRepository.findByUsername(systemUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("System user not found"));
+        if (overlapsForApproval(booking)) {
+            return AutoApprovalOutcome.CONFLICT;
+        }
+
+        booking.setStatus(Booking.BookingStatus.APPROVED);
+        booking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, Booking.BookingStatus.PENDING));
+        logBookingHistory(booking, system, BookingHistory.BookingHistoryAction.APPROVED,
+                "Auto-approved by rule " + ruleName, Booking.BookingStatus.APPROVED);
+        return AutoApprovalOutcome.APPROVED;
+    }
+
+    @Transactional
+    public BookingResponseDTO getBooking(Long bookingId) {
+        Booking booking = bookingRepository.findById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
+        return mapToBookingResponseDTO(booking);
+    }
+
     // ===== PERSON 4's SECOND RESPONSIBILITY: BOOKING HISTORY =====
 
     public List<BookingHistoryResponseDTO> getBookingHistory(Long bookingId) {
@@ -242,11 +373,16 @@ public class BookingService {
                 .booking(booking)
                 .action(action)
                 .actionBy(actionBy)
+                .actionAt(LocalDateTime.now())
                 .reason(reason)
                 .newStatus(newStatus)
                 .build();
 
-        bookingHistoryRepository.save(history);
+        if (historyWriter.isEnabled()) {
+            historyWriter.enqueue(history);
+        } else {
+            bookingHistoryRepository.save(history);
+        }
     }
 
     private BookingResponseDTO mapToBookingResponseDTO(Booking booking) {
@@ -286,6 +422,36 @@ public class BookingService {
         );
     }
 
+    // Re-check before approving, serialized with admissions. A PENDING booking already holds its slot claims in
+    // slot-claim mode, so nothing can overlap it.
+    private boolean overlapsForApproval(Booking booking) {
+        if (slotClaims.isEnabled()) {
+            return false;
+        }
+        admissionLocks.lockUntilCompletion(booking.getRoom().getId());
+        SlotOccupancyMatrix.Answer occupancy = occupancyMatrix.check(
+                booking.getRoom().getId(), booking.getStartTime(), booking.getEndTime(), booking.getId());
+        if (occupancy == SlotOccupancyMatrix.Answer.OCCUPIED) {
+            return true;
+        }
+        boolean conflict = occupancy != SlotOccupancyMatrix.Answer.FREE && bookingRepository.existsActiveOverlap(
+                booking.getRoom().getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+        if (!conflict) {
+            return false;
+        }
+        // Check if the conflict is with this same booking
+        List<Booking> conflictingBookings = bookingRepository.findActiveBookingsInRange(
+                booking.getRoom().getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+        return conflictingBookings.stream()
+                .anyMatch(b -> !b.getId().equals(booking.getId()));
+    }
+
     private void validateHolidayRestrictions(LocalDateTime startTime, LocalDateTime endTime) {
         LocalDate startDate = startTime.toLocalDate();
         LocalDate endDate = endTime.toLocalDate();
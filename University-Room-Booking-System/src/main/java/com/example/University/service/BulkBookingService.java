@@ -0,0 +1,10 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BulkBookingResultDto;
+
+import java.util.List;
+
+public interface BulkBookingService {
+    BulkBookingResultDto createBookings(List<BookingRequestDTO> requests, Long userId, String callerUsername);
+}
@@ -0,0 +1,9 @@
+package com.example.University.service;
+
+import com.example.University.dto.CampusAvailabilityDto;
+
+import java.time.LocalDateTime;
+
+public interface CampusAvailabilityService {
+    CampusAvailabilityDto getCampusAvailability(LocalDateTime from, LocalDateTime to);
+}
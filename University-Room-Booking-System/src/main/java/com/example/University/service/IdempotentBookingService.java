@@ -0,0 +1,8 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BookingResponseDTO;
+
+public interface IdempotentBookingService {
+    BookingResponseDTO createBooking(BookingRequestDTO request, Long userId, String callerUsername, String idempotencyKey);
+}
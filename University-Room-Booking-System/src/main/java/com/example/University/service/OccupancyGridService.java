@@ -0,0 +1,9 @@
+package com.example.University.service;
+
+import com.example.University.dto.OccupancyGridDto;
+
+import java.time.LocalDate;
+
+public interface OccupancyGridService {
+    OccupancyGridDto getBuildingGrid(Long buildingId, LocalDate from, LocalDate to, int slotMinutes);
+}
@@ -1,6 +1,8 @@
 package com.example.University.service;
 
 import com.example.University.dto.RoomDto;
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.dto.RoomSearchResponseDto;
 import com.example.University.entity.Room;
 
 import java.util.List;
@@ -13,4 +15,5 @@ public interface RoomService {
     void delete(Long Id);
     Room attachFeatures(Long Id , List<Long> featureIds);
     Room detachFeature(Long Id , Long featureId);
+    RoomSearchResponseDto searchAvailableRooms(RoomSearchRequestDto request);
 }
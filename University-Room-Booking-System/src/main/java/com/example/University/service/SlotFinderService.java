@@ -0,0 +1,10 @@
+package com.example.University.service;
+
+import com.example.University.dto.SlotOptionDto;
+import com.example.University.dto.SlotSearchRequestDto;
+
+import java.util.List;
+
+public interface SlotFinderService {
+    List<SlotOptionDto> findEarliestSlots(SlotSearchRequestDto request);
+}
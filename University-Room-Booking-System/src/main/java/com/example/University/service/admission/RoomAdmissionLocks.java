@@ -0,0 +1,90 @@
+package com.example.University.service.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-room locks that serialize booking admission decisions (overlap check + insert/approve).
+ * <p>
+ * A lock is taken inside the caller's transaction and released only after it commits or rolls back, so the next
+ * request for the same room sees the committed booking when it runs its own overlap check. Rooms on different
+ * stripes proceed fully in parallel. The locks are per JVM; they close the race within one instance only.
+ */
+@Component
+public class RoomAdmissionLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public RoomAdmissionLocks(@Value("${booking.admission.stripes:64}") int stripes,
+                              @Value("${booking.admission.lock-timeout-ms:5000}") long timeoutMillis) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("booking.admission.stripes must be positive");
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Blocks until this thread owns the room's stripe, which is then held until the current transaction completes.
+     */
+    public void lockUntilCompletion(Long roomId) {
+        requireTransaction();
+        lockStripe(stripeIndex(roomId), roomId);
+    }
+
+    /**
+     * Multi-room variant of {@link #lockUntilCompletion} for requests that admit bookings in several rooms at once.
+     * Rooms share stripes, so the stripes are taken once each and in index order; locking in room order instead
+     * lets two such requests wait on each other's stripes until one times out.
+     */
+    public void lockAllUntilCompletion(Collection<Long> roomIds) {
+        requireTransaction();
+        TreeMap<Integer, Long> byStripe = new TreeMap<>();
+        for (Long roomId : roomIds) {
+            byStripe.putIfAbsent(stripeIndex(roomId), roomId);
+        }
+        byStripe.forEach(this::lockStripe);
+    }
+
+    private void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room admission requires an active transaction");
+        }
+    }
+
+    // Registered per stripe, so the stripes already held are released even when a later one times out
+    private void lockStripe(int index, Long roomId) {
+        ReentrantLock lock = stripes[index];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Room " + roomId + " is busy, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for room " + roomId, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeIndex(Long roomId) {
+        int hash = Long.hashCode(roomId);
+        hash ^= hash >>> 16;
+        return (hash & Integer.MAX_VALUE) % stripes.length;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.University.service.admission;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.SlotClaimSummaryProjection;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingSlotClaim;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingSlotClaimRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Optional database-enforced admission: every active booking claims each quantum of its room it touches in
+ * {@code booking_slot_claim}, whose unique key turns a double booking into a constraint violation. Because the
+ * database arbitrates, this is safe across several application nodes without any in-process lock.
+ * <p>
+ * Quanta are claimed conservatively (start rounded down, end rounded up), so two bookings sharing a quantum
+ * conflict even when their exact times do not overlap.
+ */
+@Component
+@Slf4j
+public class SlotClaimRegistry implements SmartInitializingSingleton {
+
+    private final BookingSlotClaimRepository slotClaimRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int quantumMinutes;
+
+    public SlotClaimRegistry(BookingSlotClaimRepository slotClaimRepository,
+                             BookingRepository bookingRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${booking.slot-claims.enabled:false}") boolean enabled,
+                             @Value("${booking.slot-claims.quantum-minutes:15}") int quantumMinutes) {
+        if (quantumMinutes <= 0 || (24 * 60) % quantumMinutes != 0) {
+            throw new IllegalArgumentException("booking.slot-claims.quantum-minutes must divide a day evenly");
+        }
+        this.slotClaimRepository = slotClaimRepository;
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.quantumMinutes = quantumMinutes;
+    }
+
+    /**
+     * Brings the claims in line with the active bookings. While the mode was off, bookings were created,
+     * cancelled or moved without touching the claim table, so claims of inactive bookings are dropped, and
+     * active bookings whose claims are missing or no longer match their times are claimed afresh.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            int orphaned = slotClaimRepository.deleteOrphaned();
+            Map<Long, SlotClaimSummaryProjection> existing = new HashMap<>();
+            for (SlotClaimSummaryProjection summary : slotClaimRepository.summarizeByBooking()) {
+                existing.put(summary.getBookingId(), summary);
+            }
+
+            List<Long> stale = new ArrayList<>();
+            List<BookingSlotClaim> missing = new ArrayList<>();
+            for (BookingIntervalProjection booking : bookingRepository.findAllActiveIntervals()) {
+                List<BookingSlotClaim> expected = claimsFor(booking.getId(), booking.getRoomId(),
+                        booking.getStartTime(), booking.getEndTime());
+                SlotClaimSummaryProjection current = existing.get(booking.getId());
+                if (current != null && matches(current, expected)) {
+                    continue;
+                }
+                if (current != null) {
+                    stale.add(booking.getId());
+                }
+                missing.addAll(expected);
+            }
+            // Stale rows go first, they may hold quanta the re-claimed bookings need
+            if (!stale.isEmpty()) {
+                slotClaimRepository.deleteByBookingIdIn(stale);
+            }
+            try {
+                slotClaimRepository.saveAllAndFlush(missing);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException("Existing active bookings overlap; resolve them before enabling slot claims", e);
+            }
+            log.info("Slot claims reconciled: {} orphaned rows removed, {} bookings re-claimed, {} rows inserted",
+                    orphaned, stale.size(), missing.size());
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Inserts the claims of a freshly saved booking in the current transaction.
+     *
+     * @throws IllegalArgumentException when another active booking already holds one of the quanta
+     */
+    public void claim(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+        List<BookingSlotClaim> claims = claimsFor(booking.getId(), booking.getRoom().getId(),
+                booking.getStartTime(), booking.getEndTime());
+        try {
+            slotClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Booking overlaps with an existing booking");
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #claim} that writes the claims of all bookings in one flush.
+     */
+    public void claimAll(List<Booking> bookings) {
+        if (!enabled || bookings.isEmpty()) {
+            return;
+        }
+        List<BookingSlotClaim> claims = new ArrayList<>();
+        for (Booking booking : bookings) {
+            claims.addAll(claimsFor(booking.getId(), booking.getRoom().getId(), booking.getStartTime(), booking.getEndTime()));
+        }
+        try {
+            slotClaimRepository.saveAllAndFlush(claims);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("Bookings overlap with bookings admitted concurrently, please retry");
+        }
+    }
+
+    /**
+     * Frees the quanta of a booking that left the active states, with one bulk delete.
+     */
+    public void release(Long bookingId) {
+        if (enabled) {
+            slotClaimRepository.deleteByBookingId(bookingId);
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #release} for many bookings in one statement.
+     */
+    public void releaseAll(Collection<Long> bookingIds) {
+        if (enabled && !bookingIds.isEmpty()) {
+            slotClaimRepository.deleteByBookingIdIn(bookingIds);
+        }
+    }
+
+    /**
+     * Start of the quantum containing {@code time}; claims cover [floor(start), ceil(end)).
+     */
+    public LocalDateTime quantumFloor(LocalDateTime time) {
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes((minute.getHour() * 60L + minute.getMinute()) % quantumMinutes);
+    }
+
+    public LocalDateTime quantumCeil(LocalDateTime time) {
+        LocalDateTime floor = quantumFloor(time);
+        return floor.equals(time) ? floor : floor.plusMinutes(quantumMinutes);
+    }
+
+    private boolean matches(SlotClaimSummaryProjection current, List<BookingSlotClaim> expected) {
+        return !expected.isEmpty()
+                && current.getClaimCount() == expected.size()
+                && current.getFirstSlot().equals(expected.get(0).getSlotStart())
+                && current.getLastSlot().equals(expected.get(expected.size() - 1).getSlotStart());
+    }
+
+    private List<BookingSlotClaim> claimsFor(Long bookingId, Long roomId, LocalDateTime start, LocalDateTime end) {
+        List<BookingSlotClaim> claims = new ArrayList<>();
+        for (LocalDateTime slot = quantumFloor(start); slot.isBefore(end); slot = slot.plusMinutes(quantumMinutes)) {
+            claims.add(BookingSlotClaim.builder().roomId(roomId).slotStart(slot).bookingId(bookingId).build());
+        }
+        return claims;
+    }
+}
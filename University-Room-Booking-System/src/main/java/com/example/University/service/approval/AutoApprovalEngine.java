@@ -0,0 +1,161 @@
+package com.example.University.service.approval;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.Role;
+import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.BookingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Evaluates the auto-approval rules for every new booking once its creating transaction has committed.
+ * <p>
+ * Work runs on a small fixed pool behind a bounded queue. When the queue is full the booking is simply left
+ * PENDING for an admin, so a burst of creations never blocks or slows the request threads.
+ */
+@Component
+@Slf4j
+public class AutoApprovalEngine implements SmartInitializingSingleton {
+
+    private final AutoApprovalProperties properties;
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Timer decisionLatency;
+    private final Map<AutoApprovalOutcome, Counter> decisions = new EnumMap<>(AutoApprovalOutcome.class);
+    private final Counter overflows;
+    private final Counter failures;
+
+    public AutoApprovalEngine(AutoApprovalProperties properties,
+                              BookingService bookingService,
+                              UserRepository userRepository,
+                              RoleRepository roleRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        if (properties.getWorkers() <= 0 || properties.getQueueCapacity() <= 0) {
+            throw new IllegalArgumentException("booking.auto-approval.workers and queue-capacity must be positive");
+        }
+        this.properties = properties;
+        this.bookingService = bookingService;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "auto-approval-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("booking.auto_approval.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("New bookings waiting for rule evaluation").register(meterRegistry);
+        this.decisionLatency = Timer.builder("booking.auto_approval.decision.latency")
+                .description("Time from commit of a new booking to its auto-approval decision").register(meterRegistry);
+        for (AutoApprovalOutcome outcome : AutoApprovalOutcome.values()) {
+            decisions.put(outcome, Counter.builder("booking.auto_approval.decisions")
+                    .tag("outcome", outcome.name().toLowerCase()).register(meterRegistry));
+        }
+        this.overflows = Counter.builder("booking.auto_approval.decisions").tag("outcome", "queue_full")
+                .description("New bookings left to admins because the queue was full").register(meterRegistry);
+        this.failures = Counter.builder("booking.auto_approval.decisions").tag("outcome", "error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Creates the inactive system account approvals are attributed to, when the engine is on.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.findByUsername(properties.getSystemUsername()).isPresent()) {
+                return;
+            }
+            Role admin = roleRepository.findByName(Role.RoleName.ADMIN)
+                    .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.ADMIN).build()));
+            userRepository.save(User.builder()
+                    .username(properties.getSystemUsername())
+                    .email(properties.getSystemUsername() + "@system.invalid")
+                    .password(UUID.randomUUID().toString())
+                    .firstName("Auto")
+                    .lastName("Approval")
+                    .isActive(false)
+                    .roles(Set.of(admin))
+                    .build());
+            log.info("Created system user {} for auto-approval", properties.getSystemUsername());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!properties.isEnabled() || properties.getRules().isEmpty()
+                || event.getOldStatus() != null || event.getNewStatus() != Booking.BookingStatus.PENDING) {
+            return;
+        }
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> decide(event.getBookingId(), enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            overflows.increment();
+            log.debug("Auto-approval queue full, booking {} left for an admin", event.getBookingId());
+        }
+    }
+
+    private void decide(Long bookingId, long enqueuedAt) {
+        try {
+            AutoApprovalOutcome outcome = bookingService.autoApproveBooking(
+                    bookingId, properties.getSystemUsername(), this::matchingRule);
+            decisions.get(outcome).increment();
+            log.debug("Auto-approval of booking {}: {}", bookingId, outcome);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Auto-approval of booking {} failed", bookingId, e);
+        } finally {
+            decisionLatency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Name of the first rule the booking satisfies, or null
+    String matchingRule(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        for (AutoApprovalProperties.Rule rule : properties.getRules()) {
+            if (rule.matches(booking, now)) {
+                return rule.getName() != null ? rule.getName() : "#" + properties.getRules().indexOf(rule);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.University.service.approval;
+
+public enum AutoApprovalOutcome {
+    APPROVED,
+    // No rule matched; the booking waits for an admin
+    NO_MATCH,
+    // A rule matched but the booking now overlaps another active booking
+    CONFLICT,
+    // Decided or cancelled before a worker reached it
+    NOT_PENDING
+}
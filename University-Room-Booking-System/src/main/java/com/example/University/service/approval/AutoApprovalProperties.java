@@ -0,0 +1,79 @@
+package com.example.University.service.approval;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.Department;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Auto-approval rules under {@code booking.auto-approval}. A new PENDING booking is approved when every
+ * condition of at least one rule holds; a condition left empty or null matches anything.
+ */
+@Component
+@ConfigurationProperties(prefix = "booking.auto-approval")
+@Data
+public class AutoApprovalProperties {
+
+    private boolean enabled = false;
+    // Worker threads evaluating rules, and how many bookings may wait for them before new ones are left to admins
+    private int workers = 2;
+    private int queueCapacity = 500;
+    // Inactive account that approvals are attributed to in the booking history
+    private String systemUsername = "system";
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+        // Any of the booker's roles
+        private Set<Role.RoleName> roles = new HashSet<>();
+        private Set<Room.RoomType> roomTypes = new HashSet<>();
+        // Codes of the departments owning the room's building
+        private Set<String> departments = new HashSet<>();
+        // The booker belongs to the department owning the room's building
+        private boolean sameDepartment = false;
+        // Bounds on the time between the decision and the booking start
+        private Duration minLeadTime;
+        private Duration maxLeadTime;
+        private Duration maxDuration;
+
+        public boolean matches(Booking booking, LocalDateTime now) {
+            if (!roles.isEmpty() && booking.getUser().getRoles().stream().noneMatch(role -> roles.contains(role.getName()))) {
+                return false;
+            }
+            Room room = booking.getRoom();
+            if (!roomTypes.isEmpty() && !roomTypes.contains(room.getRoomType())) {
+                return false;
+            }
+            Department roomDepartment = room.getBuilding() == null ? null : room.getBuilding().getDepartment();
+            if (!departments.isEmpty() && (roomDepartment == null || !departments.contains(roomDepartment.getCode()))) {
+                return false;
+            }
+            if (sameDepartment) {
+                Department userDepartment = booking.getUser().getDepartment();
+                if (roomDepartment == null || userDepartment == null || !roomDepartment.getId().equals(userDepartment.getId())) {
+                    return false;
+                }
+            }
+            Duration lead = Duration.between(now, booking.getStartTime());
+            if (minLeadTime != null && lead.compareTo(minLeadTime) < 0) {
+                return false;
+            }
+            if (maxLeadTime != null && lead.compareTo(maxLeadTime) > 0) {
+                return false;
+            }
+            return maxDuration == null
+                    || Duration.between(booking.getStartTime(), booking.getEndTime()).compareTo(maxDuration) <= 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.University.service.availability;
+
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.event.HolidaysChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of computed free slots per (room, day).
+ * <p>
+ * Entries are stamped with the room's version and a global generation when computed. A booking status change
+ * bumps the room version and a holiday change bumps the generation, so stale entries are never served and
+ * simply age out. The stamp is read before computing, so a result computed while a booking commits carries
+ * the old stamp and is never served.
+ */
+@Component
+public class AvailabilityResultCache {
+
+    private final int maxEntries;
+    private final Map<RoomDay, Entry> entries;
+    private final Map<Long, AtomicLong> roomVersions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public AvailabilityResultCache(MeterRegistry meterRegistry,
+                                   @Value("${booking.availability.cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RoomDay, Entry> eldest) {
+                if (size() > AvailabilityResultCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("booking.availability.cache.requests").tag("result", "hit")
+                .description("Free-slot lookups answered from the cache").register(meterRegistry);
+        this.misses = Counter.builder("booking.availability.cache.requests").tag("result", "miss")
+                .description("Free-slot lookups that had to be computed").register(meterRegistry);
+        this.evictions = Counter.builder("booking.availability.cache.evictions")
+                .description("Entries dropped because the cache was full").register(meterRegistry);
+        Gauge.builder("booking.availability.cache.size", this, AvailabilityResultCache::size).register(meterRegistry);
+    }
+
+    /**
+     * True when the cache is enabled and [start, end) falls inside a single day bucket.
+     */
+    public boolean isCacheable(LocalDateTime start, LocalDateTime end) {
+        return maxEntries > 0 && !end.isAfter(start.toLocalDate().plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Free slots of the whole day, computed by {@code loader} on a miss.
+     */
+    public PrimitiveTimeline get(Long roomId, LocalDate day, Supplier<PrimitiveTimeline> loader) {
+        RoomDay key = new RoomDay(roomId, day.toEpochDay());
+        long version = roomVersion(roomId).get();
+        long currentGeneration = generation.get();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version && entry.generation == currentGeneration) {
+                hits.increment();
+                return entry.freeSlots;
+            }
+        }
+        misses.increment();
+        PrimitiveTimeline freeSlots = loader.get();
+        // Do not let a result computed across an invalidation replace a fresher entry
+        if (roomVersion(roomId).get() == version && generation.get() == currentGeneration) {
+            synchronized (entries) {
+                entries.put(key, new Entry(version, currentGeneration, freeSlots));
+            }
+        }
+        return freeSlots;
+    }
+
+    public void invalidateRoom(Long roomId) {
+        roomVersion(roomId).incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // Both listeners run after the index / holiday calendar have applied the same event, so a reload sees the new state
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        invalidateRoom(event.getRoomId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        invalidateAll();
+    }
+
+    private AtomicLong roomVersion(Long roomId) {
+        return roomVersions.computeIfAbsent(roomId, id -> new AtomicLong());
+    }
+
+    private record RoomDay(Long roomId, long epochDay) {
+    }
+
+    private record Entry(long version, long generation, PrimitiveTimeline freeSlots) {
+    }
+}
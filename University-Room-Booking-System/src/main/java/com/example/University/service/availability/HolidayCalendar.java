@@ -0,0 +1,72 @@
+package com.example.University.service.availability;
+
+import com.example.University.entity.Holiday;
+import com.example.University.event.HolidaysChangedEvent;
+import com.example.University.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory copy of the active holiday dates, reloaded whenever a holiday changes,
+ * so availability queries can cut holidays out without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HolidayCalendar implements SmartInitializingSingleton {
+
+    private final HolidayRepository holidayRepository;
+    private volatile NavigableSet<LocalDate> dates = Collections.emptyNavigableSet();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        refresh();
+    }
+
+    public void refresh() {
+        NavigableSet<LocalDate> loaded = new TreeSet<>();
+        for (Holiday holiday : holidayRepository.findByIsActiveTrueOrderByDateAsc()) {
+            loaded.add(holiday.getDate());
+        }
+        dates = Collections.unmodifiableNavigableSet(loaded);
+        log.debug("Holiday calendar loaded {} active holidays", loaded.size());
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return dates.contains(date);
+    }
+
+    /**
+     * The first active holiday strictly after {@code date}, or null when there is none.
+     */
+    public LocalDate nextHolidayAfter(LocalDate date) {
+        return dates.higher(date);
+    }
+
+    /**
+     * Active holiday dates in [startDate, endDate], ascending.
+     */
+    public List<LocalDate> holidaysBetween(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return List.of();
+        }
+        return List.copyOf(dates.subSet(startDate, true, endDate, true));
+    }
+}
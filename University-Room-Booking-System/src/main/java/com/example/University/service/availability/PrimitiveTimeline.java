@@ -0,0 +1,258 @@
+package com.example.University.service.availability;
+
+import com.example.University.service.BookingService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sorted list of [start, end) intervals stored as two parallel {@code long[]} of epoch microseconds.
+ * <p>
+ * The gap walk, merge and subtraction below only compare longs and write into preallocated arrays, so the
+ * availability sweep allocates nothing per interval; {@link BookingService.TimeSlot} objects are created only
+ * by {@link TimeSlotSink} at the API edge. Microseconds match the precision of the timestamp columns, which
+ * keeps the conversion lossless. Intervals must be appended in ascending start order.
+ */
+public final class PrimitiveTimeline {
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long MICROS_PER_DAY = 86_400L * MICROS_PER_SECOND;
+
+    private long[] starts;
+    private long[] ends;
+    private int size;
+
+    public PrimitiveTimeline(int expectedSize) {
+        int capacity = Math.max(expectedSize, 4);
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+    }
+
+    public static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Whole-day intervals for the given ascending dates, e.g. holidays.
+     */
+    public static PrimitiveTimeline ofDays(List<LocalDate> days) {
+        PrimitiveTimeline timeline = new PrimitiveTimeline(days.size());
+        for (LocalDate day : days) {
+            long start = day.toEpochDay() * MICROS_PER_DAY;
+            timeline.add(start, start + MICROS_PER_DAY);
+        }
+        return timeline;
+    }
+
+    public void add(long start, long end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    public void add(LocalDateTime start, LocalDateTime end) {
+        add(toMicros(start), toMicros(end));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long startAt(int index) {
+        return starts[index];
+    }
+
+    public long endAt(int index) {
+        return ends[index];
+    }
+
+    /**
+     * The parts of [rangeStart, rangeEnd) not covered by any interval. Intervals may overlap each other.
+     */
+    public PrimitiveTimeline gaps(long rangeStart, long rangeEnd) {
+        PrimitiveTimeline gaps = new PrimitiveTimeline(size + 1);
+        GapWalker walker = new GapWalker(rangeStart, rangeEnd, gaps::add);
+        for (int i = 0; i < size; i++) {
+            walker.accept(starts[i], ends[i]);
+        }
+        walker.finish();
+        return gaps;
+    }
+
+    /**
+     * Same intervals with overlapping and touching ones coalesced.
+     */
+    public PrimitiveTimeline merged() {
+        PrimitiveTimeline merged = new PrimitiveTimeline(size);
+        for (int i = 0; i < size; i++) {
+            int last = merged.size - 1;
+            if (last >= 0 && starts[i] <= merged.ends[last]) {
+                merged.ends[last] = Math.max(merged.ends[last], ends[i]);
+            } else {
+                merged.add(starts[i], ends[i]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * This timeline minus every interval of {@code other}, in a single two-pointer pass.
+     * Both timelines must be free of overlaps (gaps and {@link #merged()} results are).
+     */
+    public PrimitiveTimeline subtract(PrimitiveTimeline other) {
+        if (other.size == 0) {
+            return this;
+        }
+        PrimitiveTimeline result = new PrimitiveTimeline(size + other.size);
+        Subtraction subtraction = new Subtraction(other, result::add);
+        for (int i = 0; i < size; i++) {
+            subtraction.accept(starts[i], ends[i]);
+        }
+        return result;
+    }
+
+    /**
+     * The intervals intersected with [from, to).
+     */
+    public PrimitiveTimeline clip(long from, long to) {
+        PrimitiveTimeline clipped = new PrimitiveTimeline(size);
+        for (int i = 0; i < size; i++) {
+            long start = Math.max(starts[i], from);
+            long end = Math.min(ends[i], to);
+            if (start < end) {
+                clipped.add(start, end);
+            }
+        }
+        return clipped;
+    }
+
+    public List<BookingService.TimeSlot> toTimeSlots() {
+        List<BookingService.TimeSlot> slots = new ArrayList<>(size);
+        TimeSlotSink sink = new TimeSlotSink(slots::add);
+        for (int i = 0; i < size; i++) {
+            sink.accept(starts[i], ends[i]);
+        }
+        return slots;
+    }
+
+    /**
+     * Receives intervals as epoch-microsecond pairs.
+     */
+    @FunctionalInterface
+    public interface IntervalSink {
+        void accept(long start, long end);
+    }
+
+    /**
+     * Turns intervals into {@link BookingService.TimeSlot}s for the API. Consecutive endpoints mostly fall on the
+     * same day, so the previous endpoint's {@link LocalDate} is reused instead of being created for each one.
+     */
+    public static final class TimeSlotSink implements IntervalSink {
+        private final Consumer<BookingService.TimeSlot> sink;
+        private long epochDay = Long.MIN_VALUE;
+        private LocalDate date;
+
+        public TimeSlotSink(Consumer<BookingService.TimeSlot> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(long start, long end) {
+            sink.accept(new BookingService.TimeSlot(toDateTime(start), toDateTime(end)));
+        }
+
+        private LocalDateTime toDateTime(long micros) {
+            long day = Math.floorDiv(micros, MICROS_PER_DAY);
+            if (day != epochDay) {
+                epochDay = day;
+                date = LocalDate.ofEpochDay(day);
+            }
+            return LocalDateTime.of(date, LocalTime.ofNanoOfDay(Math.floorMod(micros, MICROS_PER_DAY) * 1_000));
+        }
+    }
+
+    /**
+     * The gap walk behind {@link #gaps} in streaming form: busy intervals are pushed in ascending start order
+     * and every gap is passed on as soon as it is final, so a caller reading a cursor holds no list at all.
+     * Call {@link #finish()} after the last interval to emit the tail of the range.
+     */
+    public static final class GapWalker implements IntervalSink {
+        private final long rangeEnd;
+        private final IntervalSink sink;
+        private long current;
+
+        public GapWalker(long rangeStart, long rangeEnd, IntervalSink sink) {
+            this.current = rangeStart;
+            this.rangeEnd = rangeEnd;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(long start, long end) {
+            if (current >= rangeEnd) {
+                return;
+            }
+            if (current < start) {
+                sink.accept(current, Math.min(start, rangeEnd));
+            }
+            if (end > current) {
+                current = end;
+            }
+        }
+
+        public void finish() {
+            if (current < rangeEnd) {
+                sink.accept(current, rangeEnd);
+                current = rangeEnd;
+            }
+        }
+    }
+
+    /**
+     * The cut behind {@link #subtract} in streaming form: intervals pushed in ascending, non-overlapping order
+     * come out with every excluded interval removed. The excluded pointer only moves forward.
+     */
+    public static final class Subtraction implements IntervalSink {
+        private final PrimitiveTimeline excluded;
+        private final IntervalSink sink;
+        private int next;
+
+        public Subtraction(PrimitiveTimeline excluded, IntervalSink sink) {
+            this.excluded = excluded;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(long start, long end) {
+            while (next < excluded.size && excluded.ends[next] <= start) {
+                next++;
+            }
+            for (int k = next; k < excluded.size && excluded.starts[k] < end; k++) {
+                if (start < excluded.starts[k]) {
+                    sink.accept(start, excluded.starts[k]);
+                }
+                if (excluded.ends[k] > start) {
+                    start = excluded.ends[k];
+                }
+            }
+            if (start < end) {
+                sink.accept(start, end);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.University.service.availability;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingRepository;
+import com.example.University.service.BookingService;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-room sorted index of active (PENDING/APPROVED) booking intervals.
+ * <p>
+ * Each room keeps a skip list ordered by start time plus the longest interval it has ever held,
+ * so an overlap query only has to scan from {@code rangeStart - maxDuration}: O(log n + k).
+ * Times are kept as epoch microseconds (see {@link PrimitiveTimeline}), so the free-slot sweep reads them
+ * without converting anything. The index is warmed once at startup and then follows
+ * {@link BookingStatusChangedEvent}s after commit.
+ */
+@Component
+@Slf4j
+public class RoomAvailabilityIndex implements SmartInitializingSingleton {
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Map<Long, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public RoomAvailabilityIndex(BookingRepository bookingRepository,
+                                 @Value("${booking.availability.index.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            log.info("Room availability index disabled, free-slot queries use the JPQL path");
+            return;
+        }
+        List<BookingIntervalProjection> intervals = bookingRepository.findAllActiveIntervals();
+        for (BookingIntervalProjection interval : intervals) {
+            put(interval.getId(), interval.getRoomId(), interval.getStartTime(), interval.getEndTime());
+        }
+        ready = true;
+        log.info("Room availability index loaded {} active bookings across {} rooms", intervals.size(), timelines.size());
+    }
+
+    /**
+     * True when free-slot queries may be answered from memory instead of the database.
+     */
+    public boolean isServing() {
+        return enabled && ready;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isActive()) {
+            put(event.getBookingId(), event.getRoomId(), event.getStartTime(), event.getEndTime());
+        } else {
+            remove(event.getBookingId(), event.getRoomId());
+        }
+    }
+
+    /**
+     * Active bookings of a room that overlap [rangeStart, rangeEnd), sorted by start time and produced lazily,
+     * for callers that usually stop after the first few intervals.
+     */
+    public Iterator<BookingService.TimeSlot> iterateBusySlots(Long roomId, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline == null) {
+            return Collections.emptyIterator();
+        }
+        return timeline.overlapping(rangeStart, rangeEnd);
+    }
+
+    /**
+     * Primitive variant of {@link #iterateBusySlots} for the free-slot sweep: the overlapping intervals are pushed
+     * into {@code sink} in start order as epoch-microsecond pairs, and no per-interval objects are created.
+     */
+    public void forEachBusy(Long roomId, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                            PrimitiveTimeline.IntervalSink sink) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline != null) {
+            timeline.forEachOverlapping(PrimitiveTimeline.toMicros(rangeStart), PrimitiveTimeline.toMicros(rangeEnd), sink);
+        }
+    }
+
+    void put(Long bookingId, Long roomId, LocalDateTime start, LocalDateTime end) {
+        timelines.computeIfAbsent(roomId, id -> new RoomTimeline()).put(new Interval(bookingId,
+                PrimitiveTimeline.toMicros(start), PrimitiveTimeline.toMicros(end)));
+    }
+
+    void remove(Long bookingId, Long roomId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        if (timeline != null) {
+            timeline.remove(bookingId);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Interval {
+        private final Long bookingId;
+        private final long start;
+        private final long end;
+    }
+
+    private static class RoomTimeline {
+
+        private static final Comparator<Interval> ORDER = Comparator
+                .comparingLong(Interval::getStart)
+                .thenComparing(Interval::getBookingId);
+
+        private final ConcurrentSkipListSet<Interval> byStart = new ConcurrentSkipListSet<>(ORDER);
+        private final Map<Long, Interval> byBookingId = new ConcurrentHashMap<>();
+        // Only ever grows, which keeps the scan window conservative after removals
+        private volatile long maxDuration = 0;
+
+        synchronized void put(Interval interval) {
+            Interval previous = byBookingId.put(interval.getBookingId(), interval);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(interval);
+            maxDuration = Math.max(maxDuration, interval.getEnd() - interval.getStart());
+        }
+
+        synchronized void remove(Long bookingId) {
+            Interval previous = byBookingId.remove(bookingId);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+
+        void forEachOverlapping(long rangeStart, long rangeEnd, PrimitiveTimeline.IntervalSink sink) {
+            Interval probe = new Interval(Long.MIN_VALUE, rangeStart - maxDuration, 0);
+            for (Interval interval : byStart.tailSet(probe, true)) {
+                if (interval.getStart() >= rangeEnd) {
+                    return;
+                }
+                if (interval.getEnd() > rangeStart) {
+                    sink.accept(interval.getStart(), interval.getEnd());
+                }
+            }
+        }
+
+        Iterator<BookingService.TimeSlot> overlapping(LocalDateTime from, LocalDateTime to) {
+            long rangeStart = PrimitiveTimeline.toMicros(from);
+            long rangeEnd = PrimitiveTimeline.toMicros(to);
+            Interval probe = new Interval(Long.MIN_VALUE, rangeStart - maxDuration, 0);
+            Iterator<Interval> candidates = byStart.tailSet(probe, true).iterator();
+            return new Iterator<>() {
+                private BookingService.TimeSlot next = advance();
+
+                private BookingService.TimeSlot advance() {
+                    while (candidates.hasNext()) {
+                        Interval interval = candidates.next();
+                        if (interval.getStart() >= rangeEnd) {
+                            return null;
+                        }
+                        if (interval.getEnd() > rangeStart) {
+                            return new BookingService.TimeSlot(PrimitiveTimeline.fromMicros(interval.getStart()),
+                                    PrimitiveTimeline.fromMicros(interval.getEnd()));
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public BookingService.TimeSlot next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    BookingService.TimeSlot current = next;
+                    next = advance();
+                    return current;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.University.service.availability;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingRepository;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Optional occupancy engine that splits every room-day into fixed quanta and keeps the occupied
+ * quanta of active bookings as a {@code long[]} bitset, so an overlap check is a few mask-and-test
+ * operations instead of a range scan on the booking table.
+ * <p>
+ * Only quantum-aligned bookings are represented exactly. A check whose window is not aligned, or that
+ * touches a day holding an unaligned booking, answers {@link Answer#UNKNOWN} and the caller must use
+ * the exact interval query.
+ */
+@Component
+@Slf4j
+public class SlotOccupancyMatrix implements SmartInitializingSingleton {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    public enum Answer {
+        FREE, OCCUPIED, UNKNOWN
+    }
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final int quantumMinutes;
+    private final int quantaPerDay;
+    private final Map<Long, RoomOccupancy> rooms = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    public SlotOccupancyMatrix(BookingRepository bookingRepository,
+                               @Value("${booking.occupancy.enabled:false}") boolean enabled,
+                               @Value("${booking.occupancy.quantum-minutes:15}") int quantumMinutes) {
+        if (quantumMinutes <= 0 || MINUTES_PER_DAY % quantumMinutes != 0) {
+            throw new IllegalArgumentException("booking.occupancy.quantum-minutes must divide a day evenly");
+        }
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.quantumMinutes = quantumMinutes;
+        this.quantaPerDay = MINUTES_PER_DAY / quantumMinutes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        List<BookingIntervalProjection> intervals = bookingRepository.findAllActiveIntervals();
+        for (BookingIntervalProjection interval : intervals) {
+            occupancy(interval.getRoomId()).add(interval.getId(), interval.getStartTime(), interval.getEndTime());
+        }
+        ready = true;
+        log.info("Slot occupancy matrix loaded {} active bookings with a {}-minute quantum",
+                intervals.size(), quantumMinutes);
+    }
+
+    public boolean isServing() {
+        return enabled && ready;
+    }
+
+    public boolean isAligned(LocalDateTime start, LocalDateTime end) {
+        return isAligned(start) && isAligned(end);
+    }
+
+    /**
+     * Checks whether [start, end) overlaps an active booking of the room, ignoring {@code excludeBookingId}
+     * (may be null). Returns {@link Answer#UNKNOWN} whenever the bitset cannot answer exactly.
+     */
+    public Answer check(Long roomId, LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+        if (!isServing() || !isAligned(start, end)) {
+            return Answer.UNKNOWN;
+        }
+        RoomOccupancy occupancy = rooms.get(roomId);
+        if (occupancy == null) {
+            return Answer.FREE;
+        }
+        return occupancy.check(start, end, excludeBookingId);
+    }
+
+    // Ahead of every other completion callback: the room admission lock is released in one, and the next request
+    // for the room must find this booking's bits already set when it gets the lock
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isActive()) {
+            occupancy(event.getRoomId()).add(event.getBookingId(), event.getStartTime(), event.getEndTime());
+        } else {
+            RoomOccupancy occupancy = rooms.get(event.getRoomId());
+            if (occupancy != null) {
+                occupancy.remove(event.getBookingId());
+            }
+        }
+    }
+
+    private RoomOccupancy occupancy(Long roomId) {
+        return rooms.computeIfAbsent(roomId, id -> new RoomOccupancy());
+    }
+
+    private boolean isAligned(LocalDateTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0
+                && (time.getHour() * 60 + time.getMinute()) % quantumMinutes == 0;
+    }
+
+    private int quantumIndex(LocalDateTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / quantumMinutes;
+    }
+
+    /**
+     * Writes the bits of [start, end) falling on {@code day} into {@code mask}; returns false when the day is untouched.
+     */
+    private boolean fillMask(long[] mask, LocalDate day, LocalDateTime start, LocalDateTime end) {
+        int from = day.equals(start.toLocalDate()) ? quantumIndex(start) : 0;
+        int to = day.equals(end.toLocalDate()) ? quantumIndex(end) : quantaPerDay;
+        if (from >= to) {
+            return false;
+        }
+        for (int bit = from; bit < to; bit++) {
+            mask[bit >>> 6] |= 1L << (bit & 63);
+        }
+        return true;
+    }
+
+    @AllArgsConstructor
+    private static class Interval {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final boolean aligned;
+    }
+
+    private static class DayBits {
+        private final long[] occupied;
+        // Quanta claimed by more than one booking, so excluding one of them still leaves them busy
+        private final long[] shared;
+        private int unalignedBookings;
+
+        DayBits(int words) {
+            this.occupied = new long[words];
+            this.shared = new long[words];
+        }
+
+        void clearBits() {
+            Arrays.fill(occupied, 0L);
+            Arrays.fill(shared, 0L);
+        }
+    }
+
+    private class RoomOccupancy {
+        private final Map<Long, DayBits> days = new HashMap<>();
+        private final Map<Long, Interval> bookings = new HashMap<>();
+
+        synchronized void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            Interval previous = bookings.get(bookingId);
+            if (previous != null) {
+                // A status change re-announces the same window; a rebuilt row may arrive with a new one
+                if (previous.start.equals(start) && previous.end.equals(end)) {
+                    return;
+                }
+                remove(bookingId);
+            }
+            Interval interval = new Interval(start, end, isAligned(start, end));
+            bookings.put(bookingId, interval);
+            mark(interval);
+        }
+
+        synchronized void remove(Long bookingId) {
+            Interval interval = bookings.remove(bookingId);
+            if (interval == null) {
+                return;
+            }
+            if (!interval.aligned) {
+                forEachDay(interval, (day, bits) -> bits.unalignedBookings--);
+                return;
+            }
+            // Bits cannot be reference counted, so rebuild the touched days from the remaining bookings
+            forEachDay(interval, (day, bits) -> {
+                bits.clearBits();
+                for (Interval other : bookings.values()) {
+                    if (other.aligned) {
+                        orInto(bits, day, other);
+                    }
+                }
+            });
+        }
+
+        synchronized Answer check(LocalDateTime start, LocalDateTime end, Long excludeBookingId) {
+            Interval excluded = excludeBookingId != null ? bookings.get(excludeBookingId) : null;
+            int words = words();
+            for (LocalDate day = start.toLocalDate(); day.atStartOfDay().isBefore(end); day = day.plusDays(1)) {
+                long[] mask = new long[words];
+                if (!fillMask(mask, day, start, end)) {
+                    continue;
+                }
+                DayBits bits = days.get(day.toEpochDay());
+                if (bits == null) {
+                    continue;
+                }
+                if (bits.unalignedBookings > 0) {
+                    return Answer.UNKNOWN;
+                }
+                long[] self = new long[words];
+                if (excluded != null && excluded.aligned) {
+                    fillMask(self, day, excluded.start, excluded.end);
+                }
+                for (int w = 0; w < words; w++) {
+                    if ((bits.occupied[w] & mask[w] & ~self[w]) != 0 || (bits.shared[w] & mask[w] & self[w]) != 0) {
+                        return Answer.OCCUPIED;
+                    }
+                }
+            }
+            return Answer.FREE;
+        }
+
+        private void mark(Interval interval) {
+            forEachDay(interval, (day, bits) -> {
+                if (interval.aligned) {
+                    orInto(bits, day, interval);
+                } else {
+                    bits.unalignedBookings++;
+                }
+            });
+        }
+
+        private void orInto(DayBits bits, LocalDate day, Interval interval) {
+            long[] mask = new long[words()];
+            if (!fillMask(mask, day, interval.start, interval.end)) {
+                return;
+            }
+            for (int w = 0; w < mask.length; w++) {
+                bits.shared[w] |= bits.occupied[w] & mask[w];
+                bits.occupied[w] |= mask[w];
+            }
+        }
+
+        private void forEachDay(Interval interval, BiConsumer<LocalDate, DayBits> action) {
+            for (LocalDate day = interval.start.toLocalDate();
+                 day.atStartOfDay().isBefore(interval.end);
+                 day = day.plusDays(1)) {
+                action.accept(day, days.computeIfAbsent(day.toEpochDay(), d -> new DayBits(words())));
+            }
+        }
+
+        private int words() {
+            return (quantaPerDay + 63) >>> 6;
+        }
+    }
+}
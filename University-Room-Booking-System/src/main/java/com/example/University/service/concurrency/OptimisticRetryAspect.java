@@ -0,0 +1,77 @@
+package com.example.University.service.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Applies {@link RetryOnConflict}: runs outside the transaction interceptor, so every attempt gets its own
+ * transaction, and backs off exponentially with jitter between attempts. A call that joins a caller's
+ * transaction is not retried here, since only the outermost transaction can be rolled back and re-run.
+ * <p>
+ * Counters {@code booking.transition.conflicts}, {@code .retries} and {@code .exhausted} are tagged with the
+ * operation, to tune the attempt budget.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class OptimisticRetryAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public OptimisticRetryAspect(MeterRegistry meterRegistry,
+                                 @Value("${booking.transitions.retry.max-attempts:3}") int maxAttempts,
+                                 @Value("${booking.transitions.retry.backoff-ms:20}") long backoffMs) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("booking.transitions.retry.max-attempts must be positive");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String operation = retryOnConflict.value().isEmpty()
+                ? joinPoint.getSignature().getName()
+                : retryOnConflict.value();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("booking.transition.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("booking.transition.exhausted", "operation", operation).increment();
+                    throw new IllegalStateException("Booking was modified concurrently, please retry", e);
+                }
+                meterRegistry.counter("booking.transition.retries", "operation", operation).increment();
+                log.debug("{} lost an optimistic-lock race (attempt {}), retrying", operation, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) throws InterruptedException {
+        if (backoffMs <= 0) {
+            return;
+        }
+        long delay = backoffMs << (attempt - 1);
+        Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay + 1));
+    }
+}
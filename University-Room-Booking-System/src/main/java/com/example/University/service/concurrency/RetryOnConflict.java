@@ -0,0 +1,18 @@
+package com.example.University.service.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional booking transition when it loses an optimistic-lock race. Each attempt starts a
+ * fresh transaction and re-reads the booking, so the state machine is validated again against the winner's
+ * changes.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+    // Tag value for the retry metrics; the method name when empty
+    String value() default "";
+}
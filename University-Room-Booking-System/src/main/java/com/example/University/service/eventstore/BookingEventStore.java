@@ -0,0 +1,169 @@
+package com.example.University.service.eventstore;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingEvent;
+import com.example.University.entity.BookingEventStream;
+import com.example.University.entity.BookingRoomSnapshot;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingEventRepository;
+import com.example.University.repository.BookingEventStreamRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingRoomSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Event-sourced booking state, on when {@code booking.event-sourcing.enabled} is set. Every created booking
+ * and status change is appended to its room's stream in the same transaction as the booking row, which then
+ * acts as a projection of the log that {@link BookingProjectionRebuilder} can regenerate.
+ * <p>
+ * Every {@code snapshot-every} events a room's state is written as a snapshot, so loading a room reads one
+ * snapshot and replays fewer than that many events however long the stream is.
+ */
+@Component
+@Slf4j
+public class BookingEventStore {
+
+    private static final int REPLAY_PAGE_SIZE = 500;
+
+    private final BookingEventRepository eventRepository;
+    private final BookingEventStreamRepository streamRepository;
+    private final BookingRoomSnapshotRepository snapshotRepository;
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final int snapshotEvery;
+    private final Counter appended;
+    private final Counter snapshots;
+
+    public BookingEventStore(BookingEventRepository eventRepository,
+                             BookingEventStreamRepository streamRepository,
+                             BookingRoomSnapshotRepository snapshotRepository,
+                             BookingRepository bookingRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${booking.event-sourcing.enabled:false}") boolean enabled,
+                             @Value("${booking.event-sourcing.snapshot-every:100}") int snapshotEvery) {
+        if (snapshotEvery <= 0) {
+            throw new IllegalArgumentException("booking.event-sourcing.snapshot-every must be positive");
+        }
+        this.eventRepository = eventRepository;
+        this.streamRepository = streamRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+        this.snapshotEvery = snapshotEvery;
+        this.appended = Counter.builder("booking.events.appended")
+                .description("Booking events appended to room streams").register(meterRegistry);
+        this.snapshots = Counter.builder("booking.events.snapshots")
+                .description("Room snapshots written").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Synchronous on purpose: the event commits or rolls back together with the booking row it describes
+    @EventListener
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        // A rebuilt row is replayed from this log, so appending it again would record the transition twice
+        if (!enabled || event.isRebuilt()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Booking events must be appended inside the booking's transaction");
+        }
+        // Already in the persistence context of the transaction that published the event
+        Booking booking = bookingRepository.findById(event.getBookingId())
+                .orElseThrow(() -> new IllegalStateException("Booking " + event.getBookingId() + " not found"));
+        append(booking, BookingEvent.EventType.of(event.getOldStatus(), event.getNewStatus()), event.getOldStatus());
+    }
+
+    /**
+     * Appends the booking's current state to its room's stream. Must run inside a transaction; the stream head
+     * stays locked until it ends.
+     */
+    BookingEvent append(Booking booking, BookingEvent.EventType type, Booking.BookingStatus oldStatus) {
+        Long roomId = booking.getRoom().getId();
+        BookingEventStream stream = streamRepository.lockByRoomId(roomId)
+                .orElseGet(() -> streamRepository.saveAndFlush(new BookingEventStream(roomId, 0L)));
+        long sequence = stream.getLastSequence() + 1;
+        stream.setLastSequence(sequence);
+
+        BookingEvent event = eventRepository.save(BookingEvent.builder()
+                .roomId(roomId)
+                .streamSequence(sequence)
+                .bookingId(booking.getId())
+                .eventType(type)
+                .userId(booking.getUser().getId())
+                .startTime(booking.getStartTime())
+                .endTime(booking.getEndTime())
+                .purpose(booking.getPurpose())
+                .oldStatus(oldStatus)
+                .newStatus(booking.getStatus())
+                .cancelledBy(booking.getCancelledBy() != null ? booking.getCancelledBy().getId() : null)
+                .cancelledAt(booking.getCancelledAt())
+                .occurredAt(LocalDateTime.now())
+                .build());
+        appended.increment();
+
+        if (sequence % snapshotEvery == 0) {
+            saveSnapshot(loadRoomState(roomId));
+        }
+        return event;
+    }
+
+    /**
+     * The room's state at the head of its stream: the latest snapshot plus the events after it.
+     */
+    public RoomState loadRoomState(Long roomId) {
+        RoomState state = snapshotRepository.findTopByRoomIdOrderByStreamSequenceDesc(roomId)
+                .map(snapshot -> RoomState.decode(snapshot.getState()))
+                .orElseGet(() -> RoomState.empty(roomId));
+        return replay(state);
+    }
+
+    /**
+     * The room's state replayed from its first event, ignoring snapshots.
+     */
+    public RoomState replayFromStart(Long roomId) {
+        return replay(RoomState.empty(roomId));
+    }
+
+    /**
+     * Stores the state as the room's snapshot and drops the older ones.
+     */
+    public void saveSnapshot(RoomState state) {
+        if (state.sequence() == 0) {
+            return;
+        }
+        snapshotRepository.deleteOlderThan(state.roomId(), state.sequence() + 1);
+        snapshotRepository.save(BookingRoomSnapshot.builder()
+                .roomId(state.roomId())
+                .streamSequence(state.sequence())
+                .bookingCount(state.bookings().size())
+                .state(state.encode())
+                .createdAt(LocalDateTime.now())
+                .build());
+        snapshots.increment();
+        log.debug("Room {} snapshot at sequence {} with {} bookings", state.roomId(), state.sequence(), state.bookings().size());
+    }
+
+    private RoomState replay(RoomState state) {
+        while (true) {
+            List<BookingEvent> page = eventRepository.findRoomEvents(state.roomId(), state.sequence(),
+                    PageRequest.of(0, REPLAY_PAGE_SIZE));
+            page.forEach(state::apply);
+            if (page.size() < REPLAY_PAGE_SIZE) {
+                return state;
+            }
+        }
+    }
+}
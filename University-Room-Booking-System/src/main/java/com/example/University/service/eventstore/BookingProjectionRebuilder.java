@@ -0,0 +1,196 @@
+package com.example.University.service.eventstore;
+
+import com.example.University.dto.BookingRowStateProjection;
+import com.example.University.dto.ProjectionRebuildResultDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingEvent;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingEventStreamRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.SlotClaimRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Regenerates the booking rows from the event log, e.g. after a schema change. Rooms are independent streams,
+ * so they are handed out to a pool of workers; each room is replayed and written back in its own transaction
+ * while its stream head is locked, which keeps live transitions on that room waiting instead of being undone.
+ */
+@Component
+@Slf4j
+public class BookingProjectionRebuilder {
+
+    private static final int MAX_PARALLELISM = 32;
+
+    private final BookingEventStore eventStore;
+    private final BookingEventStreamRepository streamRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final SlotClaimRegistry slotClaims;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookingProjectionRebuilder(BookingEventStore eventStore,
+                                      BookingEventStreamRepository streamRepository,
+                                      BookingRepository bookingRepository,
+                                      RoomRepository roomRepository,
+                                      UserRepository userRepository,
+                                      SlotClaimRegistry slotClaims,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        this.eventStore = eventStore;
+        this.streamRepository = streamRepository;
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+        this.userRepository = userRepository;
+        this.slotClaims = slotClaims;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Replays every room stream and overwrites the event-derived booking columns. With {@code fromStart} the
+     * snapshots are ignored and rewritten at the head of each stream, which is what a change to the snapshot
+     * contents needs. Rows whose status or times change get their slot claims rewritten and a rebuilt
+     * {@link BookingStatusChangedEvent}, so the in-memory availability structures follow them.
+     */
+    public ProjectionRebuildResultDto rebuild(int parallelism, boolean fromStart) {
+        long started = System.nanoTime();
+        List<Long> roomIds = streamRepository.findNonEmptyRoomIds();
+        long[] totals = forEachRoom(roomIds, parallelism, roomId -> transactionTemplate.execute(status -> {
+            streamRepository.lockByRoomId(roomId);
+            RoomState state = fromStart ? eventStore.replayFromStart(roomId) : eventStore.loadRoomState(roomId);
+            Map<Long, BookingRowStateProjection> rows = new HashMap<>();
+            bookingRepository.findRowStatesInRoom(roomId).forEach(row -> rows.put(row.getId(), row));
+            long updated = 0;
+            List<Long> rewritten = new ArrayList<>();
+            List<Long> nowActive = new ArrayList<>();
+            for (BookingState booking : state.bookings()) {
+                updated += bookingRepository.applyProjection(booking.bookingId(), booking.status(),
+                        booking.startTime(), booking.endTime(), booking.purpose(),
+                        booking.cancelledBy() != null ? userRepository.getReferenceById(booking.cancelledBy()) : null,
+                        booking.cancelledAt());
+                BookingRowStateProjection row = rows.get(booking.bookingId());
+                if (row != null && changed(row, booking)) {
+                    rewritten.add(booking.bookingId());
+                    BookingStatusChangedEvent event = new BookingStatusChangedEvent(booking.bookingId(), roomId,
+                            booking.startTime(), booking.endTime(), row.getStatus(), booking.status(), true);
+                    if (event.isActive()) {
+                        nowActive.add(booking.bookingId());
+                    }
+                    // Keeps the availability index, occupancy bits and result cache in line once this room commits
+                    eventPublisher.publishEvent(event);
+                }
+            }
+            // The claims live in the database, so they are rewritten here and commit together with the rows
+            slotClaims.releaseAll(rewritten);
+            if (slotClaims.isEnabled() && !nowActive.isEmpty()) {
+                slotClaims.claimAll(bookingRepository.findAllWithRoomByIdIn(nowActive));
+            }
+            if (fromStart) {
+                eventStore.saveSnapshot(state);
+            }
+            return new long[]{state.replayed(), updated};
+        }));
+        ProjectionRebuildResultDto result = new ProjectionRebuildResultDto(roomIds.size(), totals[0], totals[1],
+                (System.nanoTime() - started) / 1_000_000);
+        log.info("Rebuilt booking projections: {}", result);
+        return result;
+    }
+
+    /**
+     * Records a BASELINE event for every booking its room's stream has not seen, i.e. bookings that existed
+     * before event sourcing was switched on. Run once after enabling it; running it again appends nothing.
+     */
+    public ProjectionRebuildResultDto appendBaseline(int parallelism) {
+        long started = System.nanoTime();
+        List<Long> roomIds = roomRepository.findAllIds();
+        long[] totals = forEachRoom(roomIds, parallelism, roomId -> transactionTemplate.execute(status -> {
+            // Locked before reading, so a transition cannot slip in between the read and the baseline
+            streamRepository.lockByRoomId(roomId);
+            List<Booking> unrecorded = bookingRepository.findUnrecordedInRoom(roomId);
+            for (Booking booking : unrecorded) {
+                eventStore.append(booking, BookingEvent.EventType.BASELINE, null);
+            }
+            return new long[]{unrecorded.size(), 0};
+        }));
+        ProjectionRebuildResultDto result = new ProjectionRebuildResultDto(roomIds.size(), totals[0], totals[1],
+                (System.nanoTime() - started) / 1_000_000);
+        log.info("Appended booking baseline events: {}", result);
+        return result;
+    }
+
+    // Only what the availability structures and slot claims follow; purpose and cancellation details are not
+    private static boolean changed(BookingRowStateProjection row, BookingState booking) {
+        return row.getStatus() != booking.status()
+                || !row.getStartTime().equals(booking.startTime())
+                || !row.getEndTime().equals(booking.endTime());
+    }
+
+    // Workers take rooms from a shared queue, so one long stream does not hold up a fixed partition
+    private long[] forEachRoom(List<Long> roomIds, int parallelism, Function<Long, long[]> work) {
+        if (parallelism <= 0 || parallelism > MAX_PARALLELISM) {
+            throw new IllegalArgumentException("parallelism must be between 1 and " + MAX_PARALLELISM);
+        }
+        if (!eventStore.isEnabled()) {
+            throw new IllegalStateException("Event sourcing is disabled (booking.event-sourcing.enabled)");
+        }
+        Queue<Long> pending = new ConcurrentLinkedQueue<>(roomIds);
+        int workers = Math.max(1, Math.min(parallelism, roomIds.size()));
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "booking-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<long[]>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] sum = new long[2];
+                    for (Long roomId = pending.poll(); roomId != null; roomId = pending.poll()) {
+                        long[] room = work.apply(roomId);
+                        sum[0] += room[0];
+                        sum[1] += room[1];
+                    }
+                    return sum;
+                }));
+            }
+            long[] totals = new long[2];
+            for (Future<long[]> future : futures) {
+                long[] sum = future.get();
+                totals[0] += sum[0];
+                totals[1] += sum[1];
+            }
+            return totals;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Projection rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            // Rooms already written stay rebuilt; the failed one rolled back and a rerun repeats it safely
+            pending.clear();
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.University.service.eventstore;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingEvent;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * The event-derived columns of one booking row, as of the last event applied.
+ */
+public record BookingState(long bookingId,
+                           long userId,
+                           LocalDateTime startTime,
+                           LocalDateTime endTime,
+                           String purpose,
+                           Booking.BookingStatus status,
+                           Long cancelledBy,
+                           LocalDateTime cancelledAt) {
+
+    public static BookingState of(BookingEvent event) {
+        return new BookingState(event.getBookingId(), event.getUserId(), event.getStartTime(), event.getEndTime(),
+                event.getPurpose(), event.getNewStatus(), event.getCancelledBy(), event.getCancelledAt());
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(bookingId);
+        out.writeLong(userId);
+        out.writeUTF(startTime.toString());
+        out.writeUTF(endTime.toString());
+        out.writeUTF(purpose);
+        out.writeUTF(status.name());
+        out.writeBoolean(cancelledBy != null);
+        if (cancelledBy != null) {
+            out.writeLong(cancelledBy);
+        }
+        out.writeBoolean(cancelledAt != null);
+        if (cancelledAt != null) {
+            out.writeUTF(cancelledAt.toString());
+        }
+    }
+
+    static BookingState readFrom(DataInput in) throws IOException {
+        long bookingId = in.readLong();
+        long userId = in.readLong();
+        LocalDateTime startTime = LocalDateTime.parse(in.readUTF());
+        LocalDateTime endTime = LocalDateTime.parse(in.readUTF());
+        String purpose = in.readUTF();
+        Booking.BookingStatus status = Booking.BookingStatus.valueOf(in.readUTF());
+        Long cancelledBy = in.readBoolean() ? in.readLong() : null;
+        LocalDateTime cancelledAt = in.readBoolean() ? LocalDateTime.parse(in.readUTF()) : null;
+        return new BookingState(bookingId, userId, startTime, endTime, purpose, status, cancelledBy, cancelledAt);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.University.service.eventstore;
+
+import com.example.University.entity.BookingEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Every booking of one room folded from its event stream up to {@link #sequence()}. Events must be applied in
+ * stream order without gaps; a gap means the log or a snapshot is damaged and replay stops rather than guess.
+ */
+public final class RoomState {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final long roomId;
+    private final TreeMap<Long, BookingState> bookings;
+    private long sequence;
+    private int replayed;
+
+    RoomState(long roomId, long sequence, TreeMap<Long, BookingState> bookings) {
+        this.roomId = roomId;
+        this.sequence = sequence;
+        this.bookings = bookings;
+    }
+
+    static RoomState empty(long roomId) {
+        return new RoomState(roomId, 0, new TreeMap<>());
+    }
+
+    void apply(BookingEvent event) {
+        if (event.getRoomId() != roomId || event.getStreamSequence() != sequence + 1) {
+            throw new IllegalStateException("Room " + roomId + " stream expected sequence " + (sequence + 1)
+                    + " but found " + event.getStreamSequence() + " (room " + event.getRoomId() + ")");
+        }
+        // Events carry the complete resulting state, so applying one is a replace
+        bookings.put(event.getBookingId(), BookingState.of(event));
+        sequence = event.getStreamSequence();
+        replayed++;
+    }
+
+    public long roomId() {
+        return roomId;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Events applied on top of the snapshot this state was loaded from.
+     */
+    public int replayed() {
+        return replayed;
+    }
+
+    public BookingState booking(long bookingId) {
+        return bookings.get(bookingId);
+    }
+
+    public Collection<BookingState> bookings() {
+        return Collections.unmodifiableCollection(bookings.values());
+    }
+
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(roomId);
+            out.writeLong(sequence);
+            out.writeInt(bookings.size());
+            for (BookingState booking : bookings.values()) {
+                booking.writeTo(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static RoomState decode(byte[] state) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(state)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported room snapshot format");
+            }
+            long roomId = in.readLong();
+            long sequence = in.readLong();
+            int count = in.readInt();
+            TreeMap<Long, BookingState> bookings = new TreeMap<>();
+            for (int i = 0; i < count; i++) {
+                BookingState booking = BookingState.readFrom(in);
+                bookings.put(booking.bookingId(), booking);
+            }
+            return new RoomState(roomId, sequence, bookings);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt room snapshot", e);
+        }
+    }
+}
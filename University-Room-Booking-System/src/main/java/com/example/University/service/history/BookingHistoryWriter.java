@@ -0,0 +1,196 @@
+package com.example.University.service.history;
+
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.BookingHistoryOutbox;
+import com.example.University.repository.BookingHistoryOutboxRepository;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind for booking history rows through a transactional outbox. A record is inserted into
+ * {@code booking_history_outbox} in the caller's transaction, so it commits or rolls back with the transition it
+ * describes. A single background writer moves the oldest outbox rows into {@code booking_history} every flush
+ * interval (or as soon as a full batch has committed), one JDBC batch per transaction, deleting them from the
+ * outbox in the same transaction.
+ * <p>
+ * Nothing is held in memory: a failed batch stays in the outbox for the next flush, and rows left behind by a
+ * crash are moved by the first flush after restart. Shutdown drains the outbox before the datasource goes away.
+ */
+@Component
+@Slf4j
+public class BookingHistoryWriter {
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final BookingHistoryOutboxRepository outboxRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService flusher;
+    private final AtomicInteger committedSinceFlush = new AtomicInteger();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final Counter written;
+
+    public BookingHistoryWriter(BookingHistoryOutboxRepository outboxRepository,
+                                BookingHistoryRepository bookingHistoryRepository,
+                                BookingRepository bookingRepository,
+                                UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.history.write-behind.enabled:false}") boolean enabled,
+                                @Value("${booking.history.write-behind.batch-size:50}") int batchSize,
+                                @Value("${booking.history.write-behind.flush-interval-ms:200}") long flushIntervalMs) {
+        if (batchSize <= 0 || flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("booking.history.write-behind batch size and interval must be positive");
+        }
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.outboxRepository = outboxRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        // Batches are moved on the writer thread, each in a transaction of its own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Evaluated on scrape only, so the COUNT never runs on the request path
+        Gauge.builder("booking.history.write_behind.outbox.depth", outboxRepository, BookingHistoryOutboxRepository::count)
+                .description("History records committed to the outbox but not yet written").register(meterRegistry);
+        this.written = Counter.builder("booking.history.write_behind.written")
+                .description("History records moved from the outbox by the background writer").register(meterRegistry);
+
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "booking-history-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a history row in the outbox. Inside a transaction the row joins it; outside one it is written at once.
+     */
+    public void enqueue(BookingHistory history) {
+        outboxRepository.save(BookingHistoryOutbox.builder()
+                .bookingId(history.getBooking().getId())
+                .action(history.getAction())
+                .actionById(history.getActionBy().getId())
+                .actionAt(history.getActionAt())
+                .reason(history.getReason())
+                .oldStatus(history.getOldStatus())
+                .newStatus(history.getNewStatus())
+                .additionalNotes(history.getAdditionalNotes())
+                .build());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed();
+            }
+        });
+    }
+
+    /**
+     * Moves everything in the outbox into the history table, one batch per transaction.
+     */
+    public synchronized void flush() {
+        flushPending.set(false);
+        committedSinceFlush.set(0);
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveBatch());
+            written.increment(moved);
+        } while (moved == batchSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (enabled) {
+            flushQuietly();
+        }
+    }
+
+    private int moveBatch() {
+        List<BookingHistoryOutbox> batch = outboxRepository.lockOldest(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        bookingHistoryRepository.saveAll(batch.stream().map(this::toHistory).toList());
+        outboxRepository.deleteAllInBatch(batch);
+        return batch.size();
+    }
+
+    private BookingHistory toHistory(BookingHistoryOutbox row) {
+        return BookingHistory.builder()
+                .booking(bookingRepository.getReferenceById(row.getBookingId()))
+                .action(row.getAction())
+                .actionBy(userRepository.getReferenceById(row.getActionById()))
+                .actionAt(row.getActionAt())
+                .reason(row.getReason())
+                .oldStatus(row.getOldStatus())
+                .newStatus(row.getNewStatus())
+                .additionalNotes(row.getAdditionalNotes())
+                .build();
+    }
+
+    private void committed() {
+        if (committedSinceFlush.incrementAndGet() >= batchSize && flusher != null && flushPending.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush picks the rows up
+                flushPending.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Writing booking history failed, records stay in the outbox for the next flush", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BatchDecisionItemDto;
+import com.example.University.dto.BatchDecisionRequestDto;
+import com.example.University.dto.BatchDecisionResultDto;
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.Role;
+import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.exception.ResourceNotFoundException;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.BatchDecisionService;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.PrimitiveTimeline;
+import com.example.University.service.concurrency.RetryOnConflict;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Approves or rejects many PENDING bookings at once. The admin, the bookings and the active intervals of their
+ * rooms are each loaded with one query; the status updates and history rows are flushed as JDBC batches.
+ * <p>
+ * When approving, overlaps with bookings outside the batch fail the item as in
+ * {@link com.example.University.service.BookingService#approveBooking}. Overlaps inside the batch are resolved
+ * by request age: the earliest created booking is approved and the later ones stay PENDING.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchDecisionServiceImpl implements BatchDecisionService {
+
+    private static final int MAX_ITEMS = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final UserRepository userRepository;
+    private final RoomAdmissionLocks admissionLocks;
+    private final SlotClaimRegistry slotClaims;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    @RetryOnConflict("batch-decision")
+    public BatchDecisionResultDto decide(BatchDecisionRequestDto request, String adminUsername) {
+        if (request.getDecision() == null || request.getBookingIds() == null || request.getBookingIds().isEmpty()) {
+            throw new IllegalArgumentException("A decision and at least one booking id are required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getBookingIds());
+        ids.remove(null);
+        if (ids.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_ITEMS + " bookings");
+        }
+
+        User admin = userRepository.findByUsername(adminUsername)
+                .orElseThrow(() -> new ResourceNotFoundException("Admin user not found"));
+        boolean isAdmin = admin.getRoles().stream()
+                .anyMatch(role -> role.getName() == Role.RoleName.ADMIN);
+        if (!isAdmin) {
+            throw new UnauthorizedActionException("Only admins can approve or reject bookings");
+        }
+
+        boolean approve = request.getDecision() == BatchDecisionRequestDto.Decision.APPROVE;
+        Map<Long, Booking> bookings = bookingRepository.findAllWithRoomByIdIn(ids).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        Map<Long, BatchDecisionItemDto> results = new LinkedHashMap<>();
+        List<Booking> pending = new ArrayList<>();
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, new BatchDecisionItemDto(id, false, null, "Booking not found"));
+            } else if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+                results.put(id, new BatchDecisionItemDto(id, false, booking.getStatus().name(),
+                        "Can only " + (approve ? "approve" : "reject") + " PENDING bookings. Current status: " + booking.getStatus()));
+            } else {
+                results.put(id, null);
+                pending.add(booking);
+            }
+        }
+
+        // A PENDING booking already holds its slot claims in slot-claim mode, so nothing can overlap it
+        List<Booking> decided = approve && !slotClaims.isEnabled() ? admitWithoutOverlaps(pending, results) : pending;
+
+        Booking.BookingStatus newStatus = approve ? Booking.BookingStatus.APPROVED : Booking.BookingStatus.REJECTED;
+        BookingHistory.BookingHistoryAction action = approve
+                ? BookingHistory.BookingHistoryAction.APPROVED
+                : BookingHistory.BookingHistoryAction.REJECTED;
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingHistory> history = new ArrayList<>(decided.size());
+        for (Booking booking : decided) {
+            booking.setStatus(newStatus);
+            history.add(BookingHistory.builder()
+                    .booking(booking)
+                    .action(action)
+                    .actionBy(admin)
+                    .actionAt(now)
+                    .reason(request.getReason())
+                    .newStatus(newStatus)
+                    .build());
+            results.put(booking.getId(), new BatchDecisionItemDto(booking.getId(), true, newStatus.name(), null));
+        }
+        bookingRepository.saveAll(decided);
+        bookingHistoryRepository.saveAll(history);
+        if (!approve) {
+            slotClaims.releaseAll(decided.stream().map(Booking::getId).toList());
+        }
+        for (Booking booking : decided) {
+            eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, Booking.BookingStatus.PENDING));
+        }
+
+        log.info("Batch {} by {}: {} of {} bookings", request.getDecision(), adminUsername, decided.size(), ids.size());
+        return new BatchDecisionResultDto(decided.size(), ids.size() - decided.size(), new ArrayList<>(results.values()));
+    }
+
+    // Returns the bookings that can be approved, recording a failure for the others
+    private List<Booking> admitWithoutOverlaps(List<Booking> pending, Map<Long, BatchDecisionItemDto> results) {
+        if (pending.isEmpty()) {
+            return pending;
+        }
+        TreeSet<Long> roomIds = new TreeSet<>();
+        pending.forEach(booking -> roomIds.add(booking.getRoom().getId()));
+        // Stripe order, shared with bulk imports, so concurrent batches and imports cannot deadlock
+        admissionLocks.lockAllUntilCompletion(roomIds);
+
+        // Active bookings outside the batch, merged per room
+        Set<Long> batchIds = pending.stream().map(Booking::getId).collect(Collectors.toSet());
+        LocalDateTime from = pending.stream().map(Booking::getStartTime).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = pending.stream().map(Booking::getEndTime).max(Comparator.naturalOrder()).orElseThrow();
+        Map<Long, PrimitiveTimeline> outside = new HashMap<>();
+        for (BookingIntervalProjection interval : bookingRepository.findActiveIntervalsForRooms(roomIds, from, to)) {
+            if (!batchIds.contains(interval.getId())) {
+                outside.computeIfAbsent(interval.getRoomId(), id -> new PrimitiveTimeline(16))
+                        .add(interval.getStartTime(), interval.getEndTime());
+            }
+        }
+        outside.replaceAll((roomId, timeline) -> timeline.merged());
+
+        // 1. Sweep each room's batch items in start order against the outside bookings
+        List<Booking> byStart = new ArrayList<>(pending);
+        byStart.sort(Comparator.comparing((Booking b) -> b.getRoom().getId()).thenComparing(Booking::getStartTime));
+        Set<Long> blocked = new HashSet<>();
+        Long currentRoom = null;
+        PrimitiveTimeline busy = null;
+        int cursor = 0;
+        for (Booking booking : byStart) {
+            if (!booking.getRoom().getId().equals(currentRoom)) {
+                currentRoom = booking.getRoom().getId();
+                busy = outside.getOrDefault(currentRoom, new PrimitiveTimeline(0));
+                cursor = 0;
+            }
+            long start = PrimitiveTimeline.toMicros(booking.getStartTime());
+            while (cursor < busy.size() && busy.endAt(cursor) <= start) {
+                cursor++;
+            }
+            if (cursor < busy.size() && busy.startAt(cursor) < PrimitiveTimeline.toMicros(booking.getEndTime())) {
+                blocked.add(booking.getId());
+                results.put(booking.getId(), new BatchDecisionItemDto(booking.getId(), false, booking.getStatus().name(),
+                        "Cannot approve: booking now overlaps with another approved booking"));
+            }
+        }
+
+        // 2. Earliest request wins among overlapping batch items
+        List<Booking> byAge = new ArrayList<>(pending);
+        byAge.removeIf(booking -> blocked.contains(booking.getId()));
+        byAge.sort(Comparator.comparing(Booking::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Booking::getId));
+        Map<Long, TreeMap<LocalDateTime, Booking>> approvedByRoom = new HashMap<>();
+        List<Booking> admitted = new ArrayList<>(byAge.size());
+        for (Booking booking : byAge) {
+            TreeMap<LocalDateTime, Booking> approved = approvedByRoom.computeIfAbsent(booking.getRoom().getId(), id -> new TreeMap<>());
+            Booking winner = overlapping(approved, booking);
+            if (winner != null) {
+                results.put(booking.getId(), new BatchDecisionItemDto(booking.getId(), false, booking.getStatus().name(),
+                        "Overlaps with booking " + winner.getId() + ", which was requested earlier and approved in this batch"));
+                continue;
+            }
+            approved.put(booking.getStartTime(), booking);
+            admitted.add(booking);
+        }
+        return admitted;
+    }
+
+    // Approved intervals of a room never overlap, so only the neighbours around the start can collide
+    private Booking overlapping(TreeMap<LocalDateTime, Booking> approved, Booking booking) {
+        Map.Entry<LocalDateTime, Booking> before = approved.floorEntry(booking.getStartTime());
+        if (before != null && before.getValue().getEndTime().isAfter(booking.getStartTime())) {
+            return before.getValue();
+        }
+        Map.Entry<LocalDateTime, Booking> after = approved.higherEntry(booking.getStartTime());
+        if (after != null && after.getKey().isBefore(booking.getEndTime())) {
+            return after.getValue();
+        }
+        return null;
+    }
+}
@@ -5,14 +5,19 @@ import com.example.University.entity.Booking;
 import com.example.University.entity.BookingHistory;
 import com.example.University.entity.User;
 import com.example.University.entity.Booking.BookingStatus;
+import com.example.University.event.BookingStatusChangedEvent;
 import com.example.University.exception.ResourceNotFoundException;
 import com.example.University.exception.UnauthorizedActionException;
 import com.example.University.repository.BookingRepository;
 import com.example.University.repository.BookingHistoryRepository;
 import com.example.University.repository.UserRepository;
 import com.example.University.service.BookingCancellationService;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.concurrency.RetryOnConflict;
+import com.example.University.service.history.BookingHistoryWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +31,13 @@ public class BookingCancellationServiceImpl implements BookingCancellationServic
     private final BookingRepository bookingRepository;
     private final BookingHistoryRepository bookingHistoryRepository;
     private final UserRepository userRepository;
+    private final SlotClaimRegistry slotClaims;
+    private final BookingHistoryWriter historyWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
+    @RetryOnConflict("cancel")
     public BookingResponseDTO cancelBooking(Long bookingId, String userEmail) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
@@ -42,11 +51,14 @@ public class BookingCancellationServiceImpl implements BookingCancellationServic
 
         validateCancellationRules(booking);
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDateTime.now());
         booking.setCancelledBy(user);
 
         Booking cancelledBooking = bookingRepository.save(booking);
+        slotClaims.release(cancelledBooking.getId());
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(cancelledBooking, previousStatus));
 
         recordCancellationHistory(booking, user, "Booking cancelled by requester");
 
@@ -55,6 +67,7 @@ public class BookingCancellationServiceImpl implements BookingCancellationServic
 
     @Override
     @Transactional
+    @RetryOnConflict("admin-cancel")
     public BookingResponseDTO cancelBookingByAdmin(Long bookingId, String adminEmail, String reason) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with ID: " + bookingId));
@@ -66,11 +79,14 @@ public class BookingCancellationServiceImpl implements BookingCancellationServic
             throw new IllegalStateException("Booking is already cancelled");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDateTime.now());
         booking.setCancelledBy(admin);
 
         Booking cancelledBooking = bookingRepository.save(booking);
+        slotClaims.release(cancelledBooking.getId());
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(cancelledBooking, previousStatus));
 
         String historyReason = reason != null && !reason.trim().isEmpty()
                 ? "Booking cancelled by admin: " + reason
@@ -113,7 +129,11 @@ public class BookingCancellationServiceImpl implements BookingCancellationServic
         history.setReason(reason);
         history.setOldStatus(booking.getStatus());
         history.setNewStatus(BookingStatus.CANCELLED);
-        bookingHistoryRepository.save(history);
+        if (historyWriter.isEnabled()) {
+            historyWriter.enqueue(history);
+        } else {
+            bookingHistoryRepository.save(history);
+        }
     }
 
     private BookingResponseDTO mapToResponseDto(Booking booking) {
@@ -0,0 +1,183 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingHistoryArchiveProjection;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.service.BookingHistoryExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams history straight from a database cursor to the output: each row is formatted and written as it
+ * arrives and nothing else is kept, so memory stays flat however many rows the range holds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingHistoryExportServiceImpl implements BookingHistoryExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+            "id,booking_id,action,action_by_id,action_by_name,action_at,reason,old_status,new_status,additional_notes";
+
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime from, LocalDateTime to, Format format, boolean gzip, OutputStream out) throws IOException {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(objectMapper, writer);
+
+        long count = 0;
+        try (Stream<BookingHistoryArchiveProjection> history = bookingHistoryRepository.streamForExport(from, to)) {
+            rows.begin();
+            for (Iterator<BookingHistoryArchiveProjection> it = history.iterator(); it.hasNext(); count++) {
+                rows.write(it.next());
+            }
+        }
+        rows.end();
+        writer.flush();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+
+        meterRegistry.counter("booking.history.export.rows", "format", format.name().toLowerCase(Locale.ROOT))
+                .increment(count);
+        log.info("Exported {} booking history rows from {} to {} as {}", count, from, to, format);
+        return count;
+    }
+
+    private interface RowWriter {
+        void begin() throws IOException;
+
+        void write(BookingHistoryArchiveProjection row) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    // RFC 4180: fields with a comma, quote or line break are quoted, quotes doubled; null is an empty field
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(BookingHistoryArchiveProjection row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(row.getBookingId()));
+            writer.write(',');
+            field(row.getAction());
+            writer.write(',');
+            writer.write(String.valueOf(row.getActionById()));
+            writer.write(',');
+            field(row.getActionByName());
+            writer.write(',');
+            field(row.getActionAt());
+            writer.write(',');
+            field(row.getReason());
+            writer.write(',');
+            field(row.getOldStatus());
+            writer.write(',');
+            field(row.getNewStatus());
+            writer.write(',');
+            field(row.getAdditionalNotes());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void end() {
+        }
+
+        private void field(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    // One JSON object per line, written field by field with no intermediate DTO or tree
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, Writer writer) throws IOException {
+            this.writer = writer;
+            this.json = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                    .setRootValueSeparator(null);
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(BookingHistoryArchiveProjection row) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", row.getId());
+            json.writeNumberField("bookingId", row.getBookingId());
+            json.writeStringField("action", name(row.getAction()));
+            json.writeNumberField("actionById", row.getActionById());
+            json.writeStringField("actionByName", row.getActionByName());
+            json.writeStringField("actionAt", row.getActionAt() != null ? row.getActionAt().toString() : null);
+            json.writeStringField("reason", row.getReason());
+            json.writeStringField("oldStatus", name(row.getOldStatus()));
+            json.writeStringField("newStatus", name(row.getNewStatus()));
+            json.writeStringField("additionalNotes", row.getAdditionalNotes());
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void end() throws IOException {
+            json.flush();
+            writer.flush();
+        }
+
+        private static String name(Enum<?> value) {
+            return value != null ? value.name() : null;
+        }
+    }
+}
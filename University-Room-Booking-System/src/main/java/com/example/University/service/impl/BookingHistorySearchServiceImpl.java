@@ -0,0 +1,108 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingHistoryPageDto;
+import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.dto.BookingHistorySearchRequestDto;
+import com.example.University.entity.BookingHistory;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingHistorySpecifications;
+import com.example.University.service.BookingHistorySearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Seek-based history search. Each page continues strictly after the (actionAt, id) of the previous page's last
+ * row, so page 10,000 costs the same index range scan as page 1: there is no OFFSET to skip and no COUNT unless
+ * the caller asks for the total.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingHistorySearchServiceImpl implements BookingHistorySearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("actionAt"), Sort.Order.desc("id"));
+
+    private final BookingHistoryRepository bookingHistoryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingHistoryPageDto search(BookingHistorySearchRequestDto request) {
+        int size = request.getSize() != null ? request.getSize() : DEFAULT_PAGE_SIZE;
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (request.getFrom() != null && request.getTo() != null && request.getTo().isBefore(request.getFrom())) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+
+        Specification<BookingHistory> criteria = BookingHistorySpecifications.matching(request);
+        Specification<BookingHistory> page = criteria.and(BookingHistorySpecifications.fetchActionBy());
+        if (request.getCursor() != null) {
+            Cursor cursor = Cursor.decode(request.getCursor());
+            page = page.and(BookingHistorySpecifications.olderThan(cursor.actionAt(), cursor.id()));
+        }
+
+        // One row beyond the page tells whether another page follows
+        List<BookingHistory> rows = bookingHistoryRepository.findBy(page,
+                query -> query.sortBy(NEWEST_FIRST).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            BookingHistory last = rows.get(rows.size() - 1);
+            nextCursor = new Cursor(last.getActionAt(), last.getId()).encode();
+        }
+        Long totalCount = Boolean.TRUE.equals(request.getIncludeTotal())
+                ? bookingHistoryRepository.count(criteria)
+                : null;
+
+        return new BookingHistoryPageDto(rows.stream().map(this::mapToDto).toList(), nextCursor, totalCount);
+    }
+
+    private BookingHistoryResponseDTO mapToDto(BookingHistory history) {
+        return new BookingHistoryResponseDTO(
+                history.getId(),
+                history.getBooking().getId(),
+                history.getAction().name(),
+                history.getActionBy().getId(),
+                history.getActionBy().getFirstName() + " " + history.getActionBy().getLastName(),
+                history.getActionAt(),
+                history.getReason(),
+                history.getOldStatus() != null ? history.getOldStatus().name() : null,
+                history.getNewStatus() != null ? history.getNewStatus().name() : null
+        );
+    }
+
+    // Opaque to clients: URL-safe Base64 of "actionAt|id"
+    private record Cursor(LocalDateTime actionAt, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((actionAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int separator = value.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(value.substring(0, separator)),
+                        Long.parseLong(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingSeriesRequestDto;
+import com.example.University.dto.BookingSeriesResultDto;
+import com.example.University.dto.SeriesOccurrenceDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.BookingSeries;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingSeriesRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.BookingSeriesService;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.PrimitiveTimeline;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Expands a weekly or biweekly rule into its occurrences and admits them together: one holiday lookup and one
+ * booking query cover the whole span, the occurrences are checked against the merged existing bookings in a
+ * single forward pass, and the booked ones are inserted as one batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingSeriesServiceImpl implements BookingSeriesService {
+
+    private static final int MAX_OCCURRENCES = 53;
+
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final HolidayCalendar holidayCalendar;
+    private final RoomAdmissionLocks admissionLocks;
+    private final SlotClaimRegistry slotClaims;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public BookingSeriesResultDto createSeries(BookingSeriesRequestDto request, Long userId, String callerUsername) {
+        validate(request);
+        Room room = roomRepository.findById(request.getRoomId())
+                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
+        if (Boolean.FALSE.equals(room.getIsActive())) {
+            throw new IllegalArgumentException("Room is not active");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (!user.getUsername().equals(callerUsername)) {
+            throw new UnauthorizedActionException("You can only create bookings for yourself");
+        }
+        boolean hasAccess = user.getRoles().stream()
+                .anyMatch(role -> role.getName() == Role.RoleName.STUDENT
+                        || role.getName() == Role.RoleName.FACULTY);
+        if (!hasAccess) {
+            throw new IllegalArgumentException("Only students or faculty can create bookings");
+        }
+
+        // 1. Expand the rule; exceptions and holidays are flagged from one calendar lookup
+        List<SeriesOccurrenceDto> occurrences = expand(request);
+        LocalDateTime lastEnd = occurrences.get(occurrences.size() - 1).getEndTime();
+        Set<LocalDate> holidays = new HashSet<>(holidayCalendar.holidaysBetween(
+                request.getStartTime().toLocalDate(), lastEnd.toLocalDate()));
+        Set<LocalDate> exceptions = request.getExceptions() == null ? Set.of() : new HashSet<>(request.getExceptions());
+        for (SeriesOccurrenceDto occurrence : occurrences) {
+            if (exceptions.contains(occurrence.getStartTime().toLocalDate())) {
+                occurrence.setOutcome(SeriesOccurrenceDto.Outcome.EXCEPTION);
+            } else if (touchesHoliday(occurrence, holidays)) {
+                occurrence.setOutcome(SeriesOccurrenceDto.Outcome.HOLIDAY);
+            }
+        }
+
+        // 2. One query for the whole span, then a single merge of occurrences against the existing bookings
+        if (!slotClaims.isEnabled()) {
+            admissionLocks.lockUntilCompletion(room.getId());
+        }
+        PrimitiveTimeline busy = new PrimitiveTimeline(16);
+        for (BookingIntervalProjection booking : bookingRepository.findActiveIntervalsForRooms(
+                Set.of(room.getId()), claimStart(request.getStartTime()), claimEnd(lastEnd))) {
+            busy.add(claimStart(booking.getStartTime()), claimEnd(booking.getEndTime()));
+        }
+        busy = busy.merged();
+        int cursor = 0;
+        List<LocalDate> conflicts = new ArrayList<>();
+        for (SeriesOccurrenceDto occurrence : occurrences) {
+            if (occurrence.getOutcome() != null) {
+                continue;
+            }
+            long start = PrimitiveTimeline.toMicros(claimStart(occurrence.getStartTime()));
+            long end = PrimitiveTimeline.toMicros(claimEnd(occurrence.getEndTime()));
+            while (cursor < busy.size() && busy.endAt(cursor) <= start) {
+                cursor++;
+            }
+            if (cursor < busy.size() && busy.startAt(cursor) < end) {
+                occurrence.setOutcome(SeriesOccurrenceDto.Outcome.CONFLICT);
+                conflicts.add(occurrence.getStartTime().toLocalDate());
+            }
+        }
+        if (!conflicts.isEmpty() && !Boolean.TRUE.equals(request.getSkipConflicts())) {
+            throw new IllegalArgumentException("Series overlaps with existing bookings on " + conflicts);
+        }
+
+        // 3. Persist the parent and the booked occurrences in one batch
+        BookingSeries series = bookingSeriesRepository.save(BookingSeries.builder()
+                .user(user)
+                .room(room)
+                .firstStart(request.getStartTime())
+                .firstEnd(request.getEndTime())
+                .frequency(request.getFrequency())
+                .untilDate(request.getUntil())
+                .exceptions(new HashSet<>(exceptions))
+                .purpose(request.getPurpose())
+                .build());
+        List<SeriesOccurrenceDto> toBook = occurrences.stream()
+                .filter(occurrence -> occurrence.getOutcome() == null)
+                .collect(Collectors.toList());
+        List<Booking> bookings = new ArrayList<>(toBook.size());
+        for (SeriesOccurrenceDto occurrence : toBook) {
+            bookings.add(Booking.builder()
+                    .room(room)
+                    .user(user)
+                    .series(series)
+                    .startTime(occurrence.getStartTime())
+                    .endTime(occurrence.getEndTime())
+                    .purpose(request.getPurpose())
+                    .status(Booking.BookingStatus.PENDING)
+                    .build());
+        }
+        List<Booking> saved = bookingRepository.saveAll(bookings);
+        slotClaims.claimAll(saved);
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingHistory> history = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Booking booking = saved.get(i);
+            toBook.get(i).setOutcome(SeriesOccurrenceDto.Outcome.BOOKED);
+            toBook.get(i).setBookingId(booking.getId());
+            history.add(BookingHistory.builder()
+                    .booking(booking)
+                    .action(BookingHistory.BookingHistoryAction.CREATED)
+                    .actionBy(user)
+                    .actionAt(now)
+                    .newStatus(Booking.BookingStatus.PENDING)
+                    .build());
+            eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, null));
+        }
+        bookingHistoryRepository.saveAll(history);
+
+        log.info("Booking series {} for room {}: {} of {} occurrences booked",
+                series.getId(), room.getId(), saved.size(), occurrences.size());
+        return new BookingSeriesResultDto(series.getId(), saved.size(), occurrences.size() - saved.size(), occurrences);
+    }
+
+    private void validate(BookingSeriesRequestDto request) {
+        if (request.getRoomId() == null || request.getStartTime() == null || request.getEndTime() == null
+                || request.getFrequency() == null || request.getUntil() == null) {
+            throw new IllegalArgumentException("Room, start time, end time, frequency and until date are required");
+        }
+        if (request.getPurpose() == null || request.getPurpose().isBlank()) {
+            throw new IllegalArgumentException("Purpose is required");
+        }
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (request.getEndTime().isAfter(request.getStartTime().plusWeeks(request.getFrequency().getWeeks()))) {
+            throw new IllegalArgumentException("Occurrences of a series cannot overlap each other");
+        }
+        if (request.getUntil().isBefore(request.getStartTime().toLocalDate())) {
+            throw new IllegalArgumentException("Until date must not be before the first occurrence");
+        }
+    }
+
+    private List<SeriesOccurrenceDto> expand(BookingSeriesRequestDto request) {
+        int step = request.getFrequency().getWeeks();
+        long count = ChronoUnit.WEEKS.between(request.getStartTime().toLocalDate(), request.getUntil()) / step + 1;
+        if (count > MAX_OCCURRENCES) {
+            throw new IllegalArgumentException("A series cannot have more than " + MAX_OCCURRENCES + " occurrences");
+        }
+        List<SeriesOccurrenceDto> occurrences = new ArrayList<>((int) count);
+        for (int i = 0; i < count; i++) {
+            occurrences.add(new SeriesOccurrenceDto(
+                    request.getStartTime().plusWeeks((long) i * step),
+                    request.getEndTime().plusWeeks((long) i * step),
+                    null,
+                    null));
+        }
+        return occurrences;
+    }
+
+    private boolean touchesHoliday(SeriesOccurrenceDto occurrence, Set<LocalDate> holidays) {
+        for (LocalDate date = occurrence.getStartTime().toLocalDate();
+             !date.isAfter(occurrence.getEndTime().toLocalDate()); date = date.plusDays(1)) {
+            if (holidays.contains(date)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // With slot claims on, conflicts are decided on whole quanta, so the merge compares the same rounded windows
+    private LocalDateTime claimStart(LocalDateTime time) {
+        return slotClaims.isEnabled() ? slotClaims.quantumFloor(time) : time;
+    }
+
+    private LocalDateTime claimEnd(LocalDateTime time) {
+        return slotClaims.isEnabled() ? slotClaims.quantumCeil(time) : time;
+    }
+}
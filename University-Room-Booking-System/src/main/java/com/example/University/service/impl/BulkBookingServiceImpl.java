@@ -0,0 +1,237 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BulkBookingItemResultDto;
+import com.example.University.dto.BulkBookingResultDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.BulkBookingService;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.PrimitiveTimeline;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Timetable import: validates a whole list of booking requests and checks them against existing bookings and
+ * against each other in a single sorted sweep per room. The accepted rows are inserted with JDBC batching,
+ * which works because booking and history ids come from pooled sequences.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkBookingServiceImpl implements BulkBookingService {
+
+    private static final int MAX_ITEMS = 5000;
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final RoomRepository roomRepository;
+    private final UserRepository userRepository;
+    private final HolidayCalendar holidayCalendar;
+    private final RoomAdmissionLocks admissionLocks;
+    private final SlotClaimRegistry slotClaims;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public BulkBookingResultDto createBookings(List<BookingRequestDTO> requests, Long userId, String callerUsername) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one booking is required");
+        }
+        if (requests.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("A bulk request cannot contain more than " + MAX_ITEMS + " bookings");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (!user.getUsername().equals(callerUsername)) {
+            throw new UnauthorizedActionException("You can only create bookings for yourself");
+        }
+        boolean hasAccess = user.getRoles().stream()
+                .anyMatch(role -> role.getName() == Role.RoleName.STUDENT
+                        || role.getName() == Role.RoleName.FACULTY);
+        if (!hasAccess) {
+            throw new IllegalArgumentException("Only students or faculty can create bookings");
+        }
+
+        BulkBookingItemResultDto[] results = new BulkBookingItemResultDto[requests.size()];
+        Map<Long, Room> rooms = roomRepository.findAllById(requests.stream()
+                        .map(BookingRequestDTO::getRoomId)
+                        .filter(id -> id != null)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        // 1. Per-item validation; the survivors are sorted by room and start time
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String reason = validate(requests.get(i), rooms);
+            if (reason != null) {
+                results[i] = rejected(i, reason);
+            } else {
+                candidates.add(new Candidate(i, requests.get(i)));
+            }
+        }
+        candidates.sort(Comparator.comparing((Candidate c) -> c.request().getRoomId())
+                .thenComparing(c -> c.request().getStartTime())
+                .thenComparing(Candidate::index));
+
+        // 2. The rooms' stripes are taken in stripe order, so concurrent imports and batch decisions cannot
+        //    deadlock each other. They are held until commit, i.e. while up to MAX_ITEMS bookings are swept and
+        //    inserted; single bookings for these rooms wait meanwhile and fail after the lock timeout.
+        TreeSet<Long> roomIds = new TreeSet<>();
+        candidates.forEach(c -> roomIds.add(c.request().getRoomId()));
+        if (!slotClaims.isEnabled()) {
+            admissionLocks.lockAllUntilCompletion(roomIds);
+        }
+
+        // 3. One sweep per room against the merged existing bookings and the items accepted so far
+        Map<Long, PrimitiveTimeline> existing = loadExisting(candidates, roomIds);
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        Long currentRoom = null;
+        PrimitiveTimeline busy = null;
+        int cursor = 0;
+        long acceptedUntil = Long.MIN_VALUE;
+        for (Candidate candidate : candidates) {
+            BookingRequestDTO request = candidate.request();
+            if (!request.getRoomId().equals(currentRoom)) {
+                currentRoom = request.getRoomId();
+                busy = existing.getOrDefault(currentRoom, new PrimitiveTimeline(0));
+                cursor = 0;
+                acceptedUntil = Long.MIN_VALUE;
+            }
+            long start = PrimitiveTimeline.toMicros(claimStart(request.getStartTime()));
+            long end = PrimitiveTimeline.toMicros(claimEnd(request.getEndTime()));
+
+            // Merged intervals have increasing ends, so the cursor only moves forward
+            while (cursor < busy.size() && busy.endAt(cursor) <= start) {
+                cursor++;
+            }
+            if (cursor < busy.size() && busy.startAt(cursor) < end) {
+                results[candidate.index()] = rejected(candidate.index(), "Overlaps with an existing booking");
+                continue;
+            }
+            if (acceptedUntil > start) {
+                results[candidate.index()] = rejected(candidate.index(), "Overlaps with another booking in this request");
+                continue;
+            }
+            acceptedUntil = end;
+            accepted.add(Booking.builder()
+                    .room(rooms.get(request.getRoomId()))
+                    .user(user)
+                    .startTime(request.getStartTime())
+                    .endTime(request.getEndTime())
+                    .purpose(request.getPurpose())
+                    .status(Booking.BookingStatus.PENDING)
+                    .build());
+            acceptedIndexes.add(candidate.index());
+        }
+
+        // 4. Batched inserts of the accepted bookings, their claims and their history rows
+        List<Booking> saved = bookingRepository.saveAll(accepted);
+        slotClaims.claimAll(saved);
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingHistory> history = new ArrayList<>(saved.size());
+        for (Booking booking : saved) {
+            history.add(BookingHistory.builder()
+                    .booking(booking)
+                    .action(BookingHistory.BookingHistoryAction.CREATED)
+                    .actionBy(user)
+                    .actionAt(now)
+                    .newStatus(Booking.BookingStatus.PENDING)
+                    .build());
+            eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, null));
+        }
+        bookingHistoryRepository.saveAll(history);
+
+        for (int i = 0; i < saved.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = new BulkBookingItemResultDto(index, true, saved.get(i).getId(), null);
+        }
+        log.info("Bulk booking for user {}: {} accepted, {} rejected", userId, saved.size(), requests.size() - saved.size());
+        return new BulkBookingResultDto(saved.size(), requests.size() - saved.size(), List.of(results));
+    }
+
+    private String validate(BookingRequestDTO request, Map<Long, Room> rooms) {
+        if (request.getRoomId() == null || request.getStartTime() == null || request.getEndTime() == null) {
+            return "Room, start time and end time are required";
+        }
+        if (request.getPurpose() == null || request.getPurpose().isBlank()) {
+            return "Purpose is required";
+        }
+        Room room = rooms.get(request.getRoomId());
+        if (room == null) {
+            return "Room not found";
+        }
+        if (Boolean.FALSE.equals(room.getIsActive())) {
+            return "Room is not active";
+        }
+        if (!request.getEndTime().isAfter(request.getStartTime())) {
+            return "End time must be after start time";
+        }
+        if (!holidayCalendar.holidaysBetween(request.getStartTime().toLocalDate(), request.getEndTime().toLocalDate()).isEmpty()) {
+            return "Booking cannot be made on a holiday";
+        }
+        return null;
+    }
+
+    private Map<Long, PrimitiveTimeline> loadExisting(List<Candidate> candidates, TreeSet<Long> roomIds) {
+        Map<Long, PrimitiveTimeline> existing = new HashMap<>();
+        if (candidates.isEmpty()) {
+            return existing;
+        }
+        LocalDateTime from = candidates.stream().map(c -> claimStart(c.request().getStartTime()))
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime to = candidates.stream().map(c -> claimEnd(c.request().getEndTime()))
+                .max(Comparator.naturalOrder()).orElseThrow();
+        for (BookingIntervalProjection booking : bookingRepository.findActiveIntervalsForRooms(roomIds, from, to)) {
+            existing.computeIfAbsent(booking.getRoomId(), id -> new PrimitiveTimeline(16))
+                    .add(claimStart(booking.getStartTime()), claimEnd(booking.getEndTime()));
+        }
+        existing.replaceAll((roomId, timeline) -> timeline.merged());
+        return existing;
+    }
+
+    // With slot claims on, conflicts are decided on whole quanta, so the sweep compares the same rounded windows
+    private LocalDateTime claimStart(LocalDateTime time) {
+        return slotClaims.isEnabled() ? slotClaims.quantumFloor(time) : time;
+    }
+
+    private LocalDateTime claimEnd(LocalDateTime time) {
+        return slotClaims.isEnabled() ? slotClaims.quantumCeil(time) : time;
+    }
+
+    private BulkBookingItemResultDto rejected(int index, String reason) {
+        return new BulkBookingItemResultDto(index, false, null, reason);
+    }
+
+    private record Candidate(int index, BookingRequestDTO request) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BuildingAvailabilityDto;
+import com.example.University.dto.CampusAvailabilityDto;
+import com.example.University.dto.RoomAvailabilityDto;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.CampusAvailabilityService;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.PrimitiveTimeline;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Free slots of every active room on campus. Rooms and bookings are loaded once on the request thread, then the
+ * per-building gap computation is split into fork/join tasks on a dedicated pool whose size caps how many cores
+ * a single campus query can take, leaving the common pool and the request threads alone.
+ */
+@Service
+public class CampusAvailabilityServiceImpl implements CampusAvailabilityService {
+
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final HolidayCalendar holidayCalendar;
+    private final ForkJoinPool pool;
+
+    public CampusAvailabilityServiceImpl(RoomRepository roomRepository,
+                                         BookingRepository bookingRepository,
+                                         HolidayCalendar holidayCalendar,
+                                         @Value("${booking.campus.parallelism:4}") int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("booking.campus.parallelism must be positive");
+        }
+        this.roomRepository = roomRepository;
+        this.bookingRepository = bookingRepository;
+        this.holidayCalendar = holidayCalendar;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CampusAvailabilityDto getCampusAvailability(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !to.isAfter(from)) {
+            throw new IllegalArgumentException("A range with end after start is required");
+        }
+        if (Duration.between(from, to).toDays() >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Campus availability range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        // Entities stay on this thread: workers only see plain room references and primitive timelines
+        Map<Long, BuildingSlice> buildings = new LinkedHashMap<>();
+        Map<Long, PrimitiveTimeline> busy = new HashMap<>();
+        for (Room room : roomRepository.findAllActiveWithBuilding()) {
+            BuildingSlice slice = buildings.computeIfAbsent(room.getBuilding().getId(),
+                    id -> new BuildingSlice(id, room.getBuilding().getName(), new ArrayList<>()));
+            slice.rooms().add(new RoomRef(room.getId(), room.getRoomNumber(), room.getName()));
+            busy.put(room.getId(), new PrimitiveTimeline(8));
+        }
+        if (buildings.isEmpty()) {
+            return new CampusAvailabilityDto(from, to, List.of());
+        }
+
+        for (BookingIntervalProjection booking : bookingRepository.findActiveIntervalsInRange(from, to)) {
+            PrimitiveTimeline timeline = busy.get(booking.getRoomId());
+            if (timeline != null) {
+                timeline.add(booking.getStartTime(), booking.getEndTime());
+            }
+        }
+        PrimitiveTimeline holidays = PrimitiveTimeline.ofDays(
+                holidayCalendar.holidaysBetween(from.toLocalDate(), to.toLocalDate()));
+
+        List<BuildingSlice> slices = new ArrayList<>(buildings.values());
+        Window window = new Window(PrimitiveTimeline.toMicros(from), PrimitiveTimeline.toMicros(to), busy, holidays);
+        List<BuildingAvailabilityDto> result = pool.invoke(new BuildingTask(slices, 0, slices.size(), window));
+        return new CampusAvailabilityDto(from, to, result);
+    }
+
+    private record RoomRef(Long id, String roomNumber, String name) {
+    }
+
+    private record BuildingSlice(Long id, String name, List<RoomRef> rooms) {
+    }
+
+    private record Window(long from, long to, Map<Long, PrimitiveTimeline> busy, PrimitiveTimeline holidays) {
+    }
+
+    // Splits the building list in halves until a single building is left, which it computes directly
+    private static class BuildingTask extends RecursiveTask<List<BuildingAvailabilityDto>> {
+        private final List<BuildingSlice> slices;
+        private final int lo;
+        private final int hi;
+        private final Window window;
+
+        BuildingTask(List<BuildingSlice> slices, int lo, int hi, Window window) {
+            this.slices = slices;
+            this.lo = lo;
+            this.hi = hi;
+            this.window = window;
+        }
+
+        @Override
+        protected List<BuildingAvailabilityDto> compute() {
+            if (hi - lo == 1) {
+                List<BuildingAvailabilityDto> single = new ArrayList<>(1);
+                single.add(computeBuilding(slices.get(lo)));
+                return single;
+            }
+            int mid = (lo + hi) >>> 1;
+            BuildingTask left = new BuildingTask(slices, lo, mid, window);
+            BuildingTask right = new BuildingTask(slices, mid, hi, window);
+            left.fork();
+            List<BuildingAvailabilityDto> rightResult = right.compute();
+            List<BuildingAvailabilityDto> merged = left.join();
+            merged.addAll(rightResult);
+            return merged;
+        }
+
+        private BuildingAvailabilityDto computeBuilding(BuildingSlice slice) {
+            List<RoomAvailabilityDto> rooms = new ArrayList<>(slice.rooms().size());
+            for (RoomRef room : slice.rooms()) {
+                PrimitiveTimeline free = window.busy().get(room.id())
+                        .gaps(window.from(), window.to())
+                        .subtract(window.holidays());
+                rooms.add(new RoomAvailabilityDto(room.id(), room.roomNumber(), room.name(), free.toTimeSlots()));
+            }
+            return new BuildingAvailabilityDto(slice.id(), slice.name(), rooms);
+        }
+    }
+}
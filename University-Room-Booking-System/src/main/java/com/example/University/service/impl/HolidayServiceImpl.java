@@ -3,12 +3,14 @@ package com.example.University.service.impl;
 import com.example.University.dto.*;
 import com.example.University.entity.Holiday;
 import com.example.University.entity.User;
+import com.example.University.event.HolidaysChangedEvent;
 import com.example.University.exception.ResourceNotFoundException;
 import com.example.University.repository.HolidayRepository;
 import com.example.University.repository.UserRepository;
 import com.example.University.service.HolidayService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +26,7 @@ public class HolidayServiceImpl implements HolidayService {
 
     private final HolidayRepository holidayRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     @Override
@@ -46,6 +49,7 @@ public class HolidayServiceImpl implements HolidayService {
         holiday.setCreatedBy(creator);
 
         Holiday savedHoliday = holidayRepository.save(holiday);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(savedHoliday.getId()));
 
         return mapToResponseDto(savedHoliday);
     }
@@ -78,6 +82,7 @@ public class HolidayServiceImpl implements HolidayService {
         }
 
         Holiday updatedHoliday = holidayRepository.save(holiday);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(updatedHoliday.getId()));
         return mapToResponseDto(updatedHoliday);
     }
 
@@ -89,6 +94,7 @@ public class HolidayServiceImpl implements HolidayService {
 
         holiday.setIsActive(false);
         holidayRepository.save(holiday);
+        eventPublisher.publishEvent(new HolidaysChangedEvent(id));
 
     }
 
@@ -0,0 +1,211 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BookingResponseDTO;
+import com.example.University.entity.BookingIdempotencyKey;
+import com.example.University.repository.BookingIdempotencyKeyRepository;
+import com.example.University.service.BookingService;
+import com.example.University.service.IdempotentBookingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Makes booking creation safe to retry under an {@code Idempotency-Key}.
+ * <p>
+ * Recent keys sit in a bounded in-memory LRU, so a replay on this node is answered without touching the
+ * database. Every key is also stored in {@code booking_idempotency_key} in the same transaction as the booking,
+ * which keeps deduplication working across restarts and nodes: a concurrent twin blocks on the unique key until
+ * the first request commits and is then answered from the stored row.
+ */
+@Service
+@Slf4j
+public class IdempotentBookingServiceImpl implements IdempotentBookingService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final BookingService bookingService;
+    private final BookingIdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int maxEntries;
+    private final Map<UserKey, Replay> recent;
+    private final Counter memoryReplays;
+    private final Counter storedReplays;
+    private final Counter executions;
+
+    public IdempotentBookingServiceImpl(BookingService bookingService,
+                                        BookingIdempotencyKeyRepository idempotencyKeyRepository,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${booking.idempotency.cache.max-entries:10000}") int maxEntries,
+                                        @Value("${booking.idempotency.retention-hours:24}") long retentionHours) {
+        this.bookingService = bookingService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofHours(retentionHours);
+        this.maxEntries = maxEntries;
+        this.recent = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UserKey, Replay> eldest) {
+                return size() > IdempotentBookingServiceImpl.this.maxEntries;
+            }
+        };
+        this.memoryReplays = Counter.builder("booking.idempotency.requests").tag("result", "replay_memory")
+                .description("Retries answered from the in-memory key cache").register(meterRegistry);
+        this.storedReplays = Counter.builder("booking.idempotency.requests").tag("result", "replay_stored")
+                .description("Retries answered from the idempotency key table").register(meterRegistry);
+        this.executions = Counter.builder("booking.idempotency.requests").tag("result", "executed")
+                .description("Keyed requests that created a booking").register(meterRegistry);
+    }
+
+    @Override
+    public BookingResponseDTO createBooking(BookingRequestDTO request, Long userId, String callerUsername,
+                                            String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        // Before any replay, so another user's key cannot be used to read their booking back
+        bookingService.checkCaller(userId, callerUsername);
+        UserKey key = new UserKey(userId, idempotencyKey);
+        String requestHash = hash(request);
+
+        Replay replay;
+        synchronized (recent) {
+            replay = recent.get(key);
+        }
+        if (replay != null && replay.recordedAt().isAfter(LocalDateTime.now().minus(retention))) {
+            checkSameRequest(replay.requestHash(), requestHash);
+            memoryReplays.increment();
+            return replay.response();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                Optional<BookingResponseDTO> stored = replayStored(key, requestHash);
+                if (stored.isPresent()) {
+                    return stored.get();
+                }
+                BookingIdempotencyKey row = claim(userId, idempotencyKey, requestHash);
+                BookingResponseDTO response = bookingService.createBooking(request, userId);
+                row.setBookingId(response.getId());
+                remember(key, new Replay(requestHash, response, row.getCreatedAt()));
+                executions.increment();
+                return response;
+            });
+        } catch (KeyClaimedByTwin e) {
+            // The twin committed first; answer from its row
+            return transactionTemplate.execute(status -> replayStored(key, requestHash)
+                    .orElseThrow(() -> new IllegalStateException("A request with this Idempotency-Key is still in progress")));
+        }
+    }
+
+    /**
+     * Drops keys older than the retention window; clients must not retry past it.
+     */
+    @Scheduled(cron = "${booking.idempotency.purge-cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer removed = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteCreatedBefore(cutoff));
+        log.info("Purged {} idempotency keys created before {}", removed, cutoff);
+    }
+
+    // Claimed before the booking is created, so a concurrent twin waits here instead of racing it. Only a violation
+    // on this insert means the twin won; one raised while creating the booking is a real failure and propagates.
+    private BookingIdempotencyKey claim(Long userId, String idempotencyKey, String requestHash) {
+        try {
+            return idempotencyKeyRepository.saveAndFlush(BookingIdempotencyKey.builder()
+                    .userId(userId)
+                    .idempotencyKey(idempotencyKey)
+                    .requestHash(requestHash)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new KeyClaimedByTwin(e);
+        }
+    }
+
+    private Optional<BookingResponseDTO> replayStored(UserKey key, String requestHash) {
+        Optional<BookingIdempotencyKey> stored = idempotencyKeyRepository.findByUserIdAndIdempotencyKey(key.userId(), key.key())
+                .filter(row -> row.getBookingId() != null);
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        checkSameRequest(stored.get().getRequestHash(), requestHash);
+        BookingResponseDTO response = bookingService.getBooking(stored.get().getBookingId());
+        remember(key, new Replay(requestHash, response, stored.get().getCreatedAt()));
+        storedReplays.increment();
+        return Optional.of(response);
+    }
+
+    private void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different booking request");
+        }
+    }
+
+    // Only cache what actually committed
+    private void remember(UserKey key, Replay replay) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(key, replay);
+                }
+            });
+        } else {
+            put(key, replay);
+        }
+    }
+
+    private void put(UserKey key, Replay replay) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        synchronized (recent) {
+            recent.put(key, replay);
+        }
+    }
+
+    private static String hash(BookingRequestDTO request) {
+        String canonical = request.getRoomId() + "|" + request.getStartTime() + "|" + request.getEndTime()
+                + "|" + request.getPurpose();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record UserKey(Long userId, String key) {
+    }
+
+    // Unchecked, so it rolls the claiming transaction back on its way out
+    private static class KeyClaimedByTwin extends RuntimeException {
+        KeyClaimedByTwin(DataIntegrityViolationException cause) {
+            super(cause);
+        }
+    }
+
+    private record Replay(String requestHash, BookingResponseDTO response, LocalDateTime recordedAt) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.OccupancyGridDto;
+import com.example.University.dto.RoomOccupancyRowDto;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.OccupancyGridService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OccupancyGridServiceImpl implements OccupancyGridService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_GRID_DAYS = 62;
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyGridDto getBuildingGrid(Long buildingId, LocalDate from, LocalDate to, int slotMinutes) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        if (slotMinutes <= 0 || MINUTES_PER_DAY % slotMinutes != 0) {
+            throw new IllegalArgumentException("Slot length must divide a day evenly");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_GRID_DAYS) {
+            throw new IllegalArgumentException("Grid range cannot exceed " + MAX_GRID_DAYS + " days");
+        }
+
+        int slotsPerDay = MINUTES_PER_DAY / slotMinutes;
+        int totalSlots = days * slotsPerDay;
+        long slotSeconds = slotMinutes * 60L;
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+
+        List<Room> rooms = new ArrayList<>(roomRepository.findByBuildingId(buildingId));
+        rooms.sort(Comparator.comparing(Room::getId));
+
+        // Difference array per room: +1 on the first slot a booking covers, -1 on the slot after its last one
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (Room room : rooms) {
+            deltas.put(room.getId(), new int[totalSlots + 1]);
+        }
+
+        if (!rooms.isEmpty()) {
+            List<BookingIntervalProjection> bookings =
+                    bookingRepository.findActiveIntervalsInBuilding(buildingId, rangeStart, rangeEnd);
+            for (BookingIntervalProjection booking : bookings) {
+                int[] delta = deltas.get(booking.getRoomId());
+                if (delta == null) {
+                    continue;
+                }
+                long startSeconds = Math.max(0, Duration.between(rangeStart, booking.getStartTime()).getSeconds());
+                long endSeconds = Duration.between(rangeStart, booking.getEndTime()).getSeconds();
+                int first = (int) (startSeconds / slotSeconds);
+                int last = (int) Math.min(totalSlots, -Math.floorDiv(-endSeconds, slotSeconds));
+                if (first < last) {
+                    delta[first]++;
+                    delta[last]--;
+                }
+            }
+        }
+
+        List<RoomOccupancyRowDto> rows = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            rows.add(new RoomOccupancyRowDto(
+                    room.getId(),
+                    room.getRoomNumber(),
+                    room.getName(),
+                    encodeRuns(deltas.get(room.getId()), totalSlots)));
+        }
+        return new OccupancyGridDto(buildingId, from, to, slotMinutes, slotsPerDay, rows);
+    }
+
+    // Sweeps the difference array once, emitting alternating free/occupied run lengths
+    private List<Integer> encodeRuns(int[] delta, int totalSlots) {
+        List<Integer> runs = new ArrayList<>();
+        boolean occupied = false;
+        int active = 0;
+        int runLength = 0;
+        for (int slot = 0; slot < totalSlots; slot++) {
+            active += delta[slot];
+            boolean slotOccupied = active > 0;
+            if (slotOccupied != occupied) {
+                runs.add(runLength);
+                occupied = slotOccupied;
+                runLength = 0;
+            }
+            runLength++;
+        }
+        runs.add(runLength);
+        return runs;
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.University.service.impl;
 
+import com.example.University.dto.AvailableRoomDto;
 import com.example.University.dto.RoomDto;
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.dto.RoomSearchResponseDto;
 import com.example.University.entity.Building;
 import com.example.University.entity.Room;
 import com.example.University.entity.RoomFeature;
 import com.example.University.repository.BuildingRepository;
 import com.example.University.repository.FeatureRepository;
 import com.example.University.repository.RoomRepository;
+import com.example.University.repository.RoomSpecifications;
 import com.example.University.service.RoomService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
@@ -18,6 +23,10 @@ import java.util.Set;
 @Service
 @RequiredArgsConstructor
 public class RoomServiceImpl implements RoomService {
+    private static final int DEFAULT_SEARCH_PAGE_SIZE = 20;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final Sort BY_ID = Sort.by(Sort.Order.asc("id"));
+
     private final RoomRepository roomRepository;
     private final BuildingRepository buildingRepository;
     private final FeatureRepository featureRepository;
@@ -110,4 +119,33 @@ public class RoomServiceImpl implements RoomService {
         room.getFeatures().remove(feature);
         return roomRepository.save(room);
     }
+
+    @Override
+    public RoomSearchResponseDto searchAvailableRooms(RoomSearchRequestDto request) {
+        if (request.getStart() == null || request.getEnd() == null) {
+            throw new IllegalArgumentException("Search window start and end are required");
+        }
+        if (!request.getEnd().isAfter(request.getStart())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+
+        int size = request.getSize() == null ? DEFAULT_SEARCH_PAGE_SIZE
+                : Math.max(1, Math.min(request.getSize(), MAX_SEARCH_PAGE_SIZE));
+        List<Room> rooms = roomRepository.findBy(RoomSpecifications.availableFor(request),
+                query -> query.sortBy(BY_ID).limit(size).all());
+
+        List<AvailableRoomDto> results = rooms.stream()
+                .map(room -> new AvailableRoomDto(
+                        room.getId(),
+                        room.getName(),
+                        room.getRoomNumber(),
+                        room.getCapacity(),
+                        room.getFloorNumber(),
+                        room.getRoomType(),
+                        room.getBuilding() != null ? room.getBuilding().getId() : null))
+                .toList();
+
+        Long nextAfterId = results.size() == size ? results.get(results.size() - 1).getId() : null;
+        return new RoomSearchResponseDto(results, nextAfterId);
+    }
 }
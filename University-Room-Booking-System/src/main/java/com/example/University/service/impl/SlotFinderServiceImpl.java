@@ -0,0 +1,184 @@
+package com.example.University.service.impl;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.SlotOptionDto;
+import com.example.University.dto.SlotSearchRequestDto;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.BookingService;
+import com.example.University.service.SlotFinderService;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Finds the earliest free windows of a given duration across many rooms by merging their sorted
+ * booking timelines through a priority queue keyed on each room's next free instant. Every poll either
+ * emits an option, consumes a booking or skips a holiday, so the work is bounded by what is scanned
+ * before the k-th hit rather than by rooms x days.
+ * <p>
+ * Timelines are read lazily: from the availability index when it is serving, otherwise in pages of
+ * {@value #PAGE_SIZE} intervals per room, fetched only when a polled room has consumed the previous page.
+ * Holidays come from the in-memory {@link HolidayCalendar}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlotFinderServiceImpl implements SlotFinderService {
+
+    private static final int DEFAULT_LIMIT = 1;
+    private static final int MAX_LIMIT = 20;
+    private static final int PAGE_SIZE = 16;
+
+    private final RoomRepository roomRepository;
+    private final BookingRepository bookingRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final HolidayCalendar holidayCalendar;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotOptionDto> findEarliestSlots(SlotSearchRequestDto request) {
+        if (request.getBuildingId() == null) {
+            throw new IllegalArgumentException("Building ID is required");
+        }
+        if (request.getFrom() == null || request.getTo() == null || !request.getTo().isAfter(request.getFrom())) {
+            throw new IllegalArgumentException("A search window with end after start is required");
+        }
+        if (request.getDurationMinutes() == null || request.getDurationMinutes() <= 0) {
+            throw new IllegalArgumentException("Duration must be a positive number of minutes");
+        }
+        int limit = request.getLimit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(request.getLimit(), MAX_LIMIT));
+        Duration duration = Duration.ofMinutes(request.getDurationMinutes());
+        LocalDateTime from = request.getFrom();
+        LocalDateTime to = request.getTo();
+
+        List<Room> rooms = roomRepository.findByBuildingId(request.getBuildingId()).stream()
+                .filter(room -> !Boolean.FALSE.equals(room.getIsActive()))
+                .filter(room -> request.getRoomType() == null || room.getRoomType() == request.getRoomType())
+                .filter(room -> request.getMinCapacity() == null || room.getCapacity() >= request.getMinCapacity())
+                .toList();
+        if (rooms.isEmpty()) {
+            return List.of();
+        }
+
+        boolean fromIndex = availabilityIndex.isServing();
+        PriorityQueue<RoomCursor> queue = new PriorityQueue<>(Comparator
+                .comparing((RoomCursor cursor) -> cursor.freeFrom)
+                .thenComparing(cursor -> cursor.room.getId()));
+        for (Room room : rooms) {
+            queue.add(fromIndex
+                    ? new RoomCursor(room, from, to, availabilityIndex.iterateBusySlots(room.getId(), from, to), true)
+                    : new RoomCursor(room, from, to, Collections.emptyIterator(), false));
+        }
+
+        List<SlotOptionDto> options = new ArrayList<>();
+        while (!queue.isEmpty() && options.size() < limit) {
+            RoomCursor cursor = queue.poll();
+            LocalDateTime start = cursor.freeFrom;
+
+            // 1. Holidays are never bookable: jump to the next working day and re-queue
+            if (holidayCalendar.isHoliday(start.toLocalDate())) {
+                LocalDate day = start.toLocalDate();
+                while (holidayCalendar.isHoliday(day)) {
+                    day = day.plusDays(1);
+                }
+                requeue(queue, cursor, day.atStartOfDay(), duration, to);
+                continue;
+            }
+
+            // 2. Bookings that ended before the free instant no longer matter
+            BookingService.TimeSlot next = cursor.peek();
+            while (next != null && !next.getEnd().isAfter(start)) {
+                cursor.consume();
+                next = cursor.peek();
+            }
+
+            // 3. A booking covers the free instant: the room is free again once it ends
+            if (next != null && !next.getStart().isAfter(start)) {
+                cursor.consume();
+                requeue(queue, cursor, next.getEnd(), duration, to);
+                continue;
+            }
+
+            // 4. The gap runs until the next booking, the next holiday or the end of the window
+            LocalDateTime gapEnd = to;
+            if (next != null && next.getStart().isBefore(gapEnd)) {
+                gapEnd = next.getStart();
+            }
+            LocalDate nextHoliday = holidayCalendar.nextHolidayAfter(start.toLocalDate());
+            if (nextHoliday != null && nextHoliday.atStartOfDay().isBefore(gapEnd)) {
+                gapEnd = nextHoliday.atStartOfDay();
+            }
+
+            if (!start.plus(duration).isAfter(gapEnd)) {
+                Room room = cursor.room;
+                options.add(new SlotOptionDto(room.getId(), room.getRoomNumber(), room.getName(),
+                        start, start.plus(duration)));
+            } else {
+                requeue(queue, cursor, gapEnd, duration, to);
+            }
+        }
+        return options;
+    }
+
+    private void requeue(PriorityQueue<RoomCursor> queue, RoomCursor cursor, LocalDateTime freeFrom,
+                         Duration duration, LocalDateTime to) {
+        if (freeFrom.isAfter(cursor.freeFrom)) {
+            cursor.freeFrom = freeFrom;
+        }
+        if (!cursor.freeFrom.plus(duration).isAfter(to)) {
+            queue.add(cursor);
+        }
+    }
+
+    // Consumed intervals always end at or before freeFrom, so the next page starts from there
+    private class RoomCursor {
+        private final Room room;
+        private final LocalDateTime to;
+        private Iterator<BookingService.TimeSlot> page;
+        private boolean lastPage;
+        private LocalDateTime freeFrom;
+        private BookingService.TimeSlot next;
+
+        RoomCursor(Room room, LocalDateTime freeFrom, LocalDateTime to, Iterator<BookingService.TimeSlot> page,
+                   boolean lastPage) {
+            this.room = room;
+            this.freeFrom = freeFrom;
+            this.to = to;
+            this.page = page;
+            this.lastPage = lastPage;
+        }
+
+        BookingService.TimeSlot peek() {
+            if (next == null) {
+                if (!page.hasNext() && !lastPage) {
+                    List<BookingIntervalProjection> rows = bookingRepository.findActiveIntervalsInRoom(
+                            room.getId(), freeFrom, to, PageRequest.of(0, PAGE_SIZE));
+                    lastPage = rows.size() < PAGE_SIZE;
+                    page = rows.stream()
+                            .map(row -> new BookingService.TimeSlot(row.getStartTime(), row.getEndTime()))
+                            .iterator();
+                }
+                next = page.hasNext() ? page.next() : null;
+            }
+            return next;
+        }
+
+        void consume() {
+            next = null;
+        }
+    }
+}
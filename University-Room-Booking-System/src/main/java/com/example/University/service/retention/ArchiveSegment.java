@@ -0,0 +1,156 @@
+package com.example.University.service.retention;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk layout of a history archive segment:
+ * <pre>
+ * header   magic "BHAR", int version
+ * blocks   int length, gzip(int count, count x record)    one block per archived chunk
+ * footer   int blockCount, blockCount x (long offset, int length, int count, long minId, long maxId),
+ *          int bookingCount, bookingCount x (long bookingId, int n, n x int blockIndex)
+ * trailer  long footerOffset, magic "BHAF"
+ * </pre>
+ * Blocks are only ever appended; the footer is written once when the segment is sealed, so a reader can go
+ * straight to the blocks that hold a given booking.
+ */
+final class ArchiveSegment {
+
+    static final String SEALED_SUFFIX = ".seg";
+    static final String OPEN_SUFFIX = ".seg.open";
+
+    static final int HEADER_MAGIC = 0x42484152;
+    static final int FOOTER_MAGIC = 0x42484146;
+    static final int VERSION = 1;
+    static final int HEADER_LENGTH = 8;
+    static final int TRAILER_LENGTH = 12;
+
+    private ArchiveSegment() {
+    }
+
+    record BlockEntry(long offset, int length, int records, long minId, long maxId) {
+    }
+
+    record Footer(List<BlockEntry> blocks, Map<Long, List<Integer>> blocksByBooking) {
+    }
+
+    static byte[] encodeBlock(List<HistoryArchiveRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(records.size());
+            for (HistoryArchiveRecord record : records) {
+                record.writeTo(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<HistoryArchiveRecord> decodeBlock(byte[] block) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(block)))) {
+            int count = in.readInt();
+            List<HistoryArchiveRecord> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(HistoryArchiveRecord.readFrom(in));
+            }
+            return records;
+        }
+    }
+
+    static byte[] encodeFooter(Footer footer, long footerOffset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(footer.blocks().size());
+            for (BlockEntry block : footer.blocks()) {
+                out.writeLong(block.offset());
+                out.writeInt(block.length());
+                out.writeInt(block.records());
+                out.writeLong(block.minId());
+                out.writeLong(block.maxId());
+            }
+            out.writeInt(footer.blocksByBooking().size());
+            for (Map.Entry<Long, List<Integer>> entry : footer.blocksByBooking().entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (int blockIndex : entry.getValue()) {
+                    out.writeInt(blockIndex);
+                }
+            }
+            out.writeLong(footerOffset);
+            out.writeInt(FOOTER_MAGIC);
+        }
+        return bytes.toByteArray();
+    }
+
+    static Footer readFooter(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new IOException("Archive segment too short");
+        }
+        ByteBuffer trailer = readFully(channel, size - TRAILER_LENGTH, TRAILER_LENGTH);
+        long footerOffset = trailer.getLong();
+        if (trailer.getInt() != FOOTER_MAGIC || footerOffset < HEADER_LENGTH || footerOffset > size - TRAILER_LENGTH) {
+            throw new IOException("Archive segment is not sealed");
+        }
+        ByteBuffer buffer = readFully(channel, footerOffset, (int) (size - TRAILER_LENGTH - footerOffset));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+        int blockCount = in.readInt();
+        List<BlockEntry> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            blocks.add(new BlockEntry(in.readLong(), in.readInt(), in.readInt(), in.readLong(), in.readLong()));
+        }
+        int bookingCount = in.readInt();
+        Map<Long, List<Integer>> blocksByBooking = new LinkedHashMap<>(bookingCount * 2);
+        for (int i = 0; i < bookingCount; i++) {
+            long bookingId = in.readLong();
+            int n = in.readInt();
+            List<Integer> indexes = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                indexes.add(in.readInt());
+            }
+            blocksByBooking.put(bookingId, indexes);
+        }
+        return new Footer(blocks, blocksByBooking);
+    }
+
+    static List<HistoryArchiveRecord> readBlock(FileChannel channel, BlockEntry block) throws IOException {
+        // The stored offset points at the length prefix
+        return decodeBlock(readFully(channel, block.offset() + 4, block.length()).array());
+    }
+
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, 0, HEADER_LENGTH);
+        if (header.getInt() != HEADER_MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not a history archive segment");
+        }
+    }
+
+    static FileChannel openForRead(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.University.service.retention;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends archived chunks to an open segment ({@code *.seg.open}) and seals it into a {@code *.seg} with its
+ * index footer. Every block is forced to disk before {@link #append} returns, which is what allows the caller
+ * to delete the rows afterwards.
+ */
+final class ArchiveSegmentWriter {
+
+    private final Path openFile;
+    private final Path sealedFile;
+    private final FileChannel channel;
+    private final List<ArchiveSegment.BlockEntry> blocks = new ArrayList<>();
+    private final Map<Long, List<Integer>> blocksByBooking = new LinkedHashMap<>();
+    private long position = ArchiveSegment.HEADER_LENGTH;
+
+    private ArchiveSegmentWriter(Path openFile, Path sealedFile, FileChannel channel) {
+        this.openFile = openFile;
+        this.sealedFile = sealedFile;
+        this.channel = channel;
+    }
+
+    static ArchiveSegmentWriter create(Path directory, String name) throws IOException {
+        Path openFile = directory.resolve(name + ArchiveSegment.OPEN_SUFFIX);
+        FileChannel channel = FileChannel.open(openFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(ArchiveSegment.HEADER_LENGTH)
+                .putInt(ArchiveSegment.HEADER_MAGIC)
+                .putInt(ArchiveSegment.VERSION)
+                .flip();
+        writeFully(channel, header, 0);
+        return new ArchiveSegmentWriter(openFile, directory.resolve(name + ArchiveSegment.SEALED_SUFFIX), channel);
+    }
+
+    /**
+     * Seals a segment left open by a crash. Complete blocks are kept; a torn block at the tail is cut off, its
+     * rows were never deleted and will be archived again. Returns null when nothing complete was written.
+     */
+    static Path recover(Path openFile) throws IOException {
+        String fileName = openFile.getFileName().toString();
+        String name = fileName.substring(0, fileName.length() - ArchiveSegment.OPEN_SUFFIX.length());
+        FileChannel channel = FileChannel.open(openFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ArchiveSegmentWriter writer = new ArchiveSegmentWriter(openFile, openFile.resolveSibling(name + ArchiveSegment.SEALED_SUFFIX), channel);
+        long size = channel.size();
+        if (size >= ArchiveSegment.HEADER_LENGTH) {
+            try {
+                ArchiveSegment.checkHeader(channel);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            while (writer.position + 4 <= size) {
+                int length = ArchiveSegment.readFully(channel, writer.position, 4).getInt();
+                if (length <= 0 || writer.position + 4 + length > size) {
+                    break;
+                }
+                List<HistoryArchiveRecord> records;
+                try {
+                    records = ArchiveSegment.decodeBlock(ArchiveSegment.readFully(channel, writer.position + 4, length).array());
+                } catch (IOException e) {
+                    break;
+                }
+                if (records.isEmpty()) {
+                    break;
+                }
+                writer.index(length, records);
+            }
+        }
+        if (writer.blocks.isEmpty()) {
+            channel.close();
+            Files.delete(openFile);
+            return null;
+        }
+        channel.truncate(writer.position);
+        return writer.seal();
+    }
+
+    void append(List<HistoryArchiveRecord> records) throws IOException {
+        byte[] block = ArchiveSegment.encodeBlock(records);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + block.length).putInt(block.length).put(block).flip();
+        writeFully(channel, buffer, position);
+        channel.force(false);
+        index(block.length, records);
+    }
+
+    int blockCount() {
+        return blocks.size();
+    }
+
+    Path seal() throws IOException {
+        byte[] footer = ArchiveSegment.encodeFooter(new ArchiveSegment.Footer(blocks, blocksByBooking), position);
+        writeFully(channel, ByteBuffer.wrap(footer), position);
+        channel.force(true);
+        channel.close();
+        return Files.move(openFile, sealedFile, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Records a block that now sits at the current position; records arrive in id order
+    private void index(int length, List<HistoryArchiveRecord> records) {
+        int blockIndex = blocks.size();
+        blocks.add(new ArchiveSegment.BlockEntry(position, length, records.size(),
+                records.get(0).id(), records.get(records.size() - 1).id()));
+        for (HistoryArchiveRecord record : records) {
+            List<Integer> indexes = blocksByBooking.computeIfAbsent(record.bookingId(), id -> new ArrayList<>());
+            if (indexes.isEmpty() || indexes.get(indexes.size() - 1) != blockIndex) {
+                indexes.add(blockIndex);
+            }
+        }
+        position += 4 + length;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
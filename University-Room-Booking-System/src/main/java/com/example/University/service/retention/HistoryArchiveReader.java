@@ -0,0 +1,78 @@
+package com.example.University.service.retention;
+
+import com.example.University.dto.BookingHistoryResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Read-only access to archived booking history. Sealed segments never change, so their footers are cached and
+ * a lookup by booking only decompresses the blocks the footer points at.
+ */
+@Component
+@Slf4j
+public class HistoryArchiveReader {
+
+    private final Path directory;
+    private final Map<Path, ArchiveSegment.Footer> footers = new ConcurrentHashMap<>();
+
+    public HistoryArchiveReader(@Value("${booking.history.retention.archive-dir:history-archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Archived history of one booking, newest first. A chunk archived twice (a crash between writing it and
+     * deleting its rows) is reported once.
+     */
+    public List<BookingHistoryResponseDTO> findByBookingId(Long bookingId) {
+        Map<Long, HistoryArchiveRecord> records = new LinkedHashMap<>();
+        for (Path segment : sealedSegments()) {
+            try (FileChannel channel = ArchiveSegment.openForRead(segment)) {
+                ArchiveSegment.Footer footer = footers.get(segment);
+                if (footer == null) {
+                    footer = ArchiveSegment.readFooter(channel);
+                    footers.put(segment, footer);
+                }
+                for (int blockIndex : footer.blocksByBooking().getOrDefault(bookingId, List.of())) {
+                    for (HistoryArchiveRecord record : ArchiveSegment.readBlock(channel, footer.blocks().get(blockIndex))) {
+                        if (record.bookingId() == bookingId) {
+                            records.putIfAbsent(record.id(), record);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read archive segment " + segment, e);
+            }
+        }
+        return records.values().stream()
+                .sorted(Comparator.comparing(HistoryArchiveRecord::actionAt).thenComparing(HistoryArchiveRecord::id).reversed())
+                .map(HistoryArchiveRecord::toDto)
+                .toList();
+    }
+
+    private List<Path> sealedSegments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(ArchiveSegment.SEALED_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list archive directory " + directory, e);
+        }
+    }
+}
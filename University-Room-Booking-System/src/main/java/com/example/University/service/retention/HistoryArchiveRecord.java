@@ -0,0 +1,80 @@
+package com.example.University.service.retention;
+
+import com.example.University.dto.BookingHistoryArchiveProjection;
+import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * One archived booking_history row. The actor's name is stored with it, so archives stay readable after the
+ * user is gone.
+ */
+public record HistoryArchiveRecord(long id,
+                                   long bookingId,
+                                   BookingHistory.BookingHistoryAction action,
+                                   long actionById,
+                                   String actionByName,
+                                   LocalDateTime actionAt,
+                                   String reason,
+                                   Booking.BookingStatus oldStatus,
+                                   Booking.BookingStatus newStatus,
+                                   String additionalNotes) {
+
+    public static HistoryArchiveRecord of(BookingHistoryArchiveProjection row) {
+        return new HistoryArchiveRecord(row.getId(), row.getBookingId(), row.getAction(), row.getActionById(),
+                row.getActionByName(), row.getActionAt(), row.getReason(), row.getOldStatus(), row.getNewStatus(),
+                row.getAdditionalNotes());
+    }
+
+    public BookingHistoryResponseDTO toDto() {
+        return new BookingHistoryResponseDTO(id, bookingId, action.name(), actionById, actionByName, actionAt, reason,
+                oldStatus != null ? oldStatus.name() : null,
+                newStatus != null ? newStatus.name() : null);
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        out.writeLong(bookingId);
+        out.writeUTF(action.name());
+        out.writeLong(actionById);
+        writeNullable(out, actionByName);
+        out.writeUTF(actionAt.toString());
+        writeNullable(out, reason);
+        writeNullable(out, oldStatus != null ? oldStatus.name() : null);
+        writeNullable(out, newStatus != null ? newStatus.name() : null);
+        writeNullable(out, additionalNotes);
+    }
+
+    static HistoryArchiveRecord readFrom(DataInput in) throws IOException {
+        long id = in.readLong();
+        long bookingId = in.readLong();
+        BookingHistory.BookingHistoryAction action = BookingHistory.BookingHistoryAction.valueOf(in.readUTF());
+        long actionById = in.readLong();
+        String actionByName = readNullable(in);
+        LocalDateTime actionAt = LocalDateTime.parse(in.readUTF());
+        String reason = readNullable(in);
+        String oldStatus = readNullable(in);
+        String newStatus = readNullable(in);
+        String additionalNotes = readNullable(in);
+        return new HistoryArchiveRecord(id, bookingId, action, actionById, actionByName, actionAt, reason,
+                oldStatus != null ? Booking.BookingStatus.valueOf(oldStatus) : null,
+                newStatus != null ? Booking.BookingStatus.valueOf(newStatus) : null,
+                additionalNotes);
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
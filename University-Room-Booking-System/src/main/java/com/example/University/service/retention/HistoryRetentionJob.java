@@ -0,0 +1,145 @@
+package com.example.University.service.retention;
+
+import com.example.University.repository.BookingHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Moves booking history older than the retention window out of the database, one chunk at a time: read the next
+ * chunk in id order, append it to the open archive segment and force it to disk, then remove exactly those rows
+ * with one bulk DELETE by id range. Each chunk commits on its own, so locks and undo stay small however large the
+ * backlog is, and a run can stop at any point without losing rows.
+ */
+@Component
+@Slf4j
+public class HistoryRetentionJob {
+
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final int blocksPerSegment;
+    private final Counter archived;
+    private final Counter deleted;
+
+    public HistoryRetentionJob(BookingHistoryRepository bookingHistoryRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${booking.history.retention.enabled:false}") boolean enabled,
+                               @Value("${booking.history.retention.archive-dir:history-archive}") String directory,
+                               @Value("${booking.history.retention.days:730}") int retentionDays,
+                               @Value("${booking.history.retention.chunk-size:2000}") int chunkSize,
+                               @Value("${booking.history.retention.blocks-per-segment:100}") int blocksPerSegment) {
+        if (retentionDays <= 0 || chunkSize <= 0 || blocksPerSegment <= 0) {
+            throw new IllegalArgumentException("booking.history.retention days, chunk size and blocks per segment must be positive");
+        }
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directory = Paths.get(directory);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.blocksPerSegment = blocksPerSegment;
+        this.archived = Counter.builder("booking.history.retention.archived")
+                .description("History rows written to archive segments").register(meterRegistry);
+        this.deleted = Counter.builder("booking.history.retention.deleted")
+                .description("History rows deleted after archiving").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${booking.history.retention.cron:0 0 4 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            archiveOlderThan(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+        }
+    }
+
+    /**
+     * Archives and deletes every history row with actionAt before the cutoff; returns the number deleted.
+     */
+    public synchronized long archiveOlderThan(LocalDateTime cutoff) {
+        try {
+            Files.createDirectories(directory);
+            recoverOpenSegments();
+            long total = 0;
+            long afterId = 0;
+            ArchiveSegmentWriter segment = null;
+            try {
+                while (true) {
+                    long from = afterId;
+                    List<HistoryArchiveRecord> chunk = transactionTemplate.execute(status ->
+                            bookingHistoryRepository.findExpiredForArchive(cutoff, from, PageRequest.of(0, chunkSize))
+                                    .stream().map(HistoryArchiveRecord::of).toList());
+                    if (chunk == null || chunk.isEmpty()) {
+                        break;
+                    }
+                    long firstId = chunk.get(0).id();
+                    long lastId = chunk.get(chunk.size() - 1).id();
+                    if (segment == null) {
+                        segment = ArchiveSegmentWriter.create(directory, segmentName(cutoff, firstId));
+                    }
+                    segment.append(chunk);
+                    archived.increment(chunk.size());
+
+                    Integer removed = transactionTemplate.execute(status ->
+                            bookingHistoryRepository.deleteExpiredInIdRange(firstId, lastId, cutoff));
+                    deleted.increment(removed);
+                    total += removed;
+                    afterId = lastId;
+
+                    if (segment.blockCount() >= blocksPerSegment) {
+                        segment.seal();
+                        segment = null;
+                    }
+                }
+            } finally {
+                if (segment != null) {
+                    segment.seal();
+                }
+            }
+            log.info("Archived and deleted {} booking history rows older than {}", total, cutoff);
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException("History archiving stopped, remaining rows stay in the database", e);
+        }
+    }
+
+    private void recoverOpenSegments() throws IOException {
+        List<Path> open;
+        try (Stream<Path> files = Files.list(directory)) {
+            open = files.filter(file -> file.getFileName().toString().endsWith(ArchiveSegment.OPEN_SUFFIX)).toList();
+        }
+        for (Path file : open) {
+            Path sealed = ArchiveSegmentWriter.recover(file);
+            log.warn("Recovered interrupted archive segment {} as {}", file, sealed);
+        }
+    }
+
+    // Sorts by cutoff, then by first id; a chunk archived again after a failed delete gets a numbered name
+    private String segmentName(LocalDateTime cutoff, long firstId) {
+        String base = String.format("history-%s-%019d", cutoff.toLocalDate(), firstId);
+        String name = base;
+        for (int n = 1; Files.exists(directory.resolve(name + ArchiveSegment.SEALED_SUFFIX)); n++) {
+            name = base + "-" + n;
+        }
+        return name;
+    }
+}
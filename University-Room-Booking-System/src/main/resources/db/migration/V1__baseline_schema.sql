@@ -0,0 +1,188 @@
+-- Baseline: the schema as of the switch from Hibernate DDL generation to Flyway, written by hand to run unchanged
+-- on H2 and PostgreSQL. From here on the migrations are the only definition of the schema: ddl-auto is none, so
+-- tables, keys and indexes are declared here and never through entity mapping annotations.
+
+CREATE SEQUENCE booking_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE booking_history_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE booking_slot_claim_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT uk_departments_name UNIQUE (name),
+    CONSTRAINT uk_departments_code UNIQUE (code)
+);
+
+CREATE TABLE roles (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(32) NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT uk_roles_name UNIQUE (name)
+);
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    password      VARCHAR(255) NOT NULL,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    student_id    VARCHAR(255),
+    employee_id   VARCHAR(255),
+    is_active     BOOLEAN,
+    department_id BIGINT,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT fk_users_department FOREIGN KEY (department_id) REFERENCES departments (id)
+);
+
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE buildings (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    code          VARCHAR(255) NOT NULL,
+    address       VARCHAR(255),
+    total_floors  INTEGER,
+    department_id BIGINT,
+    CONSTRAINT uk_buildings_name UNIQUE (name),
+    CONSTRAINT uk_buildings_code UNIQUE (code),
+    CONSTRAINT fk_buildings_department FOREIGN KEY (department_id) REFERENCES departments (id)
+);
+
+CREATE TABLE features (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT uk_features_name UNIQUE (name)
+);
+
+CREATE TABLE rooms (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    room_number  VARCHAR(255) NOT NULL,
+    capacity     INTEGER NOT NULL,
+    floor_number INTEGER,
+    room_type    VARCHAR(32) NOT NULL,
+    is_active    BOOLEAN,
+    description  VARCHAR(255),
+    building_id  BIGINT NOT NULL,
+    CONSTRAINT fk_rooms_building FOREIGN KEY (building_id) REFERENCES buildings (id)
+);
+
+CREATE TABLE room_features (
+    room_id    BIGINT NOT NULL,
+    feature_id BIGINT NOT NULL,
+    PRIMARY KEY (room_id, feature_id),
+    CONSTRAINT fk_room_features_room FOREIGN KEY (room_id) REFERENCES rooms (id),
+    CONSTRAINT fk_room_features_feature FOREIGN KEY (feature_id) REFERENCES features (id)
+);
+
+CREATE TABLE holidays (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    date         DATE NOT NULL,
+    description  VARCHAR(255),
+    is_recurring BOOLEAN NOT NULL,
+    is_active    BOOLEAN NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    created_by   BIGINT NOT NULL,
+    CONSTRAINT uk_holidays_date UNIQUE (date),
+    CONSTRAINT fk_holidays_created_by FOREIGN KEY (created_by) REFERENCES users (id)
+);
+
+CREATE TABLE booking_series (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT NOT NULL,
+    room_id     BIGINT NOT NULL,
+    first_start TIMESTAMP(6) NOT NULL,
+    first_end   TIMESTAMP(6) NOT NULL,
+    frequency   VARCHAR(32) NOT NULL,
+    until_date  DATE NOT NULL,
+    purpose     VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    CONSTRAINT fk_booking_series_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_booking_series_room FOREIGN KEY (room_id) REFERENCES rooms (id)
+);
+
+CREATE TABLE booking_series_exception (
+    series_id      BIGINT NOT NULL,
+    exception_date DATE NOT NULL,
+    PRIMARY KEY (series_id, exception_date),
+    CONSTRAINT fk_series_exception_series FOREIGN KEY (series_id) REFERENCES booking_series (id)
+);
+
+CREATE TABLE booking (
+    id                  BIGINT PRIMARY KEY,
+    user_id             BIGINT NOT NULL,
+    room_id             BIGINT NOT NULL,
+    start_time          TIMESTAMP(6) NOT NULL,
+    end_time            TIMESTAMP(6) NOT NULL,
+    purpose             VARCHAR(255) NOT NULL,
+    series_id           BIGINT,
+    status              VARCHAR(32) NOT NULL,
+    rejection_reason    VARCHAR(255),
+    approved_by         BIGINT,
+    approved_at         TIMESTAMP(6),
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    cancelled_at        TIMESTAMP(6),
+    cancelled_by        BIGINT,
+    cancellation_reason VARCHAR(255),
+    is_deleted          BOOLEAN NOT NULL,
+    version             BIGINT NOT NULL,
+    CONSTRAINT fk_booking_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_booking_room FOREIGN KEY (room_id) REFERENCES rooms (id),
+    CONSTRAINT fk_booking_series FOREIGN KEY (series_id) REFERENCES booking_series (id),
+    CONSTRAINT fk_booking_cancelled_by FOREIGN KEY (cancelled_by) REFERENCES users (id)
+);
+
+CREATE TABLE booking_history (
+    id               BIGINT PRIMARY KEY,
+    booking_id       BIGINT NOT NULL,
+    action           VARCHAR(32) NOT NULL,
+    action_by        BIGINT NOT NULL,
+    action_at        TIMESTAMP(6) NOT NULL,
+    reason           VARCHAR(255),
+    old_status       VARCHAR(32),
+    new_status       VARCHAR(32),
+    additional_notes VARCHAR(255),
+    CONSTRAINT fk_booking_history_booking FOREIGN KEY (booking_id) REFERENCES booking (id),
+    CONSTRAINT fk_booking_history_action_by FOREIGN KEY (action_by) REFERENCES users (id)
+);
+
+CREATE INDEX idx_booking_history_action_at_id ON booking_history (action_at, id);
+CREATE INDEX idx_booking_history_booking_action_at ON booking_history (booking_id, action_at);
+
+CREATE TABLE booking_slot_claim (
+    id         BIGINT PRIMARY KEY,
+    room_id    BIGINT NOT NULL,
+    slot_start TIMESTAMP(6) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    CONSTRAINT uk_slot_claim_room_slot UNIQUE (room_id, slot_start)
+);
+
+CREATE INDEX idx_slot_claim_booking ON booking_slot_claim (booking_id);
+
+CREATE TABLE booking_idempotency_key (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT NOT NULL,
+    idempotency_key VARCHAR(100) NOT NULL,
+    request_hash    VARCHAR(64) NOT NULL,
+    booking_id      BIGINT,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_idempotency_user_key UNIQUE (user_id, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_created_at ON booking_idempotency_key (created_at);
@@ -0,0 +1,21 @@
+-- Indexes for the repository queries on the booking and history hot paths.
+-- Each one is checked with EXPLAIN by RepositoryIndexUsageTest; add the query there when adding an index here.
+
+-- Room overlap checks and availability: room_id = ? AND status IN (...) AND start_time < ? AND end_time > ?
+CREATE INDEX idx_booking_room_status_time ON booking (room_id, status, start_time, end_time);
+
+-- findCancellableBookingsByUser: user_id = ? AND start_time > ? ORDER BY start_time
+CREATE INDEX idx_booking_user_start ON booking (user_id, start_time);
+
+-- Campus-wide interval reads that have no room to lead with
+CREATE INDEX idx_booking_start_end ON booking (start_time, end_time);
+
+CREATE INDEX idx_booking_series ON booking (series_id);
+
+-- Audit lookups by actor and by action, newest first
+CREATE INDEX idx_booking_history_action_by_action_at ON booking_history (action_by, action_at);
+CREATE INDEX idx_booking_history_action_action_at ON booking_history (action, action_at);
+
+-- Building-scoped availability joins rooms on building_id; PostgreSQL does not index foreign keys by itself
+CREATE INDEX idx_rooms_building ON rooms (building_id);
+CREATE INDEX idx_rooms_room_number ON rooms (room_number);
@@ -0,0 +1,40 @@
+-- Event-sourced booking state (booking.event-sourcing.enabled): an append-only event log ordered per room,
+-- the per-room stream head that serializes appends, and periodic snapshots of each room's state.
+
+CREATE TABLE booking_event_stream (
+    room_id       BIGINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+-- Existing rooms get their stream row up front; rooms added later get one on their first event
+INSERT INTO booking_event_stream (room_id, last_sequence) SELECT id, 0 FROM rooms;
+
+CREATE TABLE booking_event (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id         BIGINT NOT NULL,
+    stream_sequence BIGINT NOT NULL,
+    booking_id      BIGINT NOT NULL,
+    event_type      VARCHAR(32) NOT NULL,
+    user_id         BIGINT NOT NULL,
+    start_time      TIMESTAMP(6) NOT NULL,
+    end_time        TIMESTAMP(6) NOT NULL,
+    purpose         VARCHAR(255) NOT NULL,
+    old_status      VARCHAR(32),
+    new_status      VARCHAR(32) NOT NULL,
+    cancelled_by    BIGINT,
+    cancelled_at    TIMESTAMP(6),
+    occurred_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_booking_event_room_sequence UNIQUE (room_id, stream_sequence)
+);
+
+CREATE INDEX idx_booking_event_booking ON booking_event (booking_id);
+
+CREATE TABLE booking_room_snapshot (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    room_id         BIGINT NOT NULL,
+    stream_sequence BIGINT NOT NULL,
+    booking_count   INTEGER NOT NULL,
+    state           BYTEA NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_room_snapshot_room_sequence UNIQUE (room_id, stream_sequence)
+);
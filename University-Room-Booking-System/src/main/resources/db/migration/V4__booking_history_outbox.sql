@@ -0,0 +1,17 @@
+-- Transactional outbox for booking history (booking.history.write-behind.enabled): a transition appends its
+-- history record here in the request transaction, and a background writer moves committed rows into
+-- booking_history in batches. No foreign keys or secondary indexes, so the append stays a single cheap insert.
+
+CREATE SEQUENCE booking_history_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE booking_history_outbox (
+    id               BIGINT PRIMARY KEY,
+    booking_id       BIGINT NOT NULL,
+    action           VARCHAR(32) NOT NULL,
+    action_by        BIGINT NOT NULL,
+    action_at        TIMESTAMP(6) NOT NULL,
+    reason           VARCHAR(255),
+    old_status       VARCHAR(32),
+    new_status       VARCHAR(32),
+    additional_notes VARCHAR(255)
+);
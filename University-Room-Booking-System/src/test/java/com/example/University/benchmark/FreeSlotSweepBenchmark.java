@@ -0,0 +1,172 @@
+package com.example.University.benchmark;
+
+import com.example.University.entity.Booking;
+import com.example.University.service.BookingService;
+import com.example.University.service.availability.PrimitiveTimeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the previous {@code LocalDateTime} free-slot sweep of {@code BookingService.getFreeSlots} with the
+ * {@link PrimitiveTimeline} one, from loaded bookings to the {@code TimeSlot} list returned by the API.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.University.benchmark.FreeSlotSweepBenchmark}; the GC profiler reports
+ * {@code gc.alloc.rate.norm} (bytes allocated per operation) next to the average time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FreeSlotSweepBenchmark {
+
+    /** Bookings per room-day; a semester window is 120 days. */
+    @Param({"2", "8"})
+    private int bookingsPerDay;
+
+    private final LocalDateTime rangeStart = LocalDateTime.of(2030, 2, 1, 0, 0);
+    private final LocalDateTime rangeEnd = rangeStart.plusDays(120);
+    private List<Booking> bookings;
+    private List<LocalDate> holidays;
+
+    @Setup
+    public void setUp() {
+        bookings = new ArrayList<>();
+        for (int day = 0; day < 120; day++) {
+            for (int slot = 0; slot < bookingsPerDay; slot++) {
+                LocalDateTime start = rangeStart.plusDays(day).plusHours(8).plusMinutes(75L * slot);
+                bookings.add(Booking.builder().startTime(start).endTime(start.plusMinutes(60)).build());
+            }
+        }
+        holidays = new ArrayList<>();
+        for (int day = 10; day < 120; day += 12) {
+            holidays.add(rangeStart.toLocalDate().plusDays(day));
+        }
+    }
+
+    /** getFreeSlots as it was before the primitive timeline, walkFreeSlots and HolidaySplitter included. */
+    @Benchmark
+    public List<BookingService.TimeSlot> legacyObjectSweep() {
+        List<BookingService.TimeSlot> busySlots = bookings.stream()
+                .map(booking -> new BookingService.TimeSlot(booking.getStartTime(), booking.getEndTime()))
+                .collect(Collectors.toList());
+        List<BookingService.TimeSlot> freeSlots = new ArrayList<BookingService.TimeSlot>();
+        Consumer<BookingService.TimeSlot> emit = holidays.isEmpty() ? freeSlots::add : new LegacyHolidaySplitter(holidays, freeSlots::add);
+
+        LocalDateTime current = rangeStart;
+        Iterator<BookingService.TimeSlot> iterator = busySlots.iterator();
+        while (iterator.hasNext()) {
+            BookingService.TimeSlot busy = iterator.next();
+            if (current.isBefore(busy.getStart())) {
+                emit.accept(new BookingService.TimeSlot(current, busy.getStart()));
+            }
+            current = busy.getEnd().isAfter(current) ? busy.getEnd() : current;
+        }
+        if (current.isBefore(rangeEnd)) {
+            emit.accept(new BookingService.TimeSlot(current, rangeEnd));
+        }
+        return freeSlots;
+    }
+
+    /** getFreeSlots as it is now: one streaming pass from the loaded bookings to the {@code TimeSlot} list. */
+    @Benchmark
+    public List<BookingService.TimeSlot> primitiveSweep() {
+        List<BookingService.TimeSlot> freeSlots = new ArrayList<>();
+        PrimitiveTimeline.IntervalSink emit = new PrimitiveTimeline.TimeSlotSink(freeSlots::add);
+        if (!holidays.isEmpty()) {
+            emit = new PrimitiveTimeline.Subtraction(PrimitiveTimeline.ofDays(holidays), emit);
+        }
+        PrimitiveTimeline.GapWalker walker = new PrimitiveTimeline.GapWalker(
+                PrimitiveTimeline.toMicros(rangeStart), PrimitiveTimeline.toMicros(rangeEnd), emit);
+        for (Booking booking : bookings) {
+            walker.accept(PrimitiveTimeline.toMicros(booking.getStartTime()), PrimitiveTimeline.toMicros(booking.getEndTime()));
+        }
+        walker.finish();
+        return freeSlots;
+    }
+
+    /** The sweep alone, without materialising the API objects. */
+    @Benchmark
+    public PrimitiveTimeline primitiveSweepOnly() {
+        return primitiveFreeSlots();
+    }
+
+    private PrimitiveTimeline primitiveFreeSlots() {
+        PrimitiveTimeline busy = new PrimitiveTimeline(bookings.size());
+        for (Booking booking : bookings) {
+            busy.add(booking.getStartTime(), booking.getEndTime());
+        }
+        return busy.gaps(PrimitiveTimeline.toMicros(rangeStart), PrimitiveTimeline.toMicros(rangeEnd))
+                .subtract(PrimitiveTimeline.ofDays(holidays));
+    }
+
+    // Copy of the removed BookingService.HolidaySplitter: slots and holidays both sorted, forward-only pointer
+    private static class LegacyHolidaySplitter implements Consumer<BookingService.TimeSlot> {
+        private final List<LocalDate> holidays;
+        private final Consumer<BookingService.TimeSlot> sink;
+        private int next = 0;
+
+        LegacyHolidaySplitter(List<LocalDate> holidays, Consumer<BookingService.TimeSlot> sink) {
+            this.holidays = holidays;
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(BookingService.TimeSlot slot) {
+            while (next < holidays.size()
+                    && !holidays.get(next).plusDays(1).atStartOfDay().isAfter(slot.getStart())) {
+                next++;
+            }
+            LocalDateTime start = slot.getStart();
+            for (int i = next; i < holidays.size(); i++) {
+                LocalDateTime holidayStart = holidays.get(i).atStartOfDay();
+                if (!holidayStart.isBefore(slot.getEnd())) {
+                    break;
+                }
+                if (start.isBefore(holidayStart)) {
+                    sink.accept(new BookingService.TimeSlot(start, holidayStart));
+                }
+                LocalDateTime holidayEnd = holidays.get(i).plusDays(1).atStartOfDay();
+                if (holidayEnd.isAfter(start)) {
+                    start = holidayEnd;
+                }
+            }
+            if (start.isBefore(slot.getEnd())) {
+                sink.accept(new BookingService.TimeSlot(start, slot.getEnd()));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FreeSlotSweepBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
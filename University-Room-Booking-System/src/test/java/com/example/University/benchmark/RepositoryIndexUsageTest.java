@@ -0,0 +1,196 @@
+package com.example.University.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Applies the Flyway migrations to a fresh database, seeds a semester of bookings with their history, and checks
+ * with EXPLAIN that each hot repository query reaches booking, booking_history and the other hot tables through
+ * an index. Runs twice: on plain H2, and on H2 in PostgreSQL mode as the stand-in for PostgreSQL, which cannot
+ * be embedded here. The seed is deterministic, so the plans are the same on every run.
+ * <p>
+ * Each SQL string mirrors what Hibernate generates for the named repository method. Full reads by design are
+ * left out: {@code findAllActiveIntervals} (index warm-up) and {@code findRecentHistory} (unfiltered top N).
+ */
+class RepositoryIndexUsageTest {
+
+    private static final int BUILDINGS = 20;
+    private static final int ROOMS = 400;
+    private static final int USERS = 2_000;
+    private static final int BOOKINGS = 40_000;
+    private static final int SLOT_CLAIMS = 5_000;
+    private static final int IDEMPOTENCY_KEYS = 2_000;
+    private static final LocalDateTime SEMESTER_START = LocalDateTime.of(2030, 2, 1, 8, 0);
+
+    private static final String[] HOT_TABLES = {
+            "booking", "booking_history", "rooms", "booking_slot_claim", "booking_idempotency_key"};
+
+    private static final String WINDOW_START = "TIMESTAMP '2030-03-04 08:00:00'";
+    private static final String WINDOW_END = "TIMESTAMP '2030-03-04 18:00:00'";
+    private static final String OVERLAP = "b.status IN ('APPROVED', 'PENDING') AND b.start_time < " + WINDOW_END
+            + " AND b.end_time > " + WINDOW_START;
+    private static final String INTERVAL = "SELECT b.id, b.room_id, b.start_time, b.end_time FROM booking b ";
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("BookingRepository.existsActiveOverlap",
+                "SELECT COUNT(b.id) FROM booking b WHERE b.room_id = 17 AND " + OVERLAP);
+        QUERIES.put("BookingRepository.findActiveOverlaps/findActiveBookingsInRange",
+                "SELECT b.* FROM booking b WHERE b.room_id = 17 AND " + OVERLAP + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.streamActiveIntervalsInRange",
+                INTERVAL + "WHERE b.room_id = 17 AND " + OVERLAP + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.findActiveIntervalsInRoom",
+                INTERVAL + "WHERE b.room_id = 17 AND " + OVERLAP + " ORDER BY b.start_time, b.id FETCH FIRST 16 ROWS ONLY");
+        QUERIES.put("BookingRepository.findCancellableBookingsByUser",
+                "SELECT b.* FROM booking b WHERE b.user_id = 42 AND b.status IN ('PENDING', 'APPROVED')"
+                        + " AND b.start_time > " + WINDOW_START + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.findActiveIntervalsInRange",
+                INTERVAL + "WHERE " + OVERLAP + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.findActiveIntervalsInBuilding",
+                INTERVAL + "JOIN rooms r ON r.id = b.room_id WHERE r.building_id = 3 AND " + OVERLAP
+                        + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.findActiveIntervalsForRooms",
+                INTERVAL + "WHERE b.room_id IN (5, 6, 7, 8) AND " + OVERLAP + " ORDER BY b.start_time");
+        QUERIES.put("BookingRepository.findAllWithRoomByIdIn",
+                "SELECT b.*, r.* FROM booking b JOIN rooms r ON r.id = b.room_id WHERE b.id IN (101, 202, 303)");
+        QUERIES.put("RoomSpecifications.availableFor",
+                "SELECT r.* FROM rooms r WHERE r.is_active = TRUE AND r.id > 0 AND NOT EXISTS ("
+                        + "SELECT b.id FROM booking b WHERE b.room_id = r.id AND " + OVERLAP + ")"
+                        + " ORDER BY r.id FETCH FIRST 50 ROWS ONLY");
+        QUERIES.put("RoomRepository.findByBuildingId",
+                "SELECT r.* FROM rooms r WHERE r.building_id = 3");
+        QUERIES.put("RoomRepository.findBookingTarget",
+                "SELECT r.is_active, (SELECT COUNT(u.id) FROM users u WHERE u.id = 9 AND u.username = 'student') FROM rooms r WHERE r.id = 17");
+        QUERIES.put("BookingHistoryRepository.findByBookingIdOrderByActionAtDesc",
+                "SELECT h.* FROM booking_history h WHERE h.booking_id = 1234 ORDER BY h.action_at DESC");
+        QUERIES.put("BookingHistoryRepository.findLatestActionForBooking",
+                "SELECT h.* FROM booking_history h WHERE h.booking_id = 1234 ORDER BY h.action_at DESC"
+                        + " FETCH FIRST 1 ROWS ONLY");
+        QUERIES.put("BookingHistoryRepository.countByBookingId",
+                "SELECT COUNT(h.id) FROM booking_history h WHERE h.booking_id = 1234");
+        QUERIES.put("BookingHistoryRepository.findByActionByOrderByActionAtDesc",
+                "SELECT h.* FROM booking_history h WHERE h.action_by = 42 ORDER BY h.action_at DESC");
+        QUERIES.put("BookingHistoryRepository.findAllCancellations",
+                "SELECT h.* FROM booking_history h WHERE h.action = 'CANCELLED' ORDER BY h.action_at DESC");
+        QUERIES.put("BookingHistorySearchService.search (next page)",
+                "SELECT h.*, u.first_name, u.last_name FROM booking_history h JOIN users u ON u.id = h.action_by"
+                        + " WHERE h.action_at <= " + WINDOW_START + " AND (h.action_at < " + WINDOW_START
+                        + " OR h.id < 20000) ORDER BY h.action_at DESC, h.id DESC FETCH FIRST 51 ROWS ONLY");
+        QUERIES.put("BookingHistorySearchService.search (booking, next page)",
+                "SELECT h.*, u.first_name, u.last_name FROM booking_history h JOIN users u ON u.id = h.action_by"
+                        + " WHERE h.booking_id = 1234 AND h.action_at <= " + WINDOW_START + " AND (h.action_at < "
+                        + WINDOW_START + " OR h.id < 20000) ORDER BY h.action_at DESC, h.id DESC FETCH FIRST 51 ROWS ONLY");
+        QUERIES.put("BookingHistoryRepository.findExpiredForArchive",
+                "SELECT h.*, u.first_name, u.last_name FROM booking_history h JOIN users u ON u.id = h.action_by"
+                        + " WHERE h.action_at < " + WINDOW_START + " AND h.id > 0 ORDER BY h.id FETCH FIRST 2000 ROWS ONLY");
+        QUERIES.put("BookingHistoryRepository.deleteExpiredInIdRange",
+                "DELETE FROM booking_history WHERE id BETWEEN 1 AND 2000 AND action_at < " + WINDOW_START);
+        QUERIES.put("BookingSlotClaimRepository.deleteByBookingId",
+                "DELETE FROM booking_slot_claim WHERE booking_id = 1234");
+        QUERIES.put("BookingSlotClaimRepository.deleteByBookingIdIn",
+                "DELETE FROM booking_slot_claim WHERE booking_id IN (1234, 1235, 1236)");
+        QUERIES.put("BookingIdempotencyKeyRepository.findByUserIdAndIdempotencyKey",
+                "SELECT k.* FROM booking_idempotency_key k WHERE k.user_id = 7 AND k.idempotency_key = 'key-7'");
+        QUERIES.put("BookingIdempotencyKeyRepository.deleteCreatedBefore",
+                "DELETE FROM booking_idempotency_key WHERE created_at < " + WINDOW_START);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+            "jdbc:h2:mem:index-usage;DB_CLOSE_DELAY=-1",
+            "jdbc:h2:mem:index-usage-pg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1"})
+    void everyHotQueryReadsThroughAnIndex(String url) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url, "sa", "");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        seed(jdbc);
+        jdbc.execute("ANALYZE");
+
+        List<Executable> checks = new ArrayList<>();
+        QUERIES.forEach((name, sql) -> checks.add(() -> {
+            String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+            assertFalse(scansHotTable(plan), () -> name + " scans a table:\n" + plan);
+        }));
+        assertAll(checks);
+    }
+
+    // H2 marks a full scan as "<schema>.<table>.tableScan"; users may still be scanned to drive a join
+    private static boolean scansHotTable(String plan) {
+        String lower = plan.toLowerCase(Locale.ROOT);
+        for (String table : HOT_TABLES) {
+            if (lower.contains("." + table + ".tablescan")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int b = 1; b <= BUILDINGS; b++) {
+            rows.add(new Object[]{b, "Building " + b, "B-" + b});
+        }
+        jdbc.batchUpdate("INSERT INTO buildings (id, name, code) VALUES (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int r = 1; r <= ROOMS; r++) {
+            rows.add(new Object[]{r, "Room " + r, "R-" + r, 20 + r % 80, "CLASSROOM", true, r % BUILDINGS + 1});
+        }
+        jdbc.batchUpdate("INSERT INTO rooms (id, name, room_number, capacity, room_type, is_active, building_id)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        for (int u = 1; u <= USERS; u++) {
+            rows.add(new Object[]{u, "user-" + u, "user-" + u + "@university.edu", "secret", "Seed", "User " + u, true});
+        }
+        jdbc.batchUpdate("INSERT INTO users (id, username, email, password, first_name, last_name, is_active)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        // Each room gets one booking per teaching day, spread over the day; most are approved
+        String[] statuses = {"APPROVED", "APPROVED", "APPROVED", "PENDING", "REJECTED", "CANCELLED"};
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        List<Object[]> claims = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            long id = i + 1;
+            int room = i % ROOMS + 1;
+            int user = (i * 31) % USERS + 1;
+            LocalDateTime start = SEMESTER_START.plusDays(i / ROOMS).plusHours((i * 7L) % 10);
+            String status = statuses[i % statuses.length];
+            bookings.add(new Object[]{id, user, room, start, start.plusHours(1), "Seed", status, false, 0L, start.minusDays(7)});
+            history.add(new Object[]{2 * id - 1, id, "CREATED", user, start.minusDays(7), null, "PENDING"});
+            history.add(new Object[]{2 * id, id, status.equals("PENDING") ? "MODIFIED" : status, (i % 5) + 1,
+                    start.minusDays(6), "PENDING", status});
+            if (i < SLOT_CLAIMS) {
+                claims.add(new Object[]{id, room, start, id});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO booking (id, user_id, room_id, start_time, end_time, purpose, status, is_deleted,"
+                + " version, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", bookings);
+        jdbc.batchUpdate("INSERT INTO booking_history (id, booking_id, action, action_by, action_at, old_status,"
+                + " new_status) VALUES (?, ?, ?, ?, ?, ?, ?)", history);
+        jdbc.batchUpdate("INSERT INTO booking_slot_claim (id, room_id, slot_start, booking_id) VALUES (?, ?, ?, ?)", claims);
+
+        rows.clear();
+        for (int k = 1; k <= IDEMPOTENCY_KEYS; k++) {
+            rows.add(new Object[]{k, k, "key-" + k, "hash-" + k, (long) k, SEMESTER_START.plusMinutes(k)});
+        }
+        jdbc.batchUpdate("INSERT INTO booking_idempotency_key (id, user_id, idempotency_key, request_hash, booking_id,"
+                + " created_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
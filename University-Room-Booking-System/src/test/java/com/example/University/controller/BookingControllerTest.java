@@ -0,0 +1,109 @@
+package com.example.University.controller;
+
+import com.example.University.dto.BookingResponseDTO;
+import com.example.University.entity.Role;
+import com.example.University.service.BatchDecisionService;
+import com.example.University.service.BookingHistoryExportService;
+import com.example.University.service.BookingHistorySearchService;
+import com.example.University.service.BookingSeriesService;
+import com.example.University.service.BookingService;
+import com.example.University.service.BulkBookingService;
+import com.example.University.service.IdempotentBookingService;
+import com.example.University.service.SlotFinderService;
+import com.example.University.service.eventstore.BookingProjectionRebuilder;
+import com.example.University.service.retention.HistoryArchiveReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class BookingControllerTest {
+
+    private static final String BOOKING = """
+            {"roomId": 10, "startTime": "2030-03-04T09:00:00", "endTime": "2030-03-04T10:00:00", "purpose": "Lab"}
+            """;
+
+    @Mock
+    private BookingService bookingService;
+    @Mock
+    private SlotFinderService slotFinderService;
+    @Mock
+    private BulkBookingService bulkBookingService;
+    @Mock
+    private BookingSeriesService bookingSeriesService;
+    @Mock
+    private IdempotentBookingService idempotentBookingService;
+    @Mock
+    private BatchDecisionService batchDecisionService;
+    @Mock
+    private BookingHistorySearchService bookingHistorySearchService;
+    @Mock
+    private BookingHistoryExportService bookingHistoryExportService;
+    @Mock
+    private HistoryArchiveReader historyArchiveReader;
+    @Mock
+    private BookingProjectionRebuilder bookingProjectionRebuilder;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingService, slotFinderService,
+                bulkBookingService, bookingSeriesService, idempotentBookingService, batchDecisionService,
+                bookingHistorySearchService, bookingHistoryExportService, historyArchiveReader,
+                bookingProjectionRebuilder, new ObjectMapper().findAndRegisterModules())).build();
+    }
+
+    @Test
+    void endpointsActingForTheCaller_rejectAnonymousRequests() throws Exception {
+        mockMvc.perform(post("/api/booking").param("userId", "7")
+                        .contentType(MediaType.APPLICATION_JSON).content(BOOKING))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/booking").param("userId", "7").header("Idempotency-Key", "k-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(BOOKING))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/booking/bulk").param("userId", "7")
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + BOOKING + "]"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/booking/series").param("userId", "7")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(patch("/api/booking/decisions")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(bookingService, idempotentBookingService, bulkBookingService, bookingSeriesService,
+                batchDecisionService);
+    }
+
+    @Test
+    void createBooking_passesThePrincipalAlong() throws Exception {
+        BookingResponseDTO created = new BookingResponseDTO();
+        created.setId(42L);
+        when(bookingService.createBooking(any(), eq(7L), eq("student"), eq(Set.of(Role.RoleName.STUDENT))))
+                .thenReturn(created);
+
+        mockMvc.perform(post("/api/booking").param("userId", "7")
+                        .principal(new UsernamePasswordAuthenticationToken("student", null,
+                                List.of(new SimpleGrantedAuthority("ROLE_STUDENT"))))
+                        .contentType(MediaType.APPLICATION_JSON).content(BOOKING))
+                .andExpect(status().isCreated());
+    }
+}
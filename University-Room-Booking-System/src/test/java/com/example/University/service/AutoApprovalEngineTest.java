@@ -0,0 +1,165 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.Building;
+import com.example.University.entity.Department;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.approval.AutoApprovalEngine;
+import com.example.University.service.approval.AutoApprovalOutcome;
+import com.example.University.service.approval.AutoApprovalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutoApprovalEngineTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AutoApprovalProperties properties;
+    private AutoApprovalEngine engine;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 3, 4, 9, 0);
+    private final Department physics = Department.builder().id(1L).code("PHY").name("Physics").build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AutoApprovalProperties();
+        properties.setEnabled(true);
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        AutoApprovalProperties.Rule rule = new AutoApprovalProperties.Rule();
+        rule.setName("faculty-own-classrooms");
+        rule.setRoles(Set.of(Role.RoleName.FACULTY));
+        rule.setRoomTypes(Set.of(Room.RoomType.CLASSROOM));
+        rule.setSameDepartment(true);
+        rule.setMinLeadTime(Duration.ofHours(24));
+        rule.setMaxDuration(Duration.ofHours(3));
+        properties.setRules(List.of(rule));
+        engine = new AutoApprovalEngine(properties, bookingService, userRepository, roleRepository, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void rule_matchesOnlyWhenEveryConditionHolds() {
+        AutoApprovalProperties.Rule rule = properties.getRules().get(0);
+
+        assertTrue(rule.matches(booking(Role.RoleName.FACULTY, physics, Room.RoomType.CLASSROOM, 48, 2), now));
+        assertFalse(rule.matches(booking(Role.RoleName.STUDENT, physics, Room.RoomType.CLASSROOM, 48, 2), now));
+        assertFalse(rule.matches(booking(Role.RoleName.FACULTY, physics, Room.RoomType.AUDITORIUM, 48, 2), now));
+        assertFalse(rule.matches(booking(Role.RoleName.FACULTY, null, Room.RoomType.CLASSROOM, 48, 2), now));
+        assertFalse(rule.matches(booking(Role.RoleName.FACULTY, physics, Room.RoomType.CLASSROOM, 12, 2), now));
+        assertFalse(rule.matches(booking(Role.RoleName.FACULTY, physics, Room.RoomType.CLASSROOM, 48, 4), now));
+    }
+
+    @Test
+    void onBookingStatusChanged_evaluatesNewPendingBookingsOnly() throws Exception {
+        when(bookingService.autoApproveBooking(eq(1L), eq("system"), any())).thenReturn(AutoApprovalOutcome.APPROVED);
+
+        engine.onBookingStatusChanged(event(1L, null, Booking.BookingStatus.PENDING));
+        engine.onBookingStatusChanged(event(2L, Booking.BookingStatus.PENDING, Booking.BookingStatus.APPROVED));
+
+        awaitDecisions(1);
+        verify(bookingService).autoApproveBooking(eq(1L), eq("system"), any());
+        verify(bookingService, never()).autoApproveBooking(eq(2L), any(), any());
+        assertEquals(1.0, meterRegistry.get("booking.auto_approval.decisions").tag("outcome", "approved").counter().count());
+        assertEquals(1, meterRegistry.get("booking.auto_approval.decision.latency").timer().count());
+    }
+
+    @Test
+    void onBookingStatusChanged_leavesBookingToAdminsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.autoApproveBooking(anyLong(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return AutoApprovalOutcome.NO_MATCH;
+        });
+
+        engine.onBookingStatusChanged(event(1L, null, Booking.BookingStatus.PENDING));
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        engine.onBookingStatusChanged(event(2L, null, Booking.BookingStatus.PENDING));
+        engine.onBookingStatusChanged(event(3L, null, Booking.BookingStatus.PENDING));
+
+        assertEquals(1.0, meterRegistry.get("booking.auto_approval.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("booking.auto_approval.decisions").tag("outcome", "queue_full").counter().count());
+        release.countDown();
+        verify(bookingService, timeout(2000).times(2)).autoApproveBooking(anyLong(), any(), any());
+        verify(bookingService, never()).autoApproveBooking(eq(3L), any(), any());
+    }
+
+    @Test
+    void onBookingStatusChanged_ignoredWhenDisabled() {
+        properties.setEnabled(false);
+
+        engine.onBookingStatusChanged(event(1L, null, Booking.BookingStatus.PENDING));
+
+        verifyNoInteractions(bookingService);
+    }
+
+    // Metrics are recorded after the service call returns, on the worker thread
+    private void awaitDecisions(long count) throws InterruptedException {
+        for (int i = 0; i < 200 && meterRegistry.get("booking.auto_approval.decision.latency").timer().count() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Booking booking(Role.RoleName role, Department userDepartment, Room.RoomType roomType,
+                            int leadHours, int durationHours) {
+        User user = User.builder()
+                .roles(Set.of(Role.builder().name(role).build()))
+                .department(userDepartment)
+                .build();
+        Room room = Room.builder()
+                .roomType(roomType)
+                .building(Building.builder().department(physics).build())
+                .build();
+        return Booking.builder()
+                .user(user)
+                .room(room)
+                .startTime(now.plusHours(leadHours))
+                .endTime(now.plusHours(leadHours + durationHours))
+                .build();
+    }
+
+    private BookingStatusChangedEvent event(Long bookingId, Booking.BookingStatus oldStatus, Booking.BookingStatus newStatus) {
+        return new BookingStatusChangedEvent(bookingId, 10L, now, now.plusHours(1), oldStatus, newStatus);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.event.HolidaysChangedEvent;
+import com.example.University.service.availability.AvailabilityResultCache;
+import com.example.University.service.availability.PrimitiveTimeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityResultCacheTest {
+
+    private final LocalDate day = LocalDate.of(2030, 3, 4);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AvailabilityResultCache(meterRegistry, 2);
+    }
+
+    @Test
+    void isCacheable_onlyWithinOneDay() {
+        assertTrue(cache.isCacheable(day.atTime(8, 0), day.plusDays(1).atStartOfDay()));
+        assertFalse(cache.isCacheable(day.atTime(8, 0), day.plusDays(1).atTime(8, 0)));
+        assertFalse(new AvailabilityResultCache(meterRegistry, 0).isCacheable(day.atTime(8, 0), day.atTime(9, 0)));
+    }
+
+    @Test
+    void get_servesRepeatedLookupFromCache() {
+        cache.get(1L, day, this::load);
+        cache.get(1L, day, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, requests("hit"));
+        assertEquals(1.0, requests("miss"));
+    }
+
+    @Test
+    void bookingChange_invalidatesOnlyThatRoom() {
+        cache.get(1L, day, this::load);
+        cache.get(2L, day, this::load);
+
+        cache.onBookingStatusChanged(new BookingStatusChangedEvent(5L, 1L, day.atTime(9, 0), day.atTime(10, 0),
+                null, Booking.BookingStatus.PENDING));
+        cache.get(1L, day, this::load);
+        cache.get(2L, day, this::load);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void holidayChange_invalidatesEverything() {
+        cache.get(1L, day, this::load);
+
+        cache.onHolidaysChanged(new HolidaysChangedEvent(1L));
+        cache.get(1L, day, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_evictsLeastRecentlyUsedBeyondCapacity() {
+        cache.get(1L, day, this::load);
+        cache.get(2L, day, this::load);
+        cache.get(1L, day, this::load);
+        cache.get(3L, day, this::load);
+
+        cache.get(1L, day, this::load);
+        cache.get(2L, day, this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+        assertTrue(meterRegistry.get("booking.availability.cache.evictions").counter().count() >= 1.0);
+    }
+
+    private PrimitiveTimeline load() {
+        loads.incrementAndGet();
+        PrimitiveTimeline timeline = new PrimitiveTimeline(1);
+        LocalDateTime start = day.atStartOfDay();
+        timeline.add(start, start.plusDays(1));
+        return timeline;
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("booking.availability.cache.requests").tag("result", result).counter().count();
+    }
+}
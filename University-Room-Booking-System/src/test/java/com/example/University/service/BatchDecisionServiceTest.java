@@ -0,0 +1,156 @@
+package com.example.University.service;
+
+import com.example.University.dto.BatchDecisionItemDto;
+import com.example.University.dto.BatchDecisionRequestDto;
+import com.example.University.dto.BatchDecisionResultDto;
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.entity.Booking;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.impl.BatchDecisionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDecisionServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoomAdmissionLocks admissionLocks;
+
+    @Mock
+    private SlotClaimRegistry slotClaims;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BatchDecisionServiceImpl batchDecisionService;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+    private final Room room = Room.builder().id(10L).build();
+
+    @BeforeEach
+    void setUp() {
+        User admin = User.builder()
+                .id(1L)
+                .username("admin")
+                .roles(Set.of(Role.builder().name(Role.RoleName.ADMIN).build()))
+                .build();
+        lenient().when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+    }
+
+    @Test
+    void decide_approve_earliestRequestWinsInsideBatch() {
+        Booking older = pending(1L, 9, 11, day.minusDays(2));
+        Booking newer = pending(2L, 10, 12, day.minusDays(1));
+        Booking blockedOutside = pending(3L, 14, 15, day.minusDays(3));
+        Booking free = pending(4L, 16, 17, day.minusDays(1));
+        Booking approved = Booking.builder().id(5L).room(room).status(Booking.BookingStatus.APPROVED).build();
+        when(bookingRepository.findAllWithRoomByIdIn(any())).thenReturn(List.of(newer, older, blockedOutside, free, approved));
+        when(bookingRepository.findActiveIntervalsForRooms(eq(Set.of(10L)), eq(day.plusHours(9)), eq(day.plusHours(17))))
+                .thenReturn(List.of(
+                        interval(1L, older), interval(2L, newer), interval(3L, blockedOutside), interval(4L, free),
+                        interval(9L, day.plusHours(13), day.plusHours(15))));
+
+        BatchDecisionResultDto result = batchDecisionService.decide(
+                new BatchDecisionRequestDto(List.of(2L, 1L, 3L, 4L, 5L, 6L, 2L), BatchDecisionRequestDto.Decision.APPROVE, "Term plan"),
+                "admin");
+
+        assertEquals(2, result.getSucceededCount());
+        assertEquals(4, result.getFailedCount());
+        List<BatchDecisionItemDto> items = result.getItems();
+        assertEquals(List.of(2L, 1L, 3L, 4L, 5L, 6L), items.stream().map(BatchDecisionItemDto::getBookingId).toList());
+        assertEquals(List.of(false, true, false, true, false, false), items.stream().map(BatchDecisionItemDto::getSucceeded).toList());
+        assertTrue(items.get(0).getReason().contains("booking 1"));
+        assertEquals("Cannot approve: booking now overlaps with another approved booking", items.get(2).getReason());
+        assertEquals("Booking not found", items.get(5).getReason());
+        assertEquals(Booking.BookingStatus.APPROVED, older.getStatus());
+        assertEquals(Booking.BookingStatus.PENDING, newer.getStatus());
+
+        verify(userRepository, times(1)).findByUsername("admin");
+        verify(bookingRepository, times(1)).saveAll(List.of(older, free));
+        verify(bookingHistoryRepository, times(1)).saveAll(anyList());
+        verify(admissionLocks).lockAllUntilCompletion(Set.of(10L));
+        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void decide_reject_skipsOverlapChecksAndReleasesClaims() {
+        Booking first = pending(1L, 9, 11, day);
+        Booking second = pending(2L, 10, 12, day);
+        when(bookingRepository.findAllWithRoomByIdIn(any())).thenReturn(List.of(first, second));
+
+        BatchDecisionResultDto result = batchDecisionService.decide(
+                new BatchDecisionRequestDto(List.of(1L, 2L), BatchDecisionRequestDto.Decision.REJECT, null), "admin");
+
+        assertEquals(2, result.getSucceededCount());
+        assertEquals(Booking.BookingStatus.REJECTED, second.getStatus());
+        verify(bookingRepository, never()).findActiveIntervalsForRooms(any(), any(), any());
+        verify(slotClaims).releaseAll(List.of(1L, 2L));
+    }
+
+    @Test
+    void decide_requiresAdmin() {
+        User student = User.builder().username("student")
+                .roles(Set.of(Role.builder().name(Role.RoleName.STUDENT).build())).build();
+        when(userRepository.findByUsername("student")).thenReturn(Optional.of(student));
+
+        assertThrows(UnauthorizedActionException.class, () -> batchDecisionService.decide(
+                new BatchDecisionRequestDto(List.of(1L), BatchDecisionRequestDto.Decision.APPROVE, null), "student"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private Booking pending(Long id, int startHour, int endHour, LocalDateTime createdAt) {
+        return Booking.builder()
+                .id(id)
+                .room(room)
+                .startTime(day.plusHours(startHour))
+                .endTime(day.plusHours(endHour))
+                .status(Booking.BookingStatus.PENDING)
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private BookingIntervalProjection interval(Long id, Booking booking) {
+        return interval(id, booking.getStartTime(), booking.getEndTime());
+    }
+
+    private BookingIntervalProjection interval(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return id; }
+            public Long getRoomId() { return 10L; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.entity.Booking;
+import com.example.University.entity.Building;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers {@link BookingService#createBooking} from many threads against a real database and checks that no
+ * two active bookings of a room ever overlap.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admission-stress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "booking.admission.lock-timeout-ms=30000"
+})
+class BookingAdmissionStressTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final LocalDateTime day = LocalDateTime.of(2031, 3, 3, 0, 0);
+    private Building building;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        Role role = roleRepository.findByName(Role.RoleName.STUDENT)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.STUDENT).build()));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        student = userRepository.save(User.builder()
+                .username("stress-" + suffix)
+                .email("stress-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("Stress")
+                .lastName("Test")
+                .roles(Set.of(role))
+                .build());
+        building = buildingRepository.save(Building.builder().name("Stress " + suffix).code("S-" + suffix).build());
+    }
+
+    @Test
+    void sameSlotFromManyThreads_admitsExactlyOne() throws Exception {
+        Room room = newRoom();
+        LocalDateTime start = day.plusHours(10);
+
+        AtomicInteger admitted = new AtomicInteger();
+        List<Throwable> unexpected = run(THREADS * 4, i -> {
+            bookingService.createBooking(request(room, start, start.plusHours(1)), student.getId());
+            admitted.incrementAndGet();
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(1, admitted.get());
+        assertEquals(1, bookingRepository.findActiveBookingsInRange(room.getId(), day, day.plusDays(1)).size());
+    }
+
+    @Test
+    void randomOverlappingSlots_neverDoubleBookAnyRoom() throws Exception {
+        List<Room> rooms = List.of(newRoom(), newRoom(), newRoom());
+
+        AtomicInteger admitted = new AtomicInteger();
+        List<Throwable> unexpected = run(600, i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Room room = rooms.get(random.nextInt(rooms.size()));
+            LocalDateTime start = day.plusHours(8).plusMinutes(15L * random.nextInt(40));
+            bookingService.createBooking(request(room, start, start.plusMinutes(15L * (1 + random.nextInt(6)))),
+                    student.getId());
+            admitted.incrementAndGet();
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        int stored = 0;
+        for (Room room : rooms) {
+            List<Booking> bookings = bookingRepository.findActiveBookingsInRange(room.getId(), day, day.plusDays(1));
+            for (int i = 1; i < bookings.size(); i++) {
+                assertFalse(bookings.get(i).getStartTime().isBefore(bookings.get(i - 1).getEndTime()),
+                        "Room " + room.getId() + " is double-booked");
+            }
+            stored += bookings.size();
+        }
+        assertEquals(admitted.get(), stored);
+        assertTrue(admitted.get() > rooms.size());
+    }
+
+    private Room newRoom() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(30)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+    }
+
+    private BookingRequestDTO request(Room room, LocalDateTime start, LocalDateTime end) {
+        return BookingRequestDTO.builder()
+                .roomId(room.getId())
+                .startTime(start)
+                .endTime(end)
+                .purpose("Stress")
+                .build();
+    }
+
+    // Releases all attempts at once; overlap rejections are expected, anything else is returned
+    private List<Throwable> run(int attempts, Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        attempt.run(index);
+                    } catch (IllegalArgumentException expected) {
+                        // overlap rejected
+                    } catch (Throwable t) {
+                        unexpected.add(t);
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ArrayList<>(unexpected);
+    }
+
+    private interface Attempt {
+        void run(int index);
+    }
+}
@@ -10,12 +10,15 @@ import com.example.University.exception.UnauthorizedActionException;
 import com.example.University.repository.BookingRepository;
 import com.example.University.repository.BookingHistoryRepository;
 import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.history.BookingHistoryWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -36,6 +39,15 @@ class BookingCancellationServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SlotClaimRegistry slotClaims;
+
+    @Mock
+    private BookingHistoryWriter historyWriter;
+
     @InjectMocks
     private BookingCancellationService cancellationService;
 
@@ -0,0 +1,241 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.ProjectionRebuildResultDto;
+import com.example.University.dto.SlotClaimSummaryProjection;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingEvent;
+import com.example.University.entity.Building;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingEventRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingRoomSnapshotRepository;
+import com.example.University.repository.BookingSlotClaimRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import com.example.University.service.availability.SlotOccupancyMatrix;
+import com.example.University.service.eventstore.BookingEventStore;
+import com.example.University.service.eventstore.BookingProjectionRebuilder;
+import com.example.University.service.eventstore.RoomState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-event-store;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "booking.event-sourcing.enabled=true",
+        "booking.event-sourcing.snapshot-every=3",
+        "booking.slot-claims.enabled=true",
+        "booking.occupancy.enabled=true"
+})
+class BookingEventStoreTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingCancellationService bookingCancellationService;
+    @Autowired
+    private BookingEventStore eventStore;
+    @Autowired
+    private BookingProjectionRebuilder rebuilder;
+    @Autowired
+    private BookingEventRepository eventRepository;
+    @Autowired
+    private BookingRoomSnapshotRepository snapshotRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private BookingSlotClaimRepository slotClaimRepository;
+    @Autowired
+    private RoomAvailabilityIndex availabilityIndex;
+    @Autowired
+    private SlotClaimRegistry slotClaimRegistry;
+    @Autowired
+    private SlotOccupancyMatrix occupancyMatrix;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime day = LocalDateTime.of(2033, 3, 7, 0, 0);
+    private Room room;
+    private User student;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        student = user("es-student-" + suffix, Role.RoleName.STUDENT);
+        admin = user("es-admin-" + suffix, Role.RoleName.ADMIN);
+        Building building = buildingRepository.save(Building.builder().name("Events " + suffix).code("E-" + suffix).build());
+        room = roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(30)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+    }
+
+    @Test
+    void transitionsAreAppendedInOrderAndSnapshotted() {
+        Long first = book(8);
+        book(10);
+        book(12);
+        bookingCancellationService.cancelBookingByAdmin(first, admin.getEmail(), "Room closed");
+
+        List<BookingEvent> events = eventRepository.findRoomEvents(room.getId(), 0L, PageRequest.of(0, 10));
+        assertEquals(List.of(1L, 2L, 3L, 4L), events.stream().map(BookingEvent::getStreamSequence).toList());
+        assertEquals(BookingEvent.EventType.CREATED, events.get(0).getEventType());
+        assertEquals(BookingEvent.EventType.CANCELLED, events.get(3).getEventType());
+        assertEquals(Booking.BookingStatus.PENDING, events.get(3).getOldStatus());
+        assertEquals(admin.getId(), events.get(3).getCancelledBy());
+
+        // Snapshot at sequence 3, so loading the room replays only the cancellation
+        assertEquals(3L, snapshotRepository.findTopByRoomIdOrderByStreamSequenceDesc(room.getId())
+                .orElseThrow().getStreamSequence());
+        RoomState state = eventStore.loadRoomState(room.getId());
+        assertEquals(4, state.sequence());
+        assertEquals(1, state.replayed());
+        assertEquals(3, state.bookings().size());
+        assertEquals(Booking.BookingStatus.CANCELLED, state.booking(first).status());
+        assertEquals(admin.getId(), state.booking(first).cancelledBy());
+
+        RoomState replayed = eventStore.replayFromStart(room.getId());
+        assertEquals(4, replayed.replayed());
+        assertEquals(List.copyOf(state.bookings()), List.copyOf(replayed.bookings()));
+    }
+
+    @Test
+    void rebuildRestoresBookingRowsFromTheLog() {
+        Long first = book(8);
+        Long second = book(10);
+        bookingCancellationService.cancelBookingByAdmin(second, admin.getEmail(), null);
+        jdbcTemplate.update("UPDATE booking SET status = 'APPROVED', purpose = 'tampered', cancelled_by = NULL WHERE id IN (?, ?)",
+                first, second);
+
+        ProjectionRebuildResultDto result = rebuilder.rebuild(2, false);
+
+        assertTrue(result.getRooms() >= 1);
+        assertTrue(result.getBookingsUpdated() >= 2);
+        Booking restoredFirst = bookingRepository.findById(first).orElseThrow();
+        assertEquals(Booking.BookingStatus.PENDING, restoredFirst.getStatus());
+        assertEquals("Event store", restoredFirst.getPurpose());
+        Booking restoredSecond = bookingRepository.findById(second).orElseThrow();
+        assertEquals(Booking.BookingStatus.CANCELLED, restoredSecond.getStatus());
+        assertEquals(admin.getId(), restoredSecond.getCancelledBy().getId());
+    }
+
+    @Test
+    void rebuildBringsTheAvailabilityStructuresAndSlotClaimsAlong() {
+        Long first = book(8);
+        Long second = book(10);
+        bookingCancellationService.cancelBookingByAdmin(second, admin.getEmail(), null);
+        // Rows drifted from the log and the structures were warmed from them, as after a restart
+        jdbcTemplate.update("UPDATE booking SET start_time = ?, end_time = ? WHERE id = ?",
+                day.plusHours(14), day.plusHours(15), first);
+        jdbcTemplate.update("UPDATE booking SET status = 'APPROVED' WHERE id = ?", second);
+        availabilityIndex.afterSingletonsInstantiated();
+        occupancyMatrix.afterSingletonsInstantiated();
+        slotClaimRegistry.afterSingletonsInstantiated();
+        assertEquals(SlotOccupancyMatrix.Answer.OCCUPIED,
+                occupancyMatrix.check(room.getId(), day.plusHours(14), day.plusHours(15), null));
+        long eventsBefore = eventRepository.count();
+
+        rebuilder.rebuild(2, false);
+
+        List<BookingService.TimeSlot> busy = new ArrayList<>();
+        availabilityIndex.iterateBusySlots(room.getId(), day, day.plusDays(1)).forEachRemaining(busy::add);
+        assertEquals(1, busy.size());
+        assertEquals(day.plusHours(8), busy.get(0).getStart());
+        assertEquals(SlotOccupancyMatrix.Answer.OCCUPIED,
+                occupancyMatrix.check(room.getId(), day.plusHours(8), day.plusHours(9), null));
+        assertEquals(SlotOccupancyMatrix.Answer.FREE,
+                occupancyMatrix.check(room.getId(), day.plusHours(10), day.plusHours(11), null));
+        assertEquals(SlotOccupancyMatrix.Answer.FREE,
+                occupancyMatrix.check(room.getId(), day.plusHours(14), day.plusHours(15), null));
+        Map<Long, SlotClaimSummaryProjection> claims = slotClaimRepository.summarizeByBooking().stream()
+                .collect(Collectors.toMap(SlotClaimSummaryProjection::getBookingId, claim -> claim));
+        assertEquals(day.plusHours(8), claims.get(first).getFirstSlot());
+        assertEquals(4L, claims.get(first).getClaimCount());
+        assertFalse(claims.containsKey(second));
+        // The rebuilt rows are announced to the structures, not appended to the log again
+        assertEquals(eventsBefore, eventRepository.count());
+    }
+
+    @Test
+    void baselineRecordsBookingsMadeBeforeEventSourcing() {
+        Long recorded = book(8);
+        // Saved straight through the repository, as bookings were before event sourcing: no event published
+        Long untracked = bookingRepository.save(Booking.builder()
+                .room(room)
+                .user(student)
+                .startTime(day.plusHours(10))
+                .endTime(day.plusHours(11))
+                .purpose("Before event sourcing")
+                .status(Booking.BookingStatus.APPROVED)
+                .build()).getId();
+
+        rebuilder.appendBaseline(2);
+        rebuilder.appendBaseline(2);
+
+        List<BookingEvent> events = eventRepository.findRoomEvents(room.getId(), 0L, PageRequest.of(0, 10));
+        assertEquals(List.of(recorded, untracked), events.stream().map(BookingEvent::getBookingId).toList());
+        assertEquals(BookingEvent.EventType.BASELINE, events.get(1).getEventType());
+        assertEquals(Booking.BookingStatus.APPROVED, events.get(1).getNewStatus());
+        assertEquals(Booking.BookingStatus.APPROVED, eventStore.loadRoomState(room.getId()).booking(untracked).status());
+    }
+
+    @Test
+    void rebuildRejectsInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> rebuilder.rebuild(0, false));
+    }
+
+    private Long book(int startHour) {
+        BookingRequestDTO request = BookingRequestDTO.builder()
+                .roomId(room.getId())
+                .startTime(day.plusHours(startHour))
+                .endTime(day.plusHours(startHour + 1))
+                .purpose("Event store")
+                .build();
+        return bookingService.createBooking(request, student.getId(), student.getUsername(), Set.of(Role.RoleName.STUDENT)).getId();
+    }
+
+    private User user(String username, Role.RoleName roleName) {
+        Role role = roleRepository.findByName(roleName)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(roleName).build()));
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@university.edu")
+                .password("secret")
+                .firstName("Event")
+                .lastName("Store")
+                .roles(Set.of(role))
+                .build());
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.Building;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports from a real database, so the streamed projection query and the writers are exercised together.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:history-export;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class BookingHistoryExportServiceTest {
+
+    @Autowired
+    private BookingHistoryExportService exportService;
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Each test gets its own hour, so rows seeded by the other tests stay out of its range
+    private LocalDateTime base;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        base = LocalDateTime.of(2032, 1, 1, 0, 0).plusHours(Math.floorMod(suffix.hashCode(), 100_000));
+        User actor = userRepository.save(User.builder()
+                .username("export-" + suffix)
+                .email("export-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("Audit")
+                .lastName("Trail")
+                .build());
+        Building building = buildingRepository.save(Building.builder().name("Export " + suffix).code("E-" + suffix).build());
+        Room room = roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(10)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .user(actor)
+                .room(room)
+                .startTime(base)
+                .endTime(base.plusHours(1))
+                .purpose("Export")
+                .status(Booking.BookingStatus.PENDING)
+                .build());
+
+        List<BookingHistory> rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(BookingHistory.builder()
+                    .booking(booking)
+                    .actionBy(actor)
+                    .action(BookingHistory.BookingHistoryAction.MODIFIED)
+                    .actionAt(base.plusMinutes(i))
+                    .reason(i == 2 ? "moved, \"urgent\"\nsee ticket" : "#" + i)
+                    .oldStatus(Booking.BookingStatus.PENDING)
+                    .build());
+        }
+        bookingHistoryRepository.saveAll(rows);
+    }
+
+    @Test
+    void export_csvQuotesAwkwardFieldsAndHonoursHalfOpenRange() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(base.plusMinutes(1), base.plusMinutes(4), BookingHistoryExportService.Format.CSV, false, out);
+
+        assertEquals(3, written);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,booking_id,action,action_by_id,action_by_name,action_at,reason,old_status,new_status,additional_notes", lines[0]);
+        assertTrue(lines[1].contains(",MODIFIED,") && lines[1].contains(",Audit Trail," + base.plusMinutes(1) + ",#1,PENDING,,"));
+        assertTrue(lines[2].endsWith(",\"moved, \"\"urgent\"\"\nsee ticket\",PENDING,,"));
+        assertTrue(lines[3].contains(",#3,"));
+        assertEquals(4, lines.length);
+    }
+
+    @Test
+    void export_ndjsonGzipWritesOneObjectPerLineOldestFirst() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = exportService.export(base, base.plusHours(1), BookingHistoryExportService.Format.NDJSON, true, out);
+
+        assertEquals(5, written);
+        String text;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = text.split("\n");
+        assertEquals(5, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(booking.getId().longValue(), first.get("bookingId").asLong());
+        assertEquals("Audit Trail", first.get("actionByName").asText());
+        assertEquals(base.toString(), first.get("actionAt").asText());
+        assertTrue(first.get("newStatus").isNull());
+        assertEquals("moved, \"urgent\"\nsee ticket", objectMapper.readTree(lines[2]).get("reason").asText());
+    }
+
+    @Test
+    void export_rejectsEmptyRange() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.export(base, base,
+                BookingHistoryExportService.Format.CSV, false, new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.entity.Building;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.history.BookingHistoryWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-history-outbox;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "booking.history.write-behind.enabled=true",
+        // Only explicit flushes move rows, so the test sees the outbox state between commit and flush
+        "booking.history.write-behind.flush-interval-ms=3600000"
+})
+class BookingHistoryOutboxTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingHistoryWriter historyWriter;
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime day = LocalDateTime.of(2034, 5, 8, 0, 0);
+    private Room room;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Role role = roleRepository.findByName(Role.RoleName.STUDENT)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.STUDENT).build()));
+        student = userRepository.save(User.builder()
+                .username("outbox-" + suffix)
+                .email("outbox-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("Outbox")
+                .lastName("Student")
+                .roles(Set.of(role))
+                .build());
+        Building building = buildingRepository.save(Building.builder().name("Outbox " + suffix).code("O-" + suffix).build());
+        room = roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(30)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+    }
+
+    @Test
+    void committedHistoryWaitsInOutboxUntilFlushed() {
+        Long bookingId = book(9);
+
+        assertEquals(1, outboxRows(bookingId));
+        assertEquals(0, bookingHistoryRepository.countByBookingId(bookingId));
+
+        historyWriter.flush();
+
+        assertEquals(0, outboxRows(bookingId));
+        assertEquals(1, bookingHistoryRepository.countByBookingId(bookingId));
+    }
+
+    @Test
+    void rolledBackTransitionLeavesNoOutboxRow() {
+        Long bookingId = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = book(11);
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertEquals(0, outboxRows(bookingId));
+    }
+
+    private Long book(int startHour) {
+        BookingRequestDTO request = BookingRequestDTO.builder()
+                .roomId(room.getId())
+                .startTime(day.plusHours(startHour))
+                .endTime(day.plusHours(startHour + 1))
+                .purpose("Outbox")
+                .build();
+        return bookingService.createBooking(request, student.getId(), student.getUsername(), Set.of(Role.RoleName.STUDENT)).getId();
+    }
+
+    private int outboxRows(Long bookingId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_history_outbox WHERE booking_id = ?",
+                Integer.class, bookingId);
+    }
+}
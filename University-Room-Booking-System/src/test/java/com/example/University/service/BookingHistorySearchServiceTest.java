@@ -0,0 +1,151 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingHistoryPageDto;
+import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.dto.BookingHistorySearchRequestDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.Building;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Walks the keyset pages against a real database, including rows that share the same actionAt.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:history-search;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class BookingHistorySearchServiceTest {
+
+    @Autowired
+    private BookingHistorySearchService searchService;
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime base = LocalDateTime.of(2031, 9, 1, 8, 0);
+    private Booking booking;
+    private User actor;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        actor = userRepository.save(User.builder()
+                .username("history-" + suffix)
+                .email("history-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("History")
+                .lastName("Reader")
+                .build());
+        Building building = buildingRepository.save(Building.builder().name("History " + suffix).code("H-" + suffix).build());
+        Room room = roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(10)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .user(actor)
+                .room(room)
+                .startTime(base)
+                .endTime(base.plusHours(1))
+                .purpose("History")
+                .status(Booking.BookingStatus.PENDING)
+                .build());
+
+        // 23 rows, three to a timestamp, so page boundaries fall inside runs of equal actionAt
+        List<BookingHistory> rows = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            rows.add(BookingHistory.builder()
+                    .booking(booking)
+                    .actionBy(actor)
+                    .action(i % 2 == 0 ? BookingHistory.BookingHistoryAction.MODIFIED : BookingHistory.BookingHistoryAction.APPROVED)
+                    .actionAt(base.plusMinutes(i / 3))
+                    .reason("#" + i)
+                    .build());
+        }
+        bookingHistoryRepository.saveAll(rows);
+    }
+
+    @Test
+    void search_walksEveryRowOnceInNewestFirstOrder() {
+        BookingHistorySearchRequestDto request = new BookingHistorySearchRequestDto();
+        request.setBookingId(booking.getId());
+        request.setSize(5);
+        request.setIncludeTotal(true);
+
+        List<BookingHistoryResponseDTO> seen = new ArrayList<>();
+        int pages = 0;
+        do {
+            BookingHistoryPageDto page = searchService.search(request);
+            // Only the first page asks for the total; later pages skip the count query
+            assertEquals(pages == 0 ? 23L : null, page.getTotalCount());
+            assertTrue(page.getItems().size() <= 5);
+            seen.addAll(page.getItems());
+            request.setCursor(page.getNextCursor());
+            request.setIncludeTotal(false);
+            pages++;
+        } while (request.getCursor() != null);
+
+        assertEquals(5, pages);
+        assertEquals(23, seen.size());
+        assertEquals(23, seen.stream().map(BookingHistoryResponseDTO::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            BookingHistoryResponseDTO previous = seen.get(i - 1);
+            BookingHistoryResponseDTO current = seen.get(i);
+            assertTrue(current.getActionAt().isBefore(previous.getActionAt())
+                    || (current.getActionAt().equals(previous.getActionAt()) && current.getId() < previous.getId()));
+        }
+        assertEquals("History Reader", seen.get(0).getActionByUserName());
+    }
+
+    @Test
+    void search_appliesOnlyTheCriteriaThatAreSet() {
+        BookingHistorySearchRequestDto request = new BookingHistorySearchRequestDto();
+        request.setBookingId(booking.getId());
+        request.setAction(BookingHistory.BookingHistoryAction.APPROVED);
+        request.setFrom(base.plusMinutes(2));
+        request.setTo(base.plusMinutes(4));
+
+        BookingHistoryPageDto page = searchService.search(request);
+
+        // Rows 6..14 fall in minutes 2-4, of which 7, 9, 11 and 13 are approvals
+        assertEquals(List.of("#13", "#11", "#9", "#7"),
+                page.getItems().stream().map(BookingHistoryResponseDTO::getReason).toList());
+        assertNull(page.getNextCursor());
+        assertNull(page.getTotalCount());
+    }
+
+    @Test
+    void search_rejectsForgedCursorAndOversizedPage() {
+        BookingHistorySearchRequestDto request = new BookingHistorySearchRequestDto();
+        request.setCursor("not-a-cursor");
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(request));
+
+        request.setCursor(null);
+        request.setSize(501);
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(request));
+    }
+}
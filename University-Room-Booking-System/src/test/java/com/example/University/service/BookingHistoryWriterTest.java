@@ -0,0 +1,162 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.entity.BookingHistoryOutbox;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingHistoryOutboxRepository;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.history.BookingHistoryWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingHistoryWriterTest {
+
+    @Mock
+    private BookingHistoryOutboxRepository outboxRepository;
+
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueue_writesOutboxRowInCallersTransaction() {
+        writer = writer(2);
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer.enqueue(history("created"));
+
+        ArgumentCaptor<BookingHistoryOutbox> row = ArgumentCaptor.forClass(BookingHistoryOutbox.class);
+        verify(outboxRepository).save(row.capture());
+        assertEquals(7L, row.getValue().getBookingId());
+        assertEquals(3L, row.getValue().getActionById());
+        assertEquals("created", row.getValue().getReason());
+        assertEquals(Booking.BookingStatus.PENDING, row.getValue().getNewStatus());
+        verifyNoInteractions(bookingHistoryRepository, transactionManager);
+        writer.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void flush_movesOutboxRowsInBatches() {
+        writer = writer(2);
+        when(outboxRepository.lockOldest(any()))
+                .thenReturn(List.of(outbox(1L, "#0"), outbox(2L, "#1")))
+                .thenReturn(List.of(outbox(3L, "#2")));
+
+        writer.flush();
+
+        ArgumentCaptor<List<BookingHistory>> batches = ArgumentCaptor.forClass(List.class);
+        verify(bookingHistoryRepository, times(2)).saveAll(batches.capture());
+        assertEquals(List.of(2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertEquals(List.of("#0", "#1", "#2"), batches.getAllValues().stream()
+                .flatMap(List::stream).map(BookingHistory::getReason).toList());
+        verify(outboxRepository, times(2)).deleteAllInBatch(anyList());
+        // A short batch means the outbox is empty, so no third read
+        verify(outboxRepository, times(2)).lockOldest(any());
+        assertEquals(3.0, meterRegistry.get("booking.history.write_behind.written").counter().count());
+        writer.shutdown();
+    }
+
+    @Test
+    void flush_failedBatchStaysInOutbox() {
+        writer = writer(10);
+        when(outboxRepository.lockOldest(any())).thenReturn(List.of(outbox(1L, "a")));
+        when(bookingHistoryRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> writer.flush());
+
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+        verify(transactionManager).rollback(any());
+        assertEquals(0.0, meterRegistry.get("booking.history.write_behind.written").counter().count());
+        writer.shutdown();
+    }
+
+    @Test
+    void enqueue_fullBatchWakesTheWriter() {
+        writer = writer(2);
+        when(outboxRepository.lockOldest(any())).thenReturn(List.of());
+
+        writer.enqueue(history("a"));
+        writer.enqueue(history("b"));
+
+        verify(outboxRepository, timeout(2000)).lockOldest(any());
+        writer.shutdown();
+    }
+
+    @Test
+    void shutdown_drainsOutbox() {
+        writer = writer(10);
+        when(outboxRepository.lockOldest(any())).thenReturn(List.of(outbox(1L, "left over")));
+
+        writer.shutdown();
+
+        verify(bookingHistoryRepository).saveAll(argThat(batch -> batch.iterator().next().getReason().equals("left over")));
+        verify(outboxRepository).deleteAllInBatch(anyList());
+    }
+
+    // Long interval so only explicit flushes and the batch-size trigger write
+    private BookingHistoryWriter writer(int batchSize) {
+        return new BookingHistoryWriter(outboxRepository, bookingHistoryRepository, bookingRepository, userRepository,
+                transactionManager, meterRegistry, true, batchSize, 3_600_000L);
+    }
+
+    private BookingHistory history(String reason) {
+        Booking booking = new Booking();
+        booking.setId(7L);
+        User user = new User();
+        user.setId(3L);
+        return BookingHistory.builder()
+                .booking(booking)
+                .actionBy(user)
+                .action(BookingHistory.BookingHistoryAction.CREATED)
+                .reason(reason)
+                .newStatus(Booking.BookingStatus.PENDING)
+                .build();
+    }
+
+    private BookingHistoryOutbox outbox(Long id, String reason) {
+        return BookingHistoryOutbox.builder()
+                .id(id)
+                .bookingId(7L)
+                .actionById(3L)
+                .action(BookingHistory.BookingHistoryAction.CREATED)
+                .reason(reason)
+                .build();
+    }
+}
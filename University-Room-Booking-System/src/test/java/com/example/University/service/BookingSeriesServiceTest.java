@@ -0,0 +1,193 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingSeriesRequestDto;
+import com.example.University.dto.BookingSeriesResultDto;
+import com.example.University.dto.SeriesOccurrenceDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingSeries;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingSeriesRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.impl.BookingSeriesServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingSeriesServiceTest {
+
+    @Mock
+    private BookingSeriesRepository bookingSeriesRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HolidayCalendar holidayCalendar;
+
+    @Mock
+    private RoomAdmissionLocks admissionLocks;
+
+    @Mock
+    private SlotClaimRegistry slotClaims;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BookingSeriesServiceImpl bookingSeriesService;
+
+    // A Tuesday
+    private final LocalDateTime first = LocalDateTime.of(2030, 9, 3, 10, 0);
+
+    @BeforeEach
+    void setUp() {
+        User faculty = User.builder()
+                .id(1L)
+                .username("faculty")
+                .roles(Set.of(Role.builder().name(Role.RoleName.FACULTY).build()))
+                .build();
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(faculty));
+        lenient().when(roomRepository.findById(10L)).thenReturn(Optional.of(Room.builder().id(10L).build()));
+        lenient().when(bookingSeriesRepository.save(any(BookingSeries.class))).thenAnswer(invocation -> {
+            BookingSeries series = invocation.getArgument(0);
+            series.setId(7L);
+            return series;
+        });
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setId(ids.incrementAndGet()));
+            return bookings;
+        });
+    }
+
+    @Test
+    void createSeries_weeklyForFourteenWeeks_usesOneLookupOfEachKind() {
+        when(holidayCalendar.holidaysBetween(first.toLocalDate(), LocalDate.of(2030, 12, 3)))
+                .thenReturn(List.of(LocalDate.of(2030, 10, 1)));
+        when(bookingRepository.findActiveIntervalsForRooms(eq(Set.of(10L)), eq(first), eq(first.plusWeeks(13).plusHours(2))))
+                .thenReturn(List.of());
+
+        BookingSeriesResultDto result = bookingSeriesService.createSeries(
+                request(BookingSeries.Frequency.WEEKLY, LocalDate.of(2030, 12, 3), List.of(LocalDate.of(2030, 10, 29)), null), 1L, "faculty");
+
+        assertEquals(7L, result.getSeriesId());
+        assertEquals(14, result.getOccurrences().size());
+        assertEquals(12, result.getBookedCount());
+        assertEquals(2, result.getSkippedCount());
+        assertEquals(SeriesOccurrenceDto.Outcome.HOLIDAY, result.getOccurrences().get(4).getOutcome());
+        assertEquals(SeriesOccurrenceDto.Outcome.EXCEPTION, result.getOccurrences().get(8).getOutcome());
+        assertEquals(SeriesOccurrenceDto.Outcome.BOOKED, result.getOccurrences().get(13).getOutcome());
+        assertNotNull(result.getOccurrences().get(0).getBookingId());
+
+        verify(holidayCalendar, times(1)).holidaysBetween(any(), any());
+        verify(bookingRepository, times(1)).findActiveIntervalsForRooms(any(), any(), any());
+        verify(bookingRepository, times(1)).saveAll(argThat(bookings -> ((Collection<?>) bookings).size() == 12));
+        verify(bookingHistoryRepository, times(1)).saveAll(anyList());
+        verify(admissionLocks).lockUntilCompletion(10L);
+    }
+
+    @Test
+    void createSeries_biweeklyConflict_failsWholeSeriesByDefault() {
+        when(holidayCalendar.holidaysBetween(any(), any())).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsForRooms(any(), any(), any())).thenReturn(List.of(
+                interval(first.plusWeeks(2).plusHours(1), first.plusWeeks(2).plusHours(3))));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> bookingSeriesService.createSeries(
+                request(BookingSeries.Frequency.BIWEEKLY, LocalDate.of(2030, 10, 1), null, null), 1L, "faculty"));
+
+        assertTrue(ex.getMessage().contains("2030-09-17"));
+        verify(bookingSeriesRepository, never()).save(any());
+        verify(bookingRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void createSeries_skipConflicts_booksTheRest() {
+        when(holidayCalendar.holidaysBetween(any(), any())).thenReturn(List.of());
+        when(bookingRepository.findActiveIntervalsForRooms(any(), any(), any())).thenReturn(List.of(
+                interval(first.minusHours(1), first.plusMinutes(30)),
+                interval(first.plusWeeks(2).plusHours(1), first.plusWeeks(2).plusHours(3))));
+
+        BookingSeriesResultDto result = bookingSeriesService.createSeries(
+                request(BookingSeries.Frequency.BIWEEKLY, LocalDate.of(2030, 10, 1), null, true), 1L, "faculty");
+
+        assertEquals(List.of(SeriesOccurrenceDto.Outcome.CONFLICT, SeriesOccurrenceDto.Outcome.CONFLICT,
+                        SeriesOccurrenceDto.Outcome.BOOKED),
+                result.getOccurrences().stream().map(SeriesOccurrenceDto::getOutcome).toList());
+        assertEquals(1, result.getBookedCount());
+    }
+
+    @Test
+    void createSeries_rejectsTooManyOccurrences() {
+        assertThrows(IllegalArgumentException.class, () -> bookingSeriesService.createSeries(
+                request(BookingSeries.Frequency.WEEKLY, LocalDate.of(2032, 1, 1), null, null), 1L, "faculty"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void createSeries_rejectsAnotherUsersId() {
+        assertThrows(UnauthorizedActionException.class, () -> bookingSeriesService.createSeries(
+                request(BookingSeries.Frequency.WEEKLY, LocalDate.of(2030, 12, 3), null, null), 1L, "mallory"));
+        verifyNoInteractions(bookingRepository);
+        verify(bookingSeriesRepository, never()).save(any());
+    }
+
+    private BookingSeriesRequestDto request(BookingSeries.Frequency frequency, LocalDate until,
+                                            List<LocalDate> exceptions, Boolean skipConflicts) {
+        return BookingSeriesRequestDto.builder()
+                .roomId(10L)
+                .startTime(first)
+                .endTime(first.plusHours(2))
+                .purpose("Lab")
+                .frequency(frequency)
+                .until(until)
+                .exceptions(exceptions)
+                .skipConflicts(skipConflicts)
+                .build();
+    }
+
+    private BookingIntervalProjection interval(LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return null; }
+            public Long getRoomId() { return 10L; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
@@ -1,22 +1,37 @@
 package com.example.University.service;
 
+import com.example.University.dto.BookingIntervalProjection;
 import com.example.University.dto.BookingRequestDTO;
 import com.example.University.dto.BookingResponseDTO;
+import com.example.University.dto.BookingTargetProjection;
 import com.example.University.entity.Booking;
 import com.example.University.entity.Role;
 import com.example.University.entity.Room;
 import com.example.University.entity.User;
+import com.example.University.exception.UnauthorizedActionException;
 import com.example.University.repository.*;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.AvailabilityResultCache;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import com.example.University.service.availability.SlotOccupancyMatrix;
+import com.example.University.service.history.BookingHistoryWriter;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,6 +50,22 @@ class BookingServiceTest {
     private HolidayRepository holidayRepository;
     @Mock
     private HolidayService holidayService;
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+    @Mock
+    private SlotOccupancyMatrix occupancyMatrix;
+    @Mock
+    private HolidayCalendar holidayCalendar;
+    @Mock
+    private AvailabilityResultCache availabilityCache;
+    @Mock
+    private RoomAdmissionLocks admissionLocks;
+    @Mock
+    private SlotClaimRegistry slotClaims;
+    @Mock
+    private BookingHistoryWriter historyWriter;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookingService bookingService;
@@ -148,5 +179,105 @@ class BookingServiceTest {
         assertThrows(IllegalStateException.class,
                 () -> bookingService.createBooking(request, studentUser.getId()));
     }
-}
 
+    @Test
+    void createBooking_lean_usesProjectionAndReferencesOnly() {
+        when(roomRepository.findBookingTarget(room.getId(), studentUser.getId(), "student")).thenReturn(Optional.of(target(true, 1)));
+        when(roomRepository.getReferenceById(room.getId())).thenReturn(room);
+        when(userRepository.getReferenceById(studentUser.getId())).thenReturn(studentUser);
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking b = invocation.getArgument(0);
+            b.setId(99L);
+            return b;
+        });
+
+        BookingResponseDTO response = bookingService.createBooking(request, studentUser.getId(), "student", Set.of(Role.RoleName.STUDENT));
+
+        assertEquals(99L, response.getId());
+        assertEquals(room.getId(), response.getRoomId());
+        assertEquals(studentUser.getId(), response.getUserId());
+        verify(roomRepository, never()).findById(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void createBooking_inactiveRoom() {
+        room.setIsActive(false);
+        when(roomRepository.findById(room.getId())).thenReturn(Optional.of(room));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(request, studentUser.getId()));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_lean_rejectsInactiveRoomAndOtherUsers() {
+        when(roomRepository.findBookingTarget(room.getId(), studentUser.getId(), "student")).thenReturn(Optional.of(target(false, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(request, studentUser.getId(), "student", Set.of(Role.RoleName.STUDENT)));
+
+        when(roomRepository.findBookingTarget(room.getId(), studentUser.getId(), "student")).thenReturn(Optional.of(target(true, 0)));
+        assertThrows(UnauthorizedActionException.class,
+                () -> bookingService.createBooking(request, studentUser.getId(), "student", Set.of(Role.RoleName.STUDENT)));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void createBooking_lean_checksCallerRoles() {
+        when(roomRepository.findBookingTarget(room.getId(), studentUser.getId(), "student")).thenReturn(Optional.of(target(true, 1)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(request, studentUser.getId(), "student", Set.of(Role.RoleName.ADMIN)));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void getFreeSlots_excludesHolidays() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 6, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 8, 18, 0);
+        Booking busy = Booking.builder()
+                .startTime(LocalDateTime.of(2030, 1, 6, 10, 0))
+                .endTime(LocalDateTime.of(2030, 1, 6, 12, 0))
+                .build();
+        when(bookingRepository.findActiveBookingsInRange(room.getId(), start, end)).thenReturn(List.of(busy));
+        when(holidayCalendar.holidaysBetween(start.toLocalDate(), end.toLocalDate()))
+                .thenReturn(List.of(LocalDate.of(2030, 1, 7)));
+
+        List<BookingService.TimeSlot> slots = bookingService.getFreeSlots(room.getId(), start, end);
+
+        assertEquals(3, slots.size());
+        assertEquals(start, slots.get(0).getStart());
+        assertEquals(LocalDateTime.of(2030, 1, 6, 10, 0), slots.get(0).getEnd());
+        assertEquals(LocalDateTime.of(2030, 1, 6, 12, 0), slots.get(1).getStart());
+        assertEquals(LocalDateTime.of(2030, 1, 7, 0, 0), slots.get(1).getEnd());
+        assertEquals(LocalDateTime.of(2030, 1, 8, 0, 0), slots.get(2).getStart());
+        assertEquals(end, slots.get(2).getEnd());
+    }
+
+    @Test
+    void streamFreeSlots_emitsGapsFromCursor() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 6, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 6, 18, 0);
+        BookingIntervalProjection busy = mock(BookingIntervalProjection.class);
+        when(busy.getStartTime()).thenReturn(LocalDateTime.of(2030, 1, 6, 10, 0));
+        when(busy.getEndTime()).thenReturn(LocalDateTime.of(2030, 1, 6, 12, 0));
+        when(bookingRepository.streamActiveIntervalsInRange(room.getId(), start, end)).thenReturn(Stream.of(busy));
+
+        List<BookingService.TimeSlot> slots = new ArrayList<>();
+        bookingService.streamFreeSlots(room.getId(), start, end, slots::add);
+
+        assertEquals(2, slots.size());
+        assertEquals(LocalDateTime.of(2030, 1, 6, 10, 0), slots.get(0).getEnd());
+        assertEquals(LocalDateTime.of(2030, 1, 6, 12, 0), slots.get(1).getStart());
+        assertEquals(end, slots.get(1).getEnd());
+        verify(bookingRepository, never()).findActiveBookingsInRange(any(), any(), any());
+    }
+
+    private BookingTargetProjection target(boolean roomActive, long callerCount) {
+        return new BookingTargetProjection() {
+            public Boolean getRoomActive() { return roomActive; }
+            public Long getCallerCount() { return callerCount; }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BulkBookingItemResultDto;
+import com.example.University.dto.BulkBookingResultDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.impl.BulkBookingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkBookingServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HolidayCalendar holidayCalendar;
+
+    @Mock
+    private RoomAdmissionLocks admissionLocks;
+
+    @Mock
+    private SlotClaimRegistry slotClaims;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BulkBookingServiceImpl bulkBookingService;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        student = User.builder()
+                .id(1L)
+                .username("student")
+                .roles(Set.of(Role.builder().name(Role.RoleName.STUDENT).build()))
+                .build();
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(student));
+        lenient().when(roomRepository.findAllById(any())).thenReturn(List.of(
+                Room.builder().id(10L).isActive(true).build(),
+                Room.builder().id(20L).isActive(true).build(),
+                Room.builder().id(30L).isActive(false).build()));
+        lenient().when(holidayCalendar.holidaysBetween(any(), any())).thenReturn(List.of());
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(bookingRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Booking> bookings = invocation.getArgument(0);
+            bookings.forEach(booking -> booking.setId(ids.incrementAndGet()));
+            return bookings;
+        });
+    }
+
+    @Test
+    void createBookings_reportsEachItemInRequestOrder() {
+        when(bookingRepository.findActiveIntervalsForRooms(eq(Set.of(10L, 20L)), any(), any())).thenReturn(List.of(
+                interval(10L, day.plusHours(9), day.plusHours(10))));
+
+        BulkBookingResultDto result = bulkBookingService.createBookings(List.of(
+                request(10L, 11, 12),
+                request(10L, 9, 10),        // existing booking
+                request(20L, 9, 11),
+                request(20L, 10, 12),       // overlaps item 2
+                request(30L, 9, 10),        // inactive room
+                request(99L, 9, 10),        // unknown room
+                request(10L, 12, 13)), 1L, "student");
+
+        assertEquals(3, result.getAcceptedCount());
+        assertEquals(4, result.getRejectedCount());
+        List<BulkBookingItemResultDto> items = result.getItems();
+        assertEquals(List.of(true, false, true, false, false, false, true),
+                items.stream().map(BulkBookingItemResultDto::getAccepted).toList());
+        assertEquals("Overlaps with an existing booking", items.get(1).getReason());
+        assertEquals("Overlaps with another booking in this request", items.get(3).getReason());
+        assertEquals("Room is not active", items.get(4).getReason());
+        assertEquals("Room not found", items.get(5).getReason());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(i, items.get(i).getIndex());
+        }
+        assertNotNull(items.get(0).getBookingId());
+
+        verify(bookingRepository, times(1)).saveAll(anyList());
+        verify(bookingHistoryRepository, times(1)).saveAll(anyList());
+        verify(slotClaims).claimAll(argThat(bookings -> bookings.size() == 3));
+        verify(eventPublisher, times(3)).publishEvent(any(Object.class));
+        verify(admissionLocks).lockAllUntilCompletion(Set.of(10L, 20L));
+    }
+
+    @Test
+    void createBookings_checksAdjacencyAcrossUnsortedInput() {
+        when(bookingRepository.findActiveIntervalsForRooms(any(), any(), any())).thenReturn(List.of());
+        List<BookingRequestDTO> requests = new ArrayList<>();
+        for (int hour = 8; hour < 18; hour++) {
+            requests.add(request(10L, hour, hour + 1));
+        }
+        Collections.reverse(requests);
+
+        BulkBookingResultDto result = bulkBookingService.createBookings(requests, 1L, "student");
+
+        assertEquals(10, result.getAcceptedCount());
+        assertEquals(0, result.getRejectedCount());
+    }
+
+    @Test
+    void createBookings_rejectsHolidaysAndInvalidTimes() {
+        when(holidayCalendar.holidaysBetween(LocalDate.of(2030, 3, 5), LocalDate.of(2030, 3, 5)))
+                .thenReturn(List.of(LocalDate.of(2030, 3, 5)));
+
+        BulkBookingResultDto result = bulkBookingService.createBookings(List.of(
+                BookingRequestDTO.builder().roomId(10L).startTime(day.plusDays(1).plusHours(9))
+                        .endTime(day.plusDays(1).plusHours(10)).purpose("Lecture").build(),
+                request(10L, 12, 11)), 1L, "student");
+
+        assertEquals(0, result.getAcceptedCount());
+        assertEquals("Booking cannot be made on a holiday", result.getItems().get(0).getReason());
+        assertEquals("End time must be after start time", result.getItems().get(1).getReason());
+        verify(bookingRepository, never()).findActiveIntervalsForRooms(any(), any(), any());
+    }
+
+    @Test
+    void createBookings_requiresStudentOrFaculty() {
+        User admin = User.builder().id(2L).username("admin").roles(Set.of(Role.builder().name(Role.RoleName.ADMIN).build())).build();
+        when(userRepository.findById(2L)).thenReturn(Optional.of(admin));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkBookingService.createBookings(List.of(request(10L, 9, 10)), 2L, "admin"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void createBookings_rejectsAnotherUsersId() {
+        assertThrows(UnauthorizedActionException.class,
+                () -> bulkBookingService.createBookings(List.of(request(10L, 9, 10)), 1L, "mallory"));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private BookingRequestDTO request(Long roomId, int startHour, int endHour) {
+        return BookingRequestDTO.builder()
+                .roomId(roomId)
+                .startTime(day.plusHours(startHour))
+                .endTime(day.plusHours(endHour))
+                .purpose("Lecture")
+                .build();
+    }
+
+    private BookingIntervalProjection interval(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return null; }
+            public Long getRoomId() { return roomId; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
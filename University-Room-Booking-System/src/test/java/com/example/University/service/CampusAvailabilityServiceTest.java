@@ -0,0 +1,108 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.BuildingAvailabilityDto;
+import com.example.University.dto.CampusAvailabilityDto;
+import com.example.University.entity.Building;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.impl.CampusAvailabilityServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CampusAvailabilityServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private HolidayCalendar holidayCalendar;
+
+    private CampusAvailabilityServiceImpl campusAvailabilityService;
+
+    private final LocalDateTime from = LocalDateTime.of(2030, 3, 4, 8, 0);
+    private final LocalDateTime to = LocalDateTime.of(2030, 3, 4, 18, 0);
+
+    @BeforeEach
+    void setUp() {
+        campusAvailabilityService = new CampusAvailabilityServiceImpl(roomRepository, bookingRepository, holidayCalendar, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        campusAvailabilityService.shutdown();
+    }
+
+    @Test
+    void getCampusAvailability_groupsByBuildingFromOneBulkFetch() {
+        Building north = Building.builder().id(1L).name("North").build();
+        Building south = Building.builder().id(2L).name("South").build();
+        when(roomRepository.findAllActiveWithBuilding()).thenReturn(List.of(
+                room(10L, north), room(11L, north), room(20L, south), room(30L, Building.builder().id(3L).name("East").build())));
+        when(bookingRepository.findActiveIntervalsInRange(from, to)).thenReturn(List.of(
+                interval(10L, from.plusHours(1), from.plusHours(2)),
+                interval(20L, from.minusHours(1), to.plusHours(1))));
+        when(holidayCalendar.holidaysBetween(from.toLocalDate(), to.toLocalDate())).thenReturn(List.of());
+
+        CampusAvailabilityDto result = campusAvailabilityService.getCampusAvailability(from, to);
+
+        assertEquals(List.of(1L, 2L, 3L), result.getBuildings().stream().map(BuildingAvailabilityDto::getBuildingId).toList());
+        BuildingAvailabilityDto northResult = result.getBuildings().get(0);
+        assertEquals(2, northResult.getRooms().get(0).getFreeSlots().size());
+        assertEquals(1, northResult.getRooms().get(1).getFreeSlots().size());
+        assertTrue(result.getBuildings().get(1).getRooms().get(0).getFreeSlots().isEmpty());
+        verify(bookingRepository, times(1)).findActiveIntervalsInRange(from, to);
+    }
+
+    @Test
+    void getCampusAvailability_cutsHolidays() {
+        Building north = Building.builder().id(1L).name("North").build();
+        when(roomRepository.findAllActiveWithBuilding()).thenReturn(List.of(room(10L, north)));
+        when(bookingRepository.findActiveIntervalsInRange(from, to.plusDays(1))).thenReturn(List.of());
+        when(holidayCalendar.holidaysBetween(from.toLocalDate(), to.toLocalDate().plusDays(1)))
+                .thenReturn(List.of(LocalDate.of(2030, 3, 5)));
+
+        CampusAvailabilityDto result = campusAvailabilityService.getCampusAvailability(from, to.plusDays(1));
+
+        List<BookingService.TimeSlot> slots = result.getBuildings().get(0).getRooms().get(0).getFreeSlots();
+        assertEquals(1, slots.size());
+        assertEquals(LocalDateTime.of(2030, 3, 5, 0, 0), slots.get(0).getEnd());
+    }
+
+    @Test
+    void getCampusAvailability_rejectsLongRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> campusAvailabilityService.getCampusAvailability(from, from.plusDays(40)));
+        verifyNoInteractions(roomRepository);
+    }
+
+    private Room room(Long id, Building building) {
+        return Room.builder().id(id).name("Room " + id).roomNumber(String.valueOf(id)).building(building).build();
+    }
+
+    private BookingIntervalProjection interval(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return null; }
+            public Long getRoomId() { return roomId; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
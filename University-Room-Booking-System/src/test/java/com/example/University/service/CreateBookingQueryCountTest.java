@@ -0,0 +1,111 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.entity.Building;
+import com.example.University.entity.Role;
+import com.example.University.entity.Room;
+import com.example.University.entity.User;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.RoleRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL statements and entity loads one booking costs on the entity-loading path and on the lean
+ * path used by the controller.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:create-booking-queries;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Slf4j
+class CreateBookingQueryCountTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final LocalDateTime day = LocalDateTime.of(2031, 5, 5, 0, 0);
+    private Statistics statistics;
+    private Room room;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Role role = roleRepository.findByName(Role.RoleName.STUDENT)
+                .orElseGet(() -> roleRepository.save(Role.builder().name(Role.RoleName.STUDENT).build()));
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        student = userRepository.save(User.builder()
+                .username("lean-" + suffix)
+                .email("lean-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("Lean")
+                .lastName("Path")
+                .roles(Set.of(role))
+                .build());
+        Building building = buildingRepository.save(Building.builder().name("Lean " + suffix).code("L-" + suffix).build());
+        room = roomRepository.save(Room.builder()
+                .name("Room " + suffix)
+                .roomNumber(suffix)
+                .capacity(30)
+                .roomType(Room.RoomType.CLASSROOM)
+                .building(building)
+                .build());
+    }
+
+    @Test
+    void leanPath_issuesFewerStatementsAndLoadsNoEntities() {
+        // Warm-up: the first booking also pays for the pooled sequence fetches
+        bookingService.createBooking(request(8), student.getId());
+
+        statistics.clear();
+        bookingService.createBooking(request(10), student.getId());
+        long entityPathStatements = statistics.getPrepareStatementCount();
+        long entityPathLoads = statistics.getEntityLoadCount();
+
+        statistics.clear();
+        bookingService.createBooking(request(12), student.getId(), student.getUsername(), Set.of(Role.RoleName.STUDENT));
+        long leanPathStatements = statistics.getPrepareStatementCount();
+        long leanPathLoads = statistics.getEntityLoadCount();
+
+        log.info("createBooking: entity path {} statements / {} entity loads, lean path {} statements / {} entity loads",
+                entityPathStatements, entityPathLoads, leanPathStatements, leanPathLoads);
+        assertTrue(leanPathStatements < entityPathStatements,
+                () -> "lean path used " + leanPathStatements + " statements, entity path " + entityPathStatements);
+        assertTrue(entityPathLoads >= 3, "room, user and their roles are loaded on the entity path");
+        assertEquals(0, leanPathLoads);
+    }
+
+    private BookingRequestDTO request(int startHour) {
+        return BookingRequestDTO.builder()
+                .roomId(room.getId())
+                .startTime(day.plusHours(startHour))
+                .endTime(day.plusHours(startHour + 1))
+                .purpose("Query count")
+                .build();
+    }
+}
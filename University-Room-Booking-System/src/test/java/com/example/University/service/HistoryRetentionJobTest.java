@@ -0,0 +1,121 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingHistoryArchiveProjection;
+import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import com.example.University.repository.BookingHistoryRepository;
+import com.example.University.service.retention.HistoryArchiveReader;
+import com.example.University.service.retention.HistoryRetentionJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryRetentionJobTest {
+
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path archiveDir;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2029, 1, 1, 0, 0);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HistoryRetentionJob job;
+    private HistoryArchiveReader reader;
+
+    @BeforeEach
+    void setUp() {
+        job = new HistoryRetentionJob(bookingHistoryRepository, transactionManager, meterRegistry,
+                true, archiveDir.toString(), 365, 2, 1);
+        reader = new HistoryArchiveReader(archiveDir.toString());
+    }
+
+    @Test
+    void archiveOlderThan_writesSegmentsThenDeletesEachChunkByIdRange() throws IOException {
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(row(1L, 7L, 1), row(2L, 8L, 2)));
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(row(5L, 7L, 3)));
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 5L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        when(bookingHistoryRepository.deleteExpiredInIdRange(1L, 2L, cutoff)).thenReturn(2);
+        when(bookingHistoryRepository.deleteExpiredInIdRange(5L, 5L, cutoff)).thenReturn(1);
+
+        assertEquals(3, job.archiveOlderThan(cutoff));
+
+        assertEquals(2, segmentFiles(".seg").size());
+        assertEquals(List.of(), segmentFiles(".seg.open"));
+        List<BookingHistoryResponseDTO> booking7 = reader.findByBookingId(7L);
+        assertEquals(List.of(5L, 1L), booking7.stream().map(BookingHistoryResponseDTO::getId).toList());
+        assertEquals("Ada Admin", booking7.get(0).getActionByUserName());
+        assertEquals("APPROVED", booking7.get(0).getNewStatus());
+        assertEquals(List.of(2L), reader.findByBookingId(8L).stream().map(BookingHistoryResponseDTO::getId).toList());
+        assertEquals(List.of(), reader.findByBookingId(9L));
+        assertEquals(3.0, meterRegistry.get("booking.history.retention.deleted").counter().count());
+    }
+
+    @Test
+    void archiveOlderThan_failedDeleteKeepsArchiveAndRowsForNextRun() {
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(row(1L, 7L, 1)));
+        when(bookingHistoryRepository.deleteExpiredInIdRange(anyLong(), anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> job.archiveOlderThan(cutoff));
+
+        // Archived twice once the next run re-reads the rows; the reader reports each row once
+        reset(bookingHistoryRepository);
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(row(1L, 7L, 1)));
+        when(bookingHistoryRepository.findExpiredForArchive(cutoff, 1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+        when(bookingHistoryRepository.deleteExpiredInIdRange(1L, 1L, cutoff)).thenReturn(1);
+
+        assertEquals(1, job.archiveOlderThan(cutoff));
+        assertEquals(1, reader.findByBookingId(7L).size());
+    }
+
+    private List<Path> segmentFiles(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(archiveDir)) {
+            return files.filter(file -> file.toString().endsWith(suffix)).toList();
+        }
+    }
+
+    private BookingHistoryArchiveProjection row(Long id, Long bookingId, int day) {
+        return new BookingHistoryArchiveProjection() {
+            public Long getId() { return id; }
+            public Long getBookingId() { return bookingId; }
+            public BookingHistory.BookingHistoryAction getAction() { return BookingHistory.BookingHistoryAction.APPROVED; }
+            public Long getActionById() { return 3L; }
+            public String getActionByName() { return "Ada Admin"; }
+            public LocalDateTime getActionAt() { return LocalDateTime.of(2027, 5, day, 9, 0); }
+            public String getReason() { return null; }
+            public Booking.BookingStatus getOldStatus() { return Booking.BookingStatus.PENDING; }
+            public Booking.BookingStatus getNewStatus() { return Booking.BookingStatus.APPROVED; }
+            public String getAdditionalNotes() { return null; }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.University.service;
+
+import com.example.University.entity.Holiday;
+import com.example.University.event.HolidaysChangedEvent;
+import com.example.University.repository.HolidayRepository;
+import com.example.University.service.availability.HolidayCalendar;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HolidayCalendarTest {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    @InjectMocks
+    private HolidayCalendar holidayCalendar;
+
+    @Test
+    void holidaysBetween_returnsActiveDatesInRange() {
+        when(holidayRepository.findByIsActiveTrueOrderByDateAsc()).thenReturn(List.of(
+                holiday(LocalDate.of(2030, 1, 1)),
+                holiday(LocalDate.of(2030, 1, 7)),
+                holiday(LocalDate.of(2030, 2, 1))));
+        holidayCalendar.afterSingletonsInstantiated();
+
+        assertEquals(List.of(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 7)),
+                holidayCalendar.holidaysBetween(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 31)));
+        assertTrue(holidayCalendar.isHoliday(LocalDate.of(2030, 2, 1)));
+        assertFalse(holidayCalendar.isHoliday(LocalDate.of(2030, 1, 2)));
+    }
+
+    @Test
+    void onHolidaysChanged_reloadsFromRepository() {
+        when(holidayRepository.findByIsActiveTrueOrderByDateAsc())
+                .thenReturn(List.of(holiday(LocalDate.of(2030, 1, 1))))
+                .thenReturn(List.of());
+        holidayCalendar.afterSingletonsInstantiated();
+        assertTrue(holidayCalendar.isHoliday(LocalDate.of(2030, 1, 1)));
+
+        holidayCalendar.onHolidaysChanged(new HolidaysChangedEvent(1L));
+
+        assertFalse(holidayCalendar.isHoliday(LocalDate.of(2030, 1, 1)));
+        verify(holidayRepository, times(2)).findByIsActiveTrueOrderByDateAsc();
+    }
+
+    private Holiday holiday(LocalDate date) {
+        Holiday holiday = new Holiday();
+        holiday.setDate(date);
+        holiday.setIsActive(true);
+        return holiday;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingRequestDTO;
+import com.example.University.dto.BookingResponseDTO;
+import com.example.University.entity.BookingIdempotencyKey;
+import com.example.University.exception.UnauthorizedActionException;
+import com.example.University.repository.BookingIdempotencyKeyRepository;
+import com.example.University.service.impl.IdempotentBookingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentBookingServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotentBookingServiceImpl idempotentBookingService;
+
+    private final BookingRequestDTO request = BookingRequestDTO.builder()
+            .roomId(1L)
+            .startTime(LocalDateTime.of(2030, 3, 4, 10, 0))
+            .endTime(LocalDateTime.of(2030, 3, 4, 11, 0))
+            .purpose("Seminar")
+            .build();
+    private final BookingResponseDTO created = new BookingResponseDTO(
+            42L, 1L, 5L, request.getStartTime(), request.getEndTime(), "Seminar", "PENDING", null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotentBookingService = new IdempotentBookingServiceImpl(
+                bookingService, idempotencyKeyRepository, transactionManager, meterRegistry, 100, 24);
+        lenient().when(idempotencyKeyRepository.saveAndFlush(any(BookingIdempotencyKey.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void createBooking_replayFromMemory_skipsDatabase() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1")).thenReturn(Optional.empty());
+        when(bookingService.createBooking(request, 5L)).thenReturn(created);
+
+        BookingResponseDTO first = idempotentBookingService.createBooking(request, 5L, "alice", "key-1");
+        BookingResponseDTO retry = idempotentBookingService.createBooking(request, 5L, "alice", "key-1");
+
+        assertSame(first, retry);
+        verify(bookingService, times(1)).createBooking(request, 5L);
+        verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(5L, "key-1");
+        assertEquals(1.0, counter("replay_memory"));
+        assertEquals(1.0, counter("executed"));
+    }
+
+    @Test
+    void createBooking_sameKeyDifferentRequest_isRejected() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1")).thenReturn(Optional.empty());
+        when(bookingService.createBooking(request, 5L)).thenReturn(created);
+        idempotentBookingService.createBooking(request, 5L, "alice", "key-1");
+
+        BookingRequestDTO other = BookingRequestDTO.builder()
+                .roomId(2L)
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .purpose("Seminar")
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> idempotentBookingService.createBooking(other, 5L, "alice", "key-1"));
+        verify(bookingService, times(1)).createBooking(any(), any());
+    }
+
+    @Test
+    void createBooking_afterRestart_replaysStoredKey() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1")).thenReturn(Optional.empty());
+        when(bookingService.createBooking(request, 5L)).thenReturn(created);
+        idempotentBookingService.createBooking(request, 5L, "alice", "key-1");
+        ArgumentCaptor<BookingIdempotencyKey> stored = ArgumentCaptor.forClass(BookingIdempotencyKey.class);
+        verify(idempotencyKeyRepository).saveAndFlush(stored.capture());
+        assertEquals(42L, stored.getValue().getBookingId());
+
+        IdempotentBookingServiceImpl restarted = new IdempotentBookingServiceImpl(
+                bookingService, idempotencyKeyRepository, transactionManager, meterRegistry, 100, 24);
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1")).thenReturn(Optional.of(stored.getValue()));
+        when(bookingService.getBooking(42L)).thenReturn(created);
+
+        assertEquals(created, restarted.createBooking(request, 5L, "alice", "key-1"));
+        verify(bookingService, times(1)).createBooking(request, 5L);
+        assertEquals(1.0, counter("replay_stored"));
+    }
+
+    @Test
+    void createBooking_concurrentTwin_isAnsweredFromItsRow() {
+        List<BookingIdempotencyKey> claimed = new ArrayList<>();
+        when(idempotencyKeyRepository.saveAndFlush(any(BookingIdempotencyKey.class))).thenAnswer(invocation -> {
+            claimed.add(invocation.getArgument(0));
+            throw new DataIntegrityViolationException("uk_idempotency_user_key");
+        });
+        // Empty while racing, then the row the twin committed with the same request
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1"))
+                .thenReturn(Optional.empty())
+                .thenAnswer(invocation -> {
+                    BookingIdempotencyKey twin = claimed.get(0);
+                    twin.setBookingId(42L);
+                    return Optional.of(twin);
+                });
+        when(bookingService.getBooking(42L)).thenReturn(created);
+
+        assertEquals(created, idempotentBookingService.createBooking(request, 5L, "alice", "key-1"));
+        verify(bookingService, never()).createBooking(any(), any());
+        assertEquals(1.0, counter("replay_stored"));
+    }
+
+    @Test
+    void createBooking_violationWhileBooking_propagatesWithoutReplay() {
+        when(idempotencyKeyRepository.findByUserIdAndIdempotencyKey(5L, "key-1")).thenReturn(Optional.empty());
+        when(bookingService.createBooking(request, 5L))
+                .thenThrow(new DataIntegrityViolationException("uk_slot_claim_room_slot"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> idempotentBookingService.createBooking(request, 5L, "alice", "key-1"));
+        // Only the lookup inside the failed transaction; no second attempt to answer from a twin's row
+        verify(idempotencyKeyRepository, times(1)).findByUserIdAndIdempotencyKey(5L, "key-1");
+        verify(bookingService, never()).getBooking(any());
+    }
+
+    @Test
+    void createBooking_rejectsAnotherUsersId_beforeAnyReplay() {
+        doThrow(new UnauthorizedActionException("You can only create bookings for yourself"))
+                .when(bookingService).checkCaller(5L, "mallory");
+
+        assertThrows(UnauthorizedActionException.class,
+                () -> idempotentBookingService.createBooking(request, 5L, "mallory", "key-1"));
+        verifyNoInteractions(idempotencyKeyRepository);
+        verify(bookingService, never()).createBooking(any(), any());
+    }
+
+    @Test
+    void createBooking_rejectsOverlongKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotentBookingService.createBooking(request, 5L, "alice", "k".repeat(101)));
+        verifyNoInteractions(idempotencyKeyRepository, bookingService);
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get("booking.idempotency.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.University.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Same stress scenarios with the occupancy bitset answering the overlap check, which must reflect a committed
+ * booking before the room lock lets the next request in.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:occupancy-stress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "booking.admission.lock-timeout-ms=30000",
+        "booking.occupancy.enabled=true"
+})
+class OccupancyAdmissionStressTest extends BookingAdmissionStressTest {
+}
@@ -0,0 +1,94 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.OccupancyGridDto;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.impl.OccupancyGridServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyGridServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private OccupancyGridServiceImpl occupancyGridService;
+
+    private final LocalDate monday = LocalDate.of(2030, 3, 4);
+
+    @Test
+    void getBuildingGrid_encodesRunsPerRoomFromOneBulkFetch() {
+        Room lab = Room.builder().id(2L).name("Lab").roomNumber("202").build();
+        Room hall = Room.builder().id(1L).name("Hall").roomNumber("101").build();
+        when(roomRepository.findByBuildingId(7L)).thenReturn(List.of(lab, hall));
+        when(bookingRepository.findActiveIntervalsInBuilding(eq(7L), any(), any())).thenReturn(List.of(
+                interval(1L, monday.atTime(9, 0), monday.atTime(11, 0)),
+                interval(2L, monday.atTime(10, 30), monday.atTime(12, 0)),
+                interval(2L, monday.plusDays(1).atTime(8, 15), monday.plusDays(1).atTime(9, 0))));
+
+        OccupancyGridDto grid = occupancyGridService.getBuildingGrid(7L, monday, monday.plusDays(1), 60);
+
+        assertEquals(24, grid.getSlotsPerDay());
+        assertEquals(2, grid.getRows().size());
+        assertEquals(1L, grid.getRows().get(0).getRoomId());
+        assertEquals(List.of(9, 2, 37), grid.getRows().get(0).getRuns());
+        // 10:30-12:00 covers the 10h and 11h slots, 08:15-09:00 next day covers the 8h slot
+        assertEquals(List.of(10, 2, 20, 1, 15), grid.getRows().get(1).getRuns());
+        verify(bookingRepository, times(1)).findActiveIntervalsInBuilding(eq(7L), any(), any());
+    }
+
+    @Test
+    void getBuildingGrid_clipsBookingsOutsideRange() {
+        Room hall = Room.builder().id(1L).name("Hall").roomNumber("101").build();
+        when(roomRepository.findByBuildingId(7L)).thenReturn(List.of(hall));
+        when(bookingRepository.findActiveIntervalsInBuilding(eq(7L), any(), any())).thenReturn(List.of(
+                interval(1L, monday.minusDays(1).atTime(22, 0), monday.atTime(2, 0))));
+
+        OccupancyGridDto grid = occupancyGridService.getBuildingGrid(7L, monday, monday, 60);
+
+        assertEquals(List.of(0, 2, 22), grid.getRows().get(0).getRuns());
+    }
+
+    @Test
+    void getBuildingGrid_emptyBuildingSkipsBookingQuery() {
+        when(roomRepository.findByBuildingId(7L)).thenReturn(List.of());
+
+        OccupancyGridDto grid = occupancyGridService.getBuildingGrid(7L, monday, monday, 30);
+
+        assertTrue(grid.getRows().isEmpty());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getBuildingGrid_rejectsInvalidSlotLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> occupancyGridService.getBuildingGrid(7L, monday, monday, 7));
+    }
+
+    private BookingIntervalProjection interval(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return null; }
+            public Long getRoomId() { return roomId; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
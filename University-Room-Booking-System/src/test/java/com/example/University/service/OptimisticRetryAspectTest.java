@@ -0,0 +1,82 @@
+package com.example.University.service;
+
+import com.example.University.service.concurrency.OptimisticRetryAspect;
+import com.example.University.service.concurrency.RetryOnConflict;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.lang.annotation.Annotation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new OptimisticRetryAspect(meterRegistry, 3, 0);
+    }
+
+    @Test
+    void retry_reRunsTransitionAfterLostRace() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(conflict())
+                .thenReturn("approved");
+
+        assertEquals("approved", aspect.retry(joinPoint, annotation("approve")));
+
+        verify(joinPoint, times(2)).proceed();
+        assertEquals(1.0, meterRegistry.get("booking.transition.conflicts").tag("operation", "approve").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.transition.retries").tag("operation", "approve").counter().count());
+        assertNull(meterRegistry.find("booking.transition.exhausted").counter());
+    }
+
+    @Test
+    void retry_givesUpAfterMaxAttempts() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(conflict());
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> aspect.retry(joinPoint, annotation("cancel")));
+
+        assertEquals("Booking was modified concurrently, please retry", ex.getMessage());
+        verify(joinPoint, times(3)).proceed();
+        assertEquals(3.0, meterRegistry.get("booking.transition.conflicts").tag("operation", "cancel").counter().count());
+        assertEquals(2.0, meterRegistry.get("booking.transition.retries").tag("operation", "cancel").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.transition.exhausted").tag("operation", "cancel").counter().count());
+    }
+
+    @Test
+    void retry_doesNotSwallowOtherFailures() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("Only pending bookings can be approved"));
+
+        assertThrows(IllegalStateException.class, () -> aspect.retry(joinPoint, annotation("approve")));
+
+        verify(joinPoint, times(1)).proceed();
+        assertNull(meterRegistry.find("booking.transition.conflicts").counter());
+    }
+
+    private ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException("Booking", 1L);
+    }
+
+    private RetryOnConflict annotation(String operation) {
+        return new RetryOnConflict() {
+            public String value() { return operation; }
+            public Class<? extends Annotation> annotationType() { return RetryOnConflict.class; }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.University.service;
+
+import com.example.University.service.availability.PrimitiveTimeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveTimelineTest {
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @Test
+    void micros_roundTripKeepsSubSecondPrecision() {
+        LocalDateTime time = LocalDateTime.of(2030, 3, 4, 9, 15, 30, 123_456_000);
+
+        assertEquals(time, PrimitiveTimeline.fromMicros(PrimitiveTimeline.toMicros(time)));
+    }
+
+    @Test
+    void gaps_skipsOverlappingAndClipsToRange() {
+        PrimitiveTimeline busy = new PrimitiveTimeline(3);
+        busy.add(day.plusHours(7), day.plusHours(9));
+        busy.add(day.plusHours(8), day.plusHours(10));
+        busy.add(day.plusHours(12), day.plusHours(13));
+
+        List<BookingService.TimeSlot> free = busy
+                .gaps(PrimitiveTimeline.toMicros(day.plusHours(8)), PrimitiveTimeline.toMicros(day.plusHours(18)))
+                .toTimeSlots();
+
+        assertEquals(2, free.size());
+        assertEquals(day.plusHours(10), free.get(0).getStart());
+        assertEquals(day.plusHours(12), free.get(0).getEnd());
+        assertEquals(day.plusHours(13), free.get(1).getStart());
+        assertEquals(day.plusHours(18), free.get(1).getEnd());
+    }
+
+    @Test
+    void merged_coalescesTouchingIntervals() {
+        PrimitiveTimeline timeline = new PrimitiveTimeline(3);
+        timeline.add(day.plusHours(8), day.plusHours(9));
+        timeline.add(day.plusHours(9), day.plusHours(11));
+        timeline.add(day.plusHours(12), day.plusHours(13));
+
+        PrimitiveTimeline merged = timeline.merged();
+
+        assertEquals(2, merged.size());
+        assertEquals(PrimitiveTimeline.toMicros(day.plusHours(11)), merged.endAt(0));
+    }
+
+    @Test
+    void subtract_cutsWholeDaysOutOfSpanningSlot() {
+        PrimitiveTimeline free = new PrimitiveTimeline(1);
+        free.add(day.plusHours(12), day.plusDays(3).plusHours(6));
+
+        List<BookingService.TimeSlot> slots = free
+                .subtract(PrimitiveTimeline.ofDays(List.of(LocalDate.of(2030, 3, 5), LocalDate.of(2030, 3, 6))))
+                .toTimeSlots();
+
+        assertEquals(2, slots.size());
+        assertEquals(day.plusDays(1), slots.get(0).getEnd());
+        assertEquals(day.plusDays(3), slots.get(1).getStart());
+        assertEquals(day.plusDays(3).plusHours(6), slots.get(1).getEnd());
+    }
+
+    @Test
+    void gapWalker_streamsTheSameSlotsAsGapsThenSubtract() {
+        PrimitiveTimeline busy = new PrimitiveTimeline(3);
+        busy.add(day.plusHours(9), day.plusHours(11));
+        busy.add(day.plusHours(10), day.plusHours(12));
+        busy.add(day.plusDays(2).plusHours(14), day.plusDays(2).plusHours(15));
+        long rangeStart = PrimitiveTimeline.toMicros(day);
+        long rangeEnd = PrimitiveTimeline.toMicros(day.plusDays(3));
+        PrimitiveTimeline holidays = PrimitiveTimeline.ofDays(List.of(LocalDate.of(2030, 3, 5)));
+
+        PrimitiveTimeline streamed = new PrimitiveTimeline(4);
+        PrimitiveTimeline.GapWalker walker = new PrimitiveTimeline.GapWalker(rangeStart, rangeEnd,
+                new PrimitiveTimeline.Subtraction(holidays, streamed::add));
+        for (int i = 0; i < busy.size(); i++) {
+            walker.accept(busy.startAt(i), busy.endAt(i));
+        }
+        walker.finish();
+
+        PrimitiveTimeline batch = busy.gaps(rangeStart, rangeEnd).subtract(holidays);
+        assertEquals(bounds(batch), bounds(streamed));
+        assertEquals(4, streamed.size());
+        assertEquals(PrimitiveTimeline.toMicros(day.plusDays(1)), streamed.endAt(1));
+        assertEquals(PrimitiveTimeline.toMicros(day.plusDays(2)), streamed.startAt(2));
+    }
+
+    @Test
+    void timeSlotSink_convertsEndpointsAcrossDaysAndBeforeTheEpoch() {
+        List<BookingService.TimeSlot> slots = new ArrayList<>();
+        PrimitiveTimeline.TimeSlotSink sink = new PrimitiveTimeline.TimeSlotSink(slots::add);
+        LocalDateTime late = day.plusHours(23).plusMinutes(15).plusNanos(250_000);
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 22, 30);
+
+        sink.accept(PrimitiveTimeline.toMicros(day.plusHours(9)), PrimitiveTimeline.toMicros(late));
+        sink.accept(PrimitiveTimeline.toMicros(late), PrimitiveTimeline.toMicros(day.plusDays(1).plusHours(1)));
+        sink.accept(PrimitiveTimeline.toMicros(beforeEpoch), PrimitiveTimeline.toMicros(beforeEpoch.plusHours(2)));
+
+        assertEquals(day.plusHours(9), slots.get(0).getStart());
+        assertEquals(late, slots.get(0).getEnd());
+        assertEquals(day.plusDays(1).plusHours(1), slots.get(1).getEnd());
+        assertEquals(beforeEpoch, slots.get(2).getStart());
+        assertEquals(beforeEpoch.plusHours(2), slots.get(2).getEnd());
+    }
+
+    private List<Long> bounds(PrimitiveTimeline timeline) {
+        List<Long> bounds = new ArrayList<>();
+        for (int i = 0; i < timeline.size(); i++) {
+            bounds.add(timeline.startAt(i));
+            bounds.add(timeline.endAt(i));
+        }
+        return bounds;
+    }
+}
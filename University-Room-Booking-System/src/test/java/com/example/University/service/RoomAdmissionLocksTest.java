@@ -0,0 +1,96 @@
+package com.example.University.service;
+
+import com.example.University.service.admission.RoomAdmissionLocks;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomAdmissionLocksTest {
+
+    @Test
+    void lockAll_takesStripesInStripeOrderNotRoomOrder() throws Exception {
+        // With 64 stripes room 65 is on stripe 1 and room 2 on stripe 2. Taken in room order, an import of
+        // {2, 65} and one of {1, 2} would each hold one stripe and wait for the other's
+        RoomAdmissionLocks locks = new RoomAdmissionLocks(64, 5000);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            locks.lockUntilCompletion(2L);
+            held.countDown();
+            await(done);
+        }));
+        held.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Void> importer = CompletableFuture.runAsync(
+                () -> inTransaction(() -> locks.lockAllUntilCompletion(List.of(2L, 65L))));
+        Thread.sleep(100);
+        // The importer owns stripe 1 while it waits for stripe 2, so room 1 waits until the holder lets go
+        CompletableFuture<Long> probe = CompletableFuture.supplyAsync(() -> {
+            long started = System.nanoTime();
+            inTransaction(() -> locks.lockUntilCompletion(1L));
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        });
+        Thread.sleep(300);
+        done.countDown();
+
+        holder.get(5, TimeUnit.SECONDS);
+        importer.get(5, TimeUnit.SECONDS);
+        assertTrue(probe.get(5, TimeUnit.SECONDS) >= 200);
+    }
+
+    @Test
+    void lockAll_releasesTheStripesAlreadyHeldWhenOneTimesOut() throws Exception {
+        RoomAdmissionLocks locks = new RoomAdmissionLocks(64, 50);
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            locks.lockUntilCompletion(3L);
+            held.countDown();
+            await(done);
+        }));
+        held.await(5, TimeUnit.SECONDS);
+
+        assertThrows(IllegalStateException.class, () -> inTransaction(() -> locks.lockAllUntilCompletion(List.of(1L, 3L))));
+        // Stripe 1 was released with the failed transaction
+        CompletableFuture.runAsync(() -> inTransaction(() -> locks.lockUntilCompletion(1L))).get(5, TimeUnit.SECONDS);
+        done.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void lockAll_requiresATransaction() {
+        RoomAdmissionLocks locks = new RoomAdmissionLocks(64, 50);
+        assertThrows(IllegalStateException.class, () -> locks.lockAllUntilCompletion(List.of(1L)));
+    }
+
+    // Runs the work the way a transaction would: synchronizations complete whether it succeeds or fails
+    private static void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_ROLLED_BACK;
+        try {
+            work.run();
+            status = TransactionSynchronization.STATUS_COMMITTED;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingRepository;
+import com.example.University.service.availability.PrimitiveTimeline;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private RoomAvailabilityIndex index;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findAllActiveIntervals()).thenReturn(List.of());
+        index = new RoomAvailabilityIndex(bookingRepository, true);
+        index.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void isServing_afterLoad() {
+        assertTrue(index.isServing());
+    }
+
+    @Test
+    void isServing_falseWhenDisabled() {
+        RoomAvailabilityIndex disabled = new RoomAvailabilityIndex(bookingRepository, false);
+        disabled.afterSingletonsInstantiated();
+
+        assertFalse(disabled.isServing());
+    }
+
+    @Test
+    void iterateBusySlots_returnsOverlappingSortedByStart() {
+        index.onBookingStatusChanged(event(2L, 1L, 13, 14, Booking.BookingStatus.PENDING));
+        index.onBookingStatusChanged(event(1L, 1L, 9, 10, Booking.BookingStatus.APPROVED));
+        index.onBookingStatusChanged(event(3L, 1L, 18, 19, Booking.BookingStatus.PENDING));
+        index.onBookingStatusChanged(event(4L, 2L, 9, 17, Booking.BookingStatus.PENDING));
+
+        List<BookingService.TimeSlot> busy = busy(1L, day.plusHours(8), day.plusHours(15));
+
+        assertEquals(2, busy.size());
+        assertEquals(day.plusHours(9), busy.get(0).getStart());
+        assertEquals(day.plusHours(13), busy.get(1).getStart());
+    }
+
+    @Test
+    void iterateBusySlots_includesLongBookingStartingBeforeRange() {
+        index.onBookingStatusChanged(event(1L, 1L, 0, 20, Booking.BookingStatus.APPROVED));
+        index.onBookingStatusChanged(event(2L, 1L, 6, 7, Booking.BookingStatus.PENDING));
+
+        List<BookingService.TimeSlot> busy = busy(1L, day.plusHours(12), day.plusHours(13));
+
+        assertEquals(1, busy.size());
+        assertEquals(day.plusHours(20), busy.get(0).getEnd());
+    }
+
+    @Test
+    void forEachBusy_pushesOverlappingIntervalsInMicros() {
+        index.onBookingStatusChanged(event(1L, 1L, 0, 20, Booking.BookingStatus.APPROVED));
+        index.onBookingStatusChanged(event(2L, 1L, 21, 22, Booking.BookingStatus.PENDING));
+
+        PrimitiveTimeline busy = new PrimitiveTimeline(2);
+        index.forEachBusy(1L, day.plusHours(12), day.plusHours(21).plusMinutes(30), busy::add);
+
+        assertEquals(2, busy.size());
+        assertEquals(PrimitiveTimeline.toMicros(day), busy.startAt(0));
+        assertEquals(PrimitiveTimeline.toMicros(day.plusHours(22)), busy.endAt(1));
+    }
+
+    @Test
+    void onBookingStatusChanged_removesCancelledAndRejected() {
+        index.onBookingStatusChanged(event(1L, 1L, 9, 10, Booking.BookingStatus.PENDING));
+        index.onBookingStatusChanged(event(2L, 1L, 11, 12, Booking.BookingStatus.PENDING));
+
+        index.onBookingStatusChanged(event(1L, 1L, 9, 10, Booking.BookingStatus.REJECTED));
+        index.onBookingStatusChanged(event(2L, 1L, 11, 12, Booking.BookingStatus.CANCELLED));
+
+        assertTrue(busy(1L, day, day.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void iterateBusySlots_unknownRoomIsEmpty() {
+        assertTrue(busy(42L, day, day.plusDays(1)).isEmpty());
+    }
+
+    private List<BookingService.TimeSlot> busy(Long roomId, LocalDateTime from, LocalDateTime to) {
+        List<BookingService.TimeSlot> busy = new ArrayList<>();
+        index.iterateBusySlots(roomId, from, to).forEachRemaining(busy::add);
+        return busy;
+    }
+
+    private BookingStatusChangedEvent event(Long bookingId, Long roomId, int startHour, int endHour,
+                                            Booking.BookingStatus status) {
+        return new BookingStatusChangedEvent(bookingId, roomId,
+                day.plusHours(startHour), day.plusHours(endHour), null, status);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.University.service;
+
+import com.example.University.dto.AvailableRoomDto;
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.entity.Booking;
+import com.example.University.entity.Building;
+import com.example.University.entity.Room;
+import com.example.University.entity.RoomFeature;
+import com.example.University.entity.User;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BuildingRepository;
+import com.example.University.repository.FeatureRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:room-search;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+class RoomSearchTest {
+
+    @Autowired
+    private RoomService roomService;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private BuildingRepository buildingRepository;
+    @Autowired
+    private FeatureRepository featureRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final LocalDateTime start = LocalDateTime.of(2035, 4, 2, 10, 0);
+    private final LocalDateTime end = start.plusHours(2);
+    private Building building;
+    private Room classroom;
+    private Room lab;
+    private Room inactive;
+    private Room booked;
+    private RoomFeature projector;
+    private RoomFeature airConditioning;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        building = buildingRepository.save(Building.builder().name("Search " + suffix).code("S-" + suffix).build());
+        projector = featureRepository.save(RoomFeature.builder().name("Projector " + suffix).build());
+        airConditioning = featureRepository.save(RoomFeature.builder().name("AC " + suffix).build());
+
+        classroom = room(suffix + "-1", 30, Room.RoomType.CLASSROOM, true, Set.of(projector));
+        lab = room(suffix + "-2", 60, Room.RoomType.LABORATORY, true, Set.of(projector, airConditioning));
+        inactive = room(suffix + "-3", 60, Room.RoomType.LABORATORY, false, Set.of());
+        booked = room(suffix + "-4", 60, Room.RoomType.LABORATORY, true, Set.of(projector, airConditioning));
+
+        User user = userRepository.save(User.builder()
+                .username("search-" + suffix)
+                .email("search-" + suffix + "@university.edu")
+                .password("secret")
+                .firstName("Room")
+                .lastName("Search")
+                .build());
+        bookingRepository.save(Booking.builder().user(user).room(booked)
+                .startTime(start.plusHours(1)).endTime(end.plusHours(1)).purpose("Overlaps").build());
+        // Touches the window without overlapping it, so it does not hide the room
+        bookingRepository.save(Booking.builder().user(user).room(lab)
+                .startTime(end).endTime(end.plusHours(1)).purpose("Adjacent").build());
+    }
+
+    @Test
+    void searchAvailableRooms_withoutFiltersKeepsActiveFreeRooms() {
+        assertEquals(List.of(classroom.getId(), lab.getId()), search(request()));
+    }
+
+    @Test
+    void searchAvailableRooms_appliesEachFilterThatIsSet() {
+        RoomSearchRequestDto byCapacity = request();
+        byCapacity.setMinCapacity(40);
+        assertEquals(List.of(lab.getId()), search(byCapacity));
+
+        RoomSearchRequestDto byType = request();
+        byType.setRoomType(Room.RoomType.CLASSROOM);
+        assertEquals(List.of(classroom.getId()), search(byType));
+
+        RoomSearchRequestDto allFeatures = request();
+        allFeatures.setFeatureIds(Set.of(projector.getId(), airConditioning.getId()));
+        assertEquals(List.of(lab.getId()), search(allFeatures));
+
+        RoomSearchRequestDto oneFeature = request();
+        oneFeature.setFeatureIds(Set.of(projector.getId()));
+        assertEquals(List.of(classroom.getId(), lab.getId()), search(oneFeature));
+
+        RoomSearchRequestDto emptyFeatures = request();
+        emptyFeatures.setFeatureIds(Set.of());
+        assertEquals(List.of(classroom.getId(), lab.getId()), search(emptyFeatures));
+    }
+
+    @Test
+    void searchAvailableRooms_pagesByRoomId() {
+        RoomSearchRequestDto first = request();
+        first.setSize(1);
+        var page = roomService.searchAvailableRooms(first);
+        assertEquals(List.of(classroom.getId()), page.getRooms().stream().map(AvailableRoomDto::getId).toList());
+        assertEquals(classroom.getId(), page.getNextAfterId());
+
+        RoomSearchRequestDto next = request();
+        next.setAfterId(page.getNextAfterId());
+        assertEquals(List.of(lab.getId()), search(next));
+        assertFalse(search(request()).contains(inactive.getId()));
+    }
+
+    private List<Long> search(RoomSearchRequestDto request) {
+        return roomService.searchAvailableRooms(request).getRooms().stream().map(AvailableRoomDto::getId).toList();
+    }
+
+    private RoomSearchRequestDto request() {
+        RoomSearchRequestDto request = new RoomSearchRequestDto();
+        request.setStart(start);
+        request.setEnd(end);
+        request.setBuildingId(building.getId());
+        return request;
+    }
+
+    private Room room(String number, int capacity, Room.RoomType type, boolean active, Set<RoomFeature> features) {
+        return roomRepository.save(Room.builder()
+                .name("Room " + number)
+                .roomNumber(number)
+                .capacity(capacity)
+                .roomType(type)
+                .isActive(active)
+                .building(building)
+                .features(features)
+                .build());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.University.service;
 
 import com.example.University.dto.RoomDto;
+import com.example.University.dto.RoomSearchRequestDto;
+import com.example.University.dto.RoomSearchResponseDto;
 import com.example.University.entity.Building;
 import com.example.University.entity.Room;
 import com.example.University.entity.RoomFeature;
@@ -14,11 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -173,4 +178,47 @@ class RoomServiceTest {
         assertFalse(result.getFeatures().contains(testFeature));
         verify(roomRepository).save(testRoom);
     }
+
+    @Test
+    void testSearchAvailableRooms_ReturnsCursorWhenPageIsFull() {
+        RoomSearchRequestDto request = searchRequest();
+        request.setSize(1);
+        request.setMinCapacity(40);
+        when(roomRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testRoom));
+
+        RoomSearchResponseDto result = roomService.searchAvailableRooms(request);
+
+        assertEquals(1, result.getRooms().size());
+        assertEquals(1L, result.getRooms().get(0).getBuildingId());
+        assertEquals(1L, result.getNextAfterId());
+    }
+
+    @Test
+    void testSearchAvailableRooms_NoCursorOnLastPage() {
+        RoomSearchRequestDto request = searchRequest();
+        request.setFeatureIds(Set.of(1L));
+        request.setAfterId(5L);
+        when(roomRepository.findBy(any(Specification.class), any())).thenReturn(List.of(testRoom));
+
+        RoomSearchResponseDto result = roomService.searchAvailableRooms(request);
+
+        assertEquals(1, result.getRooms().size());
+        assertNull(result.getNextAfterId());
+    }
+
+    @Test
+    void testSearchAvailableRooms_InvalidWindow() {
+        RoomSearchRequestDto request = searchRequest();
+        request.setEnd(request.getStart().minusHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> roomService.searchAvailableRooms(request));
+        verify(roomRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    private RoomSearchRequestDto searchRequest() {
+        RoomSearchRequestDto request = new RoomSearchRequestDto();
+        request.setStart(LocalDateTime.of(2030, 5, 6, 14, 0));
+        request.setEnd(LocalDateTime.of(2030, 5, 6, 16, 0));
+        return request;
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.University.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Same stress scenarios with slot-claim admission, where the unique key rather than the room locks
+ * must keep concurrent requests from double-booking.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:slot-claim-stress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=30000",
+        "booking.slot-claims.enabled=true"
+})
+class SlotClaimAdmissionStressTest extends BookingAdmissionStressTest {
+}
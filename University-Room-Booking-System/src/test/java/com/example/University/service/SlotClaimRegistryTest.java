@@ -0,0 +1,131 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.SlotClaimSummaryProjection;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingSlotClaim;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.BookingSlotClaimRepository;
+import com.example.University.service.admission.SlotClaimRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotClaimRegistryTest {
+
+    @Mock
+    private BookingSlotClaimRepository slotClaimRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @Test
+    void claim_roundsOutToWholeQuanta() {
+        SlotClaimRegistry registry = registry(true);
+
+        registry.claim(booking(day.plusHours(9).plusMinutes(10), day.plusHours(9).plusMinutes(50)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookingSlotClaim>> captor = ArgumentCaptor.forClass(List.class);
+        verify(slotClaimRepository).saveAllAndFlush(captor.capture());
+        List<LocalDateTime> slots = captor.getValue().stream().map(BookingSlotClaim::getSlotStart).toList();
+        assertEquals(List.of(day.plusHours(9), day.plusHours(9).plusMinutes(15),
+                day.plusHours(9).plusMinutes(30), day.plusHours(9).plusMinutes(45)), slots);
+    }
+
+    @Test
+    void claim_mapsUniqueViolationToOverlap() {
+        SlotClaimRegistry registry = registry(true);
+        when(slotClaimRepository.saveAllAndFlush(anyList())).thenThrow(new DataIntegrityViolationException("uk_slot_claim_room_slot"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.claim(booking(day.plusHours(9), day.plusHours(10))));
+    }
+
+    @Test
+    void disabled_touchesNothing() {
+        SlotClaimRegistry registry = registry(false);
+
+        registry.claim(booking(day.plusHours(9), day.plusHours(10)));
+        registry.release(1L);
+
+        verifyNoInteractions(slotClaimRepository);
+    }
+
+    @Test
+    void release_bulkDeletesByBooking() {
+        registry(true).release(7L);
+
+        verify(slotClaimRepository).deleteByBookingId(7L);
+    }
+
+    @Test
+    void enable_reconcilesClaimsLeftBehindWhileDisabled() {
+        SlotClaimRegistry registry = registry(true);
+        // 1: claims match; 2: moved an hour later while disabled; 3: created while disabled
+        List<BookingIntervalProjection> active = List.of(
+                interval(1L, day.plusHours(9), day.plusHours(10)),
+                interval(2L, day.plusHours(12), day.plusHours(13)),
+                interval(3L, day.plusHours(14), day.plusHours(14).plusMinutes(30)));
+        List<SlotClaimSummaryProjection> claimed = List.of(
+                summary(1L, day.plusHours(9), day.plusHours(9).plusMinutes(45), 4),
+                summary(2L, day.plusHours(11), day.plusHours(11).plusMinutes(45), 4));
+        when(bookingRepository.findAllActiveIntervals()).thenReturn(active);
+        when(slotClaimRepository.summarizeByBooking()).thenReturn(claimed);
+
+        registry.afterSingletonsInstantiated();
+
+        verify(slotClaimRepository).deleteOrphaned();
+        verify(slotClaimRepository).deleteByBookingIdIn(List.of(2L));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookingSlotClaim>> captor = ArgumentCaptor.forClass(List.class);
+        verify(slotClaimRepository).saveAllAndFlush(captor.capture());
+        assertEquals(List.of(2L, 2L, 2L, 2L, 3L, 3L),
+                captor.getValue().stream().map(BookingSlotClaim::getBookingId).toList());
+        assertEquals(day.plusHours(12), captor.getValue().get(0).getSlotStart());
+    }
+
+    private SlotClaimRegistry registry(boolean enabled) {
+        return new SlotClaimRegistry(slotClaimRepository, bookingRepository, transactionManager, enabled, 15);
+    }
+
+    private Booking booking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().id(1L).room(Room.builder().id(3L).build()).startTime(start).endTime(end).build();
+    }
+
+    private BookingIntervalProjection interval(Long id, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalProjection interval = mock(BookingIntervalProjection.class);
+        when(interval.getId()).thenReturn(id);
+        when(interval.getRoomId()).thenReturn(3L);
+        when(interval.getStartTime()).thenReturn(start);
+        when(interval.getEndTime()).thenReturn(end);
+        return interval;
+    }
+
+    private SlotClaimSummaryProjection summary(Long bookingId, LocalDateTime first, LocalDateTime last, long count) {
+        SlotClaimSummaryProjection summary = mock(SlotClaimSummaryProjection.class);
+        when(summary.getBookingId()).thenReturn(bookingId);
+        lenient().when(summary.getFirstSlot()).thenReturn(first);
+        lenient().when(summary.getLastSlot()).thenReturn(last);
+        lenient().when(summary.getClaimCount()).thenReturn(count);
+        return summary;
+    }
+}
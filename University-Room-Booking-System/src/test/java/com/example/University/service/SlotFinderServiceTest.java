@@ -0,0 +1,166 @@
+package com.example.University.service;
+
+import com.example.University.dto.BookingIntervalProjection;
+import com.example.University.dto.SlotOptionDto;
+import com.example.University.dto.SlotSearchRequestDto;
+import com.example.University.entity.Room;
+import com.example.University.repository.BookingRepository;
+import com.example.University.repository.RoomRepository;
+import com.example.University.service.availability.HolidayCalendar;
+import com.example.University.service.availability.RoomAvailabilityIndex;
+import com.example.University.service.impl.SlotFinderServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotFinderServiceTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private HolidayCalendar holidayCalendar;
+
+    @InjectMocks
+    private SlotFinderServiceImpl slotFinderService;
+
+    private final LocalDate monday = LocalDate.of(2030, 3, 4);
+    private Room labA;
+    private Room labB;
+    private Room classroom;
+
+    @BeforeEach
+    void setUp() {
+        labA = Room.builder().id(1L).name("Lab A").roomNumber("L1").capacity(30)
+                .roomType(Room.RoomType.LABORATORY).isActive(true).build();
+        labB = Room.builder().id(2L).name("Lab B").roomNumber("L2").capacity(30)
+                .roomType(Room.RoomType.LABORATORY).isActive(true).build();
+        classroom = Room.builder().id(3L).name("Class").roomNumber("C1").capacity(60)
+                .roomType(Room.RoomType.CLASSROOM).isActive(true).build();
+        lenient().when(roomRepository.findByBuildingId(9L)).thenReturn(List.of(labA, labB, classroom));
+    }
+
+    @Test
+    void findEarliestSlots_mergesTimelinesAndReturnsEarliestGaps() {
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), any(), any(), any())).thenReturn(List.of(
+                interval(1L, monday.atTime(8, 0), monday.atTime(9, 0)),
+                interval(1L, monday.atTime(10, 0), monday.atTime(12, 0))));
+        when(bookingRepository.findActiveIntervalsInRoom(eq(2L), any(), any(), any())).thenReturn(List.of(
+                interval(2L, monday.atTime(8, 0), monday.atTime(10, 0))));
+
+        List<SlotOptionDto> options = slotFinderService.findEarliestSlots(
+                request(monday.atTime(8, 0), monday.atTime(18, 0), 120, 2));
+
+        assertEquals(2, options.size());
+        assertEquals(2L, options.get(0).getRoomId());
+        assertEquals(monday.atTime(10, 0), options.get(0).getStart());
+        assertEquals(monday.atTime(12, 0), options.get(0).getEnd());
+        assertEquals(1L, options.get(1).getRoomId());
+        assertEquals(monday.atTime(12, 0), options.get(1).getStart());
+    }
+
+    @Test
+    void findEarliestSlots_skipsHolidays() {
+        when(holidayCalendar.isHoliday(monday)).thenReturn(true);
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), any(), any(), any())).thenReturn(List.of());
+
+        List<SlotOptionDto> options = slotFinderService.findEarliestSlots(
+                request(monday.atTime(8, 0), monday.plusDays(2).atStartOfDay(), 120, 1));
+
+        assertEquals(1, options.size());
+        assertEquals(monday.plusDays(1).atStartOfDay(), options.get(0).getStart());
+    }
+
+    @Test
+    void findEarliestSlots_noGapLongEnough() {
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), any(), any(), any())).thenReturn(List.of(
+                interval(1L, monday.atTime(9, 0), monday.atTime(10, 0))));
+        when(bookingRepository.findActiveIntervalsInRoom(eq(2L), any(), any(), any())).thenReturn(List.of(
+                interval(2L, monday.atTime(8, 30), monday.atTime(9, 30))));
+
+        List<SlotOptionDto> options = slotFinderService.findEarliestSlots(
+                request(monday.atTime(8, 0), monday.atTime(10, 0), 90, 3));
+
+        assertTrue(options.isEmpty());
+    }
+
+    @Test
+    void findEarliestSlots_readsOnlyRoomsPolledBeforeTheHit() {
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), any(), any(), any())).thenReturn(List.of());
+
+        List<SlotOptionDto> options = slotFinderService.findEarliestSlots(
+                request(monday.atTime(8, 0), monday.atTime(18, 0), 60, 1));
+
+        assertEquals(1L, options.get(0).getRoomId());
+        verify(bookingRepository, never()).findActiveIntervalsInRoom(eq(2L), any(), any(), any());
+        verify(bookingRepository, never()).findActiveIntervalsForRooms(any(), any(), any());
+    }
+
+    @Test
+    void findEarliestSlots_pagesFromTheConsumedInstant() {
+        // A full page of back-to-back half-hour bookings, so the room has to read on from where it ended
+        List<BookingIntervalProjection> firstPage = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            firstPage.add(interval(1L, monday.atTime(8, 0).plusMinutes(30L * i), monday.atTime(8, 30).plusMinutes(30L * i)));
+        }
+        LocalDateTime pageEnd = monday.atTime(16, 0);
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), eq(monday.atTime(8, 0)), any(), any())).thenReturn(firstPage);
+        when(bookingRepository.findActiveIntervalsInRoom(eq(1L), eq(pageEnd), any(), any())).thenReturn(List.of(
+                interval(1L, pageEnd, pageEnd.plusMinutes(30))));
+        when(bookingRepository.findActiveIntervalsInRoom(eq(2L), any(), any(), any())).thenReturn(List.of(
+                interval(2L, monday.atTime(8, 0), monday.atTime(17, 0))));
+
+        List<SlotOptionDto> options = slotFinderService.findEarliestSlots(
+                request(monday.atTime(8, 0), monday.atTime(18, 0), 60, 1));
+
+        assertEquals(1L, options.get(0).getRoomId());
+        assertEquals(pageEnd.plusMinutes(30), options.get(0).getStart());
+    }
+
+    @Test
+    void findEarliestSlots_rejectsMissingDuration() {
+        SlotSearchRequestDto request = request(monday.atTime(8, 0), monday.atTime(10, 0), 0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> slotFinderService.findEarliestSlots(request));
+    }
+
+    private SlotSearchRequestDto request(LocalDateTime from, LocalDateTime to, int minutes, int limit) {
+        SlotSearchRequestDto request = new SlotSearchRequestDto();
+        request.setBuildingId(9L);
+        request.setRoomType(Room.RoomType.LABORATORY);
+        request.setFrom(from);
+        request.setTo(to);
+        request.setDurationMinutes(minutes);
+        request.setLimit(limit);
+        return request;
+    }
+
+    private BookingIntervalProjection interval(Long roomId, LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalProjection() {
+            public Long getId() { return null; }
+            public Long getRoomId() { return roomId; }
+            public LocalDateTime getStartTime() { return start; }
+            public LocalDateTime getEndTime() { return end; }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.University.service;
+
+import com.example.University.entity.Booking;
+import com.example.University.event.BookingStatusChangedEvent;
+import com.example.University.repository.BookingRepository;
+import com.example.University.service.availability.SlotOccupancyMatrix;
+import com.example.University.service.availability.SlotOccupancyMatrix.Answer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SlotOccupancyMatrixTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private SlotOccupancyMatrix matrix;
+
+    private final LocalDateTime day = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findAllActiveIntervals()).thenReturn(List.of());
+        matrix = new SlotOccupancyMatrix(bookingRepository, true, 15);
+        matrix.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void check_freeAndOccupiedForAlignedWindows() {
+        matrix.onBookingStatusChanged(event(1L, at(9, 0), at(10, 30), Booking.BookingStatus.PENDING));
+
+        assertEquals(Answer.OCCUPIED, matrix.check(1L, at(10, 15), at(11, 0), null));
+        assertEquals(Answer.FREE, matrix.check(1L, at(10, 30), at(11, 0), null));
+        assertEquals(Answer.FREE, matrix.check(1L, at(8, 0), at(9, 0), null));
+        assertEquals(Answer.FREE, matrix.check(2L, at(9, 0), at(10, 0), null));
+    }
+
+    @Test
+    void onBookingStatusChanged_movesAnActiveBookingToItsNewWindow() {
+        matrix.onBookingStatusChanged(event(1L, at(9, 0), at(10, 0), Booking.BookingStatus.PENDING));
+        matrix.onBookingStatusChanged(event(1L, at(14, 0), at(15, 0), Booking.BookingStatus.APPROVED));
+
+        assertEquals(Answer.FREE, matrix.check(1L, at(9, 0), at(10, 0), null));
+        assertEquals(Answer.OCCUPIED, matrix.check(1L, at(14, 0), at(15, 0), null));
+    }
+
+    @Test
+    void check_unknownForUnalignedWindow() {
+        assertEquals(Answer.UNKNOWN, matrix.check(1L, at(9, 5), at(10, 0), null));
+    }
+
+    @Test
+    void check_unknownOnDayWithUnalignedBooking() {
+        matrix.onBookingStatusChanged(event(1L, at(9, 10), at(9, 50), Booking.BookingStatus.PENDING));
+
+        assertEquals(Answer.UNKNOWN, matrix.check(1L, at(14, 0), at(15, 0), null));
+
+        matrix.onBookingStatusChanged(event(1L, at(9, 10), at(9, 50), Booking.BookingStatus.CANCELLED));
+
+        assertEquals(Answer.FREE, matrix.check(1L, at(14, 0), at(15, 0), null));
+    }
+
+    @Test
+    void check_excludesOwnBookingButNotSharedQuanta() {
+        matrix.onBookingStatusChanged(event(1L, at(9, 0), at(10, 0), Booking.BookingStatus.PENDING));
+
+        assertEquals(Answer.FREE, matrix.check(1L, at(9, 0), at(10, 0), 1L));
+
+        matrix.onBookingStatusChanged(event(2L, at(9, 45), at(11, 0), Booking.BookingStatus.PENDING));
+
+        assertEquals(Answer.OCCUPIED, matrix.check(1L, at(9, 0), at(10, 0), 1L));
+    }
+
+    @Test
+    void onBookingStatusChanged_rebuildsDayOnRemoval() {
+        matrix.onBookingStatusChanged(event(1L, at(9, 0), at(10, 0), Booking.BookingStatus.PENDING));
+        matrix.onBookingStatusChanged(event(2L, at(9, 30), at(11, 0), Booking.BookingStatus.APPROVED));
+
+        matrix.onBookingStatusChanged(event(1L, at(9, 0), at(10, 0), Booking.BookingStatus.REJECTED));
+
+        assertEquals(Answer.FREE, matrix.check(1L, at(9, 0), at(9, 30), null));
+        assertEquals(Answer.OCCUPIED, matrix.check(1L, at(9, 30), at(9, 45), null));
+    }
+
+    @Test
+    void check_spansMidnight() {
+        matrix.onBookingStatusChanged(event(1L, at(23, 0), day.plusDays(1).plusHours(1), Booking.BookingStatus.PENDING));
+
+        assertEquals(Answer.OCCUPIED, matrix.check(1L, day.plusDays(1), day.plusDays(1).plusMinutes(15), null));
+        assertEquals(Answer.FREE, matrix.check(1L, day.plusDays(1).plusHours(1), day.plusDays(1).plusHours(2), null));
+    }
+
+    @Test
+    void constructor_rejectsQuantumThatDoesNotDivideDay() {
+        assertThrows(IllegalArgumentException.class, () -> new SlotOccupancyMatrix(bookingRepository, true, 7));
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return day.withHour(hour).withMinute(minute);
+    }
+
+    private BookingStatusChangedEvent event(Long bookingId, LocalDateTime start, LocalDateTime end,
+                                            Booking.BookingStatus status) {
+        return new BookingStatusChangedEvent(bookingId, 1L, start, end, null, status);
+    }
+}
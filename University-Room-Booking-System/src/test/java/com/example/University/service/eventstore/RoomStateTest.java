@@ -0,0 +1,61 @@
+package com.example.University.service.eventstore;
+
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomStateTest {
+
+    private final LocalDateTime start = LocalDateTime.of(2033, 3, 7, 9, 0);
+
+    @Test
+    void encode_roundTripsEveryBookingAndTheSequence() {
+        RoomState state = RoomState.empty(5L);
+        state.apply(event(1, 10L, Booking.BookingStatus.PENDING, null));
+        state.apply(event(2, 11L, Booking.BookingStatus.PENDING, null));
+        state.apply(event(3, 10L, Booking.BookingStatus.CANCELLED, 99L));
+
+        RoomState decoded = RoomState.decode(state.encode());
+
+        assertEquals(5L, decoded.roomId());
+        assertEquals(3L, decoded.sequence());
+        assertEquals(0, decoded.replayed());
+        assertEquals(List.copyOf(state.bookings()), List.copyOf(decoded.bookings()));
+        assertEquals(Booking.BookingStatus.CANCELLED, decoded.booking(10L).status());
+        assertEquals(99L, decoded.booking(10L).cancelledBy());
+    }
+
+    @Test
+    void apply_rejectsGapsAndEventsOfOtherRooms() {
+        RoomState state = RoomState.empty(5L);
+        state.apply(event(1, 10L, Booking.BookingStatus.PENDING, null));
+
+        assertThrows(IllegalStateException.class, () -> state.apply(event(3, 10L, Booking.BookingStatus.APPROVED, null)));
+        BookingEvent otherRoom = event(2, 10L, Booking.BookingStatus.APPROVED, null);
+        otherRoom.setRoomId(6L);
+        assertThrows(IllegalStateException.class, () -> state.apply(otherRoom));
+        assertEquals(1L, state.sequence());
+    }
+
+    private BookingEvent event(long sequence, long bookingId, Booking.BookingStatus status, Long cancelledBy) {
+        return BookingEvent.builder()
+                .roomId(5L)
+                .streamSequence(sequence)
+                .bookingId(bookingId)
+                .eventType(BookingEvent.EventType.of(null, status))
+                .userId(1L)
+                .startTime(start.plusHours(bookingId))
+                .endTime(start.plusHours(bookingId + 1))
+                .purpose("Lecture")
+                .newStatus(status)
+                .cancelledBy(cancelledBy)
+                .cancelledAt(cancelledBy != null ? start.minusDays(1) : null)
+                .occurredAt(start.minusDays(2))
+                .build();
+    }
+}
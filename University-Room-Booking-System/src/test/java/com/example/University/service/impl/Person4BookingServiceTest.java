@@ -13,12 +13,18 @@ import com.example.University.repository.BookingHistoryRepository;
 import com.example.University.repository.BookingRepository;
 import com.example.University.repository.UserRepository;
 import com.example.University.service.BookingService;
+import com.example.University.service.admission.RoomAdmissionLocks;
+import com.example.University.service.admission.SlotClaimRegistry;
+import com.example.University.service.approval.AutoApprovalOutcome;
+import com.example.University.service.availability.SlotOccupancyMatrix;
+import com.example.University.service.history.BookingHistoryWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -43,6 +49,21 @@ class Person4BookingServiceTest {
     @Mock
     private BookingHistoryRepository bookingHistoryRepository;
 
+    @Mock
+    private SlotOccupancyMatrix occupancyMatrix;
+
+    @Mock
+    private RoomAdmissionLocks admissionLocks;
+
+    @Mock
+    private SlotClaimRegistry slotClaims;
+
+    @Mock
+    private BookingHistoryWriter historyWriter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -171,6 +192,20 @@ class Person4BookingServiceTest {
         verify(bookingHistoryRepository).save(any(BookingHistory.class));
     }
 
+    @Test
+    void approveBooking_HandsHistoryToWriter_WhenWriteBehindEnabled() {
+        when(historyWriter.isEnabled()).thenReturn(true);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(pendingBooking));
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(pendingBooking);
+
+        bookingService.approveBooking(1L, "admin", null);
+
+        verify(historyWriter).enqueue(argThat(history ->
+                history.getAction() == BookingHistory.BookingHistoryAction.APPROVED));
+        verify(bookingHistoryRepository, never()).save(any());
+    }
+
     @Test
     void approveBooking_ThrowsException_WhenBookingNotFound() {
         // Arrange
@@ -261,6 +296,71 @@ class Person4BookingServiceTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    // ================== AUTO-APPROVAL TESTS ==================
+
+    @Test
+    void autoApproveBooking_Approves_WhenRuleMatches() {
+        // Arrange
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(pendingBooking));
+        when(userRepository.findByUsername("system")).thenReturn(Optional.of(adminUser));
+        when(bookingRepository.existsActiveOverlap(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(pendingBooking);
+
+        // Act
+        AutoApprovalOutcome outcome = bookingService.autoApproveBooking(1L, "system", booking -> "faculty-own-rooms");
+
+        // Assert
+        assertEquals(AutoApprovalOutcome.APPROVED, outcome);
+        assertEquals(Booking.BookingStatus.APPROVED, pendingBooking.getStatus());
+        verify(bookingHistoryRepository).save(argThat(history ->
+                history.getActionBy() == adminUser && history.getReason().contains("faculty-own-rooms")));
+    }
+
+    @Test
+    void autoApproveBooking_LeavesPending_WhenNoRuleMatches() {
+        // Arrange
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(pendingBooking));
+
+        // Act
+        AutoApprovalOutcome outcome = bookingService.autoApproveBooking(1L, "system", booking -> null);
+
+        // Assert
+        assertEquals(AutoApprovalOutcome.NO_MATCH, outcome);
+        assertEquals(Booking.BookingStatus.PENDING, pendingBooking.getStatus());
+        verify(bookingRepository, never()).save(any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void autoApproveBooking_LeavesPending_WhenOverlapExists() {
+        // Arrange
+        Booking conflictingBooking = Booking.builder().id(3L).room(testRoom).build();
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(pendingBooking));
+        when(userRepository.findByUsername("system")).thenReturn(Optional.of(adminUser));
+        when(bookingRepository.existsActiveOverlap(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+        when(bookingRepository.findActiveBookingsInRange(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Arrays.asList(conflictingBooking));
+
+        // Act
+        AutoApprovalOutcome outcome = bookingService.autoApproveBooking(1L, "system", booking -> "any");
+
+        // Assert
+        assertEquals(AutoApprovalOutcome.CONFLICT, outcome);
+        assertEquals(Booking.BookingStatus.PENDING, pendingBooking.getStatus());
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void autoApproveBooking_Skips_WhenAlreadyDecided() {
+        // Arrange
+        when(bookingRepository.findById(2L)).thenReturn(Optional.of(approvedBooking));
+
+        // Act & Assert
+        assertEquals(AutoApprovalOutcome.NOT_PENDING, bookingService.autoApproveBooking(2L, "system", booking -> "any"));
+    }
+
     // ================== REJECTION TESTS ==================
 
     @Test
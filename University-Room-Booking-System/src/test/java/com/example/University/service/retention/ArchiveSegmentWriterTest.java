@@ -0,0 +1,55 @@
+package com.example.University.service.retention;
+
+import com.example.University.dto.BookingHistoryResponseDTO;
+import com.example.University.entity.Booking;
+import com.example.University.entity.BookingHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveSegmentWriterTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void recover_sealsCompleteBlocksAndDropsTornTail() throws IOException {
+        ArchiveSegmentWriter writer = ArchiveSegmentWriter.create(archiveDir, "history-crashed");
+        writer.append(List.of(record(1L, 7L), record(2L, 8L)));
+        writer.append(List.of(record(3L, 7L)));
+        Path open = archiveDir.resolve("history-crashed" + ArchiveSegment.OPEN_SUFFIX);
+        // A block whose length prefix promises more bytes than were written before the crash
+        Files.write(open, new byte[]{0, 0, 1, 0, 31, -117, 8}, StandardOpenOption.APPEND);
+
+        Path sealed = ArchiveSegmentWriter.recover(open);
+
+        assertEquals(archiveDir.resolve("history-crashed" + ArchiveSegment.SEALED_SUFFIX), sealed);
+        assertFalse(Files.exists(open));
+        HistoryArchiveReader reader = new HistoryArchiveReader(archiveDir.toString());
+        assertEquals(List.of(3L, 1L), reader.findByBookingId(7L).stream().map(BookingHistoryResponseDTO::getId).toList());
+        assertEquals(List.of(2L), reader.findByBookingId(8L).stream().map(BookingHistoryResponseDTO::getId).toList());
+    }
+
+    @Test
+    void recover_removesSegmentWithoutCompleteBlocks() throws IOException {
+        ArchiveSegmentWriter.create(archiveDir, "history-empty");
+        Path open = archiveDir.resolve("history-empty" + ArchiveSegment.OPEN_SUFFIX);
+
+        assertNull(ArchiveSegmentWriter.recover(open));
+        assertFalse(Files.exists(open));
+    }
+
+    private HistoryArchiveRecord record(long id, long bookingId) {
+        return new HistoryArchiveRecord(id, bookingId, BookingHistory.BookingHistoryAction.CREATED, 3L, "Ada Admin",
+                LocalDateTime.of(2027, 5, 1, 9, 0).plusMinutes(id), "reason " + id, null,
+                Booking.BookingStatus.PENDING, null);
+    }
+}